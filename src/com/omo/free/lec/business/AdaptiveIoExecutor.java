@@ -0,0 +1,120 @@
+package com.omo.free.lec.business;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * This class is a thread pool used for the shared network path I/O (copying or reading log files) that adjusts its own size based on the throughput and error rate it observes.
+ *
+ * <p>Each I/O operation reports the bytes it moved, the time it took and whether it failed through {@link #record(long, long, boolean)}.  After every window of operations the pool
+ * compares the throughput of the window with the throughput of the window before it and keeps growing or shrinking by one thread while the throughput keeps improving.  When the
+ * throughput drops the direction is reversed, and when the error rate of the window is above the maximum error rate the pool shrinks.  The size always stays between the minimum and
+ * maximum number of threads.</p>
+ *
+ * @author Richard Salas
+ */
+public class AdaptiveIoExecutor extends ThreadPoolExecutor {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.lec.business.AdaptiveIoExecutor";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+
+    private int minThreads;
+    private int maxThreads;
+    private double maxErrorRate;
+    private int smallestSize;
+    private int largestSize;
+
+    // the window of operations currently being measured
+    private long windowStart;
+    private long windowBytes;
+    private int windowOperations;
+    private int windowErrors;
+    private double lastThroughput = -1;
+    private int direction = 1;
+
+    /**
+     * Constructor used to create an instance of the AdaptiveIoExecutor.
+     *
+     * @param initialThreads the number of threads to start with
+     * @param minThreads the smallest number of threads the pool may shrink to
+     * @param maxThreads the largest number of threads the pool may grow to
+     * @param maxErrorRate the error rate (0.0 to 1.0) above which the pool shrinks
+     */
+    public AdaptiveIoExecutor(int initialThreads, int minThreads, int maxThreads, double maxErrorRate) {
+        super(initialThreads, initialThreads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+        this.minThreads = Math.max(1, Math.min(minThreads, initialThreads));
+        this.maxThreads = Math.max(maxThreads, initialThreads);
+        this.maxErrorRate = maxErrorRate;
+        this.smallestSize = initialThreads;
+        this.largestSize = initialThreads;
+    }//end constructor
+
+    /**
+     * This method records the outcome of an I/O operation and adjusts the size of the pool once enough operations have been recorded.
+     *
+     * @param bytes the number of bytes copied or read
+     * @param nanos the time the operation took in nanoseconds
+     * @param failed true if the operation failed
+     */
+    public synchronized void record(long bytes, long nanos, boolean failed) {
+        if(windowOperations == 0){
+            windowStart = System.nanoTime() - nanos;
+        }//end if
+        windowOperations++;
+        windowBytes += bytes;
+        if(failed){
+            windowErrors++;
+        }//end if
+        if(windowOperations >= getCorePoolSize() * 2){
+            adapt();
+        }//end if
+    }//end method
+
+    /**
+     * This method resizes the pool based on the throughput and error rate of the current window and then starts a new window.
+     */
+    private void adapt() {
+        double seconds = Math.max((System.nanoTime() - windowStart) / 1_000_000_000d, 0.001d);
+        double throughput = windowBytes / seconds;
+        double errorRate = (double) windowErrors / windowOperations;
+        int size = getCorePoolSize();
+        if(errorRate > maxErrorRate){
+            direction = -1;
+        }else if(lastThroughput >= 0 && throughput < lastThroughput){
+            direction = -direction;
+        }//end if...else
+        int newSize = Math.max(minThreads, Math.min(maxThreads, size + direction));
+        if(newSize > size){
+            setMaximumPoolSize(newSize);
+            setCorePoolSize(newSize);
+        }else if(newSize < size){
+            setCorePoolSize(newSize);
+            setMaximumPoolSize(newSize);
+        }//end if...else
+        smallestSize = Math.min(smallestSize, newSize);
+        largestSize = Math.max(largestSize, newSize);
+        myLogger.info("I/O pool throughput was " + Math.round(throughput / 1024) + " KB/s with an error rate of " + Math.round(errorRate * 100) + "% over " + windowOperations + " operations.  Pool size changed from " + size + " to " + newSize);
+
+        lastThroughput = throughput;
+        windowBytes = 0;
+        windowOperations = 0;
+        windowErrors = 0;
+    }//end method
+
+    /**
+     * @return the smallest size the pool was during the run
+     */
+    public synchronized int getSmallestSize() {
+        return smallestSize;
+    }//end method
+
+    /**
+     * @return the largest size the pool was during the run
+     */
+    public synchronized int getLargestSize() {
+        return largestSize;
+    }//end method
+
+}//end class
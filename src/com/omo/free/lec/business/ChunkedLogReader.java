@@ -0,0 +1,216 @@
+package com.omo.free.lec.business;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.omo.free.lec.model.ExceptionModel;
+
+/**
+ * This class is used to read a range of a log on the shared network path one buffer at a time with {@link FileChannel#read(ByteBuffer, long)}, so that a file that is not local
+ * is never memory mapped.
+ *
+ * <p>A memory mapping is only released when the garbage collector gets to it.  On Windows a file that is mapped cannot be renamed or deleted, which breaks the rotation of the
+ * active log by WebSphere and the copysync software, and a mapped file that is truncated fails the scan with an {@link InternalError}.  The direct buffers are borrowed from a pool
+ * shared by all readers and given back when the reader is released.  The incomplete line at the end of a buffer is moved to its front and finished by the next read.</p>
+ *
+ * <p>Reading and scanning are separate calls so that they can be made on different threads; the time spent on each is kept apart.  Instances are not thread safe, but may be
+ * handed from one thread to another between calls.</p>
+ *
+ * @author Richard Salas
+ */
+class ChunkedLogReader {
+
+    /** The size of the buffers the log is read into. */
+    static final int BUFFER_SIZE = ExceptionScanner.STREAM_BUFFER_SIZE;
+    /** The largest number of idle buffers kept in the pool. */
+    static final int MAX_POOLED_BUFFERS = 64;
+    private static final ConcurrentLinkedQueue<ByteBuffer> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    private FileChannel channel;
+    private long size;
+    private long lastModified;
+    private long start;
+    private long end;
+    private long position;
+    private ByteBuffer buffer;
+    private boolean endOfInput;
+    private boolean done;
+    private long readNanos;
+    private long scanNanos;
+
+    /**
+     * Constructor used to create an instance of the ChunkedLogReader.
+     *
+     * @param channel the opened log file, which is closed by the caller
+     * @param size the size of the log when it was opened
+     * @param lastModified the last modified time of the log in milliseconds when it was opened
+     * @param start the position of the first byte to read, which must be the start of a line
+     * @param end the position after the last byte to read
+     */
+    ChunkedLogReader(FileChannel channel, long size, long lastModified, long start, long end) {
+        this.channel = channel;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.start = start;
+        this.end = end;
+        this.position = start;
+        this.buffer = borrow();
+    }//end constructor
+
+    /**
+     * This method reads the next buffer of the range, after the incomplete line left over from the last buffer.
+     *
+     * @return the number of bytes read
+     * @throws IOException if the log cannot be read or was truncated while it was being read
+     */
+    int read() throws IOException {
+        long readStart = System.nanoTime();
+        buffer.limit((int) Math.min(buffer.capacity(), buffer.position() + (end - position)));
+        int total = 0;
+        try{
+            while(buffer.hasRemaining()){
+                int count = channel.read(buffer, position);
+                if(count < 0){
+                    throw new EOFException("The log was truncated to " + channel.size() + " bytes while byte " + position + " was being read");
+                }//end if
+                position += count;
+                total += count;
+            }//end while
+        }finally{
+            readNanos += System.nanoTime() - readStart;
+        }//end try...finally
+        endOfInput = position >= end;
+        return total;
+    }//end method
+
+    /**
+     * This method scans the complete lines of the buffer, or every line once the whole range has been read, and moves the incomplete line to the front of the buffer.
+     *
+     * @param scanner the scanner
+     * @param eModel the model to add the exceptions found to
+     * @return the number of bytes scanned
+     */
+    int scan(ExceptionScanner scanner, ExceptionModel eModel) {
+        long scanStart = System.nanoTime();
+        int length = buffer.position();
+        int consumed = scanner.scan(buffer, 0, length, endOfInput, eModel);
+        if(consumed == 0 && !endOfInput){//a single line is longer than the buffer so treat the end of the buffer as the end of the line
+            consumed = scanner.scan(buffer, 0, length, true, eModel);
+        }//end if
+        buffer.flip();
+        buffer.position(consumed);
+        buffer.compact();
+        done = endOfInput;
+        scanNanos += System.nanoTime() - scanStart;
+        return consumed;
+    }//end method
+
+    /**
+     * @return true once the whole range has been read and scanned
+     */
+    boolean isDone() {
+        return done;
+    }//end method
+
+    /**
+     * @return the opened log file
+     */
+    FileChannel getChannel() {
+        return channel;
+    }//end method
+
+    /**
+     * @return the size of the log when it was opened
+     */
+    long getSize() {
+        return size;
+    }//end method
+
+    /**
+     * @return the last modified time of the log in milliseconds when it was opened
+     */
+    long getLastModified() {
+        return lastModified;
+    }//end method
+
+    /**
+     * @return the position after the last byte of the range
+     */
+    long getEnd() {
+        return end;
+    }//end method
+
+    /**
+     * @return the number of bytes read so far
+     */
+    long getBytesRead() {
+        return position - start;
+    }//end method
+
+    /**
+     * @return the nanoseconds spent reading so far
+     */
+    long getReadNanos() {
+        return readNanos;
+    }//end method
+
+    /**
+     * This method adds time spent on the I/O of the log outside of {@link #read()}, such as opening it, to the time spent reading.
+     *
+     * @param nanos the nanoseconds spent
+     */
+    void addReadNanos(long nanos) {
+        readNanos += nanos;
+    }//end method
+
+    /**
+     * @return the nanoseconds spent scanning so far
+     */
+    long getScanNanos() {
+        return scanNanos;
+    }//end method
+
+    /**
+     * This method gives the buffer back to the pool.  The reader cannot be used afterward.
+     */
+    void release() {
+        if(buffer != null){
+            giveBack(buffer);
+            buffer = null;
+        }//end if
+    }//end method
+
+    /**
+     * Borrows a buffer from the pool, allocating a new one when the pool is empty.
+     *
+     * @return the cleared buffer
+     */
+    private static ByteBuffer borrow() {
+        ByteBuffer pooled = POOL.poll();
+        if(pooled == null){
+            return ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }//end if
+        POOLED.decrementAndGet();
+        pooled.clear();
+        return pooled;
+    }//end method
+
+    /**
+     * Gives a buffer back to the pool, or leaves it to the garbage collector when the pool is full.
+     *
+     * @param pooled the buffer
+     */
+    private static void giveBack(ByteBuffer pooled) {
+        if(POOLED.incrementAndGet() <= MAX_POOLED_BUFFERS){
+            POOL.offer(pooled);
+        }else{
+            POOLED.decrementAndGet();
+        }//end if...else
+    }//end method
+
+}//end class
@@ -0,0 +1,772 @@
+package com.omo.free.lec.business;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.omo.free.lec.model.ExceptionModel;
+import com.omo.free.lec.model.ExceptionNameDictionary;
+import com.omo.free.lec.model.TraceSketch;
+
+/**
+ * This class is used for scanning the raw bytes of a log file for exceptions without building a String for every line.
+ *
+ * <p>The log is memory mapped in windows of at most {@link #MAP_WINDOW_SIZE} bytes so that files larger than 2 GB can be scanned.  Each line is checked one byte at a time for the
+ * {@code Exception}/{@code Error} suffix and only when a hit is found is the dotted class name around it looked up in the {@link com.omo.free.lec.model.ExceptionNameDictionary} and counted by its
+ * id.  The result is the same as running the old {@code ([a-zA-Z0-9.]+\.[0-9a-zA-Z]+(Exception|Error))} regex against every line that does not contain a tab:</p>
+ * <ul>
+ *  <li>the match always starts at the beginning of the first run of {@code [a-zA-Z0-9.]} characters that contains a match</li>
+ *  <li>the match ends after the last {@code Exception}/{@code Error} suffix within that run that has at least one letter or digit between it and the closest period before it, as long as that period is not the first character of the run</li>
+ * </ul>
+ *
+ * <p>A line holding a match is only counted when the {@link LineFilter} of the logpath accepts it.  The time of day of a counted line is read from its WebSphere timestamp by a
+ * {@link TimestampParser} so the exception is also counted within its time bucket.</p>
+ *
+ * <p>Lines are grouped into stack traces in the same single pass.  A line that holds neither a tab nor {@code Caused by:} starts a new event; when it holds a counted exception
+ * the frame ({@code \tat}) and {@code Caused by:} lines that follow it belong to its stack trace.  When the event ends, the trace is counted per outer exception and root cause
+ * (the exception of the last {@code Caused by:} line) along with its top application frame.  A {@code Caused by:} line is no longer counted as an exception of its own unless it
+ * does not follow a counted exception.</p>
+ *
+ * <p>Each stack trace is also fingerprinted with a 64 bit FNV-1a hash of its exception class name and the class and method of its top frames.  The first bytes of the trace are
+ * kept in a buffer that is reused for every trace, so the text of a sample trace is only built when the {@link TraceSketch} of the scanner keeps it.  Each scanner counts the traces it finds within a sketch of its
+ * own and adds the fingerprints it kept to the model once it reaches the end of its input, so the scanners of the ranges of one file do not contend on the sketch of the model.</p>
+ *
+ * <p>Only local files are memory mapped.  A log on the shared network path is read into direct buffers by a {@link ChunkedLogReader} and each buffer is scanned the same way.
+ * A log that can only be read as a stream, such as a compressed log, is read into a buffer that is reused for every chunk.  The incomplete line at the end of a chunk is moved
+ * to the front of the buffer and finished by the next chunk.</p>
+ *
+ * <p>When a fork join pool is given, files larger than the split threshold are split into byte ranges that start and end on event boundaries.  The ranges are scanned in parallel
+ * on the pool, all of them adding to the same {@link ExceptionModel}, which counts without locking.</p>
+ *
+ * <p>Instances are not thread safe.  Each thread doing scanning should use its own instance.</p>
+ *
+ * @author Richard Salas
+ */
+public class ExceptionScanner {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.lec.business.ExceptionScanner";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+
+    /** The largest number of bytes that will be mapped at one time. */
+    public static final int MAP_WINDOW_SIZE = 256 * 1024 * 1024;
+    /** The number of bytes read from a stream at one time. */
+    public static final int STREAM_BUFFER_SIZE = 1024 * 1024;
+
+    private static final byte[] EXCEPTION = "Exception".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ERROR = "Error".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CAUSED_BY = "Caused by:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] AT = "at ".getBytes(StandardCharsets.US_ASCII);
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /** The number of frames of a stack trace that are part of its fingerprint when no number is given. */
+    public static final int DEFAULT_FINGERPRINT_FRAMES = 5;
+    /** The largest number of bytes of a stack trace that are kept as its sample. */
+    public static final int SAMPLE_SIZE = 4096;
+    private static final boolean[] NAME_CHARS = new boolean[256];
+
+    static{
+        for(int c = 'a'; c <= 'z'; c++){
+            NAME_CHARS[c] = true;
+            NAME_CHARS[Character.toUpperCase(c)] = true;
+        }//end for
+        for(int c = '0'; c <= '9'; c++){
+            NAME_CHARS[c] = true;
+        }//end for
+        NAME_CHARS['.'] = true;
+    }
+
+    private ForkJoinPool pool;
+    private long splitThreshold;
+    private LineFilter filter;
+    private byte[][] appFramePrefixes = new byte[0][];
+    private int eventException = -1;
+    private int eventRootCause = -1;
+    private String eventFrame;
+    private int fingerprintFrames = DEFAULT_FINGERPRINT_FRAMES;
+    private int eventFrames;
+    private long eventFingerprint;
+    private byte[] sample = new byte[SAMPLE_SIZE];
+    private int sampleLength;
+    private Charset charset = StandardCharsets.UTF_8;
+    private Supplier<String> sampleText = () -> new String(sample, 0, sampleLength, charset);
+    private TimestampParser timestamps = new TimestampParser();
+    private ExceptionNameDictionary dictionary = ExceptionNameDictionary.getInstance();
+    private TraceSketch traces;
+
+    /**
+     * Constructor used to create an instance of the ExceptionScanner that scans every file on the calling thread and counts every line holding an exception.
+     */
+    public ExceptionScanner() {
+        this(null, Long.MAX_VALUE, LineFilter.NONE);
+    }//end constructor
+
+    /**
+     * Constructor used to create an instance of the ExceptionScanner that scans large files in parallel.
+     *
+     * @param pool the pool used for scanning the ranges of large files or null to scan every file on the calling thread
+     * @param splitThreshold files larger than this number of bytes are split into ranges no larger than it
+     * @param filter the filter deciding which lines holding an exception are counted
+     */
+    public ExceptionScanner(ForkJoinPool pool, long splitThreshold, LineFilter filter) {
+        this.pool = pool;
+        this.splitThreshold = Math.max(splitThreshold, 1L);
+        this.filter = filter;
+    }//end constructor
+
+    /**
+     * Sets the package prefixes of the application classes.  The first frame of a stack trace whose class starts with one of the prefixes is its top application frame.  When no
+     * prefixes are set the first frame of the stack trace is used.
+     *
+     * @param prefixes the package prefixes, such as {@code gov.doc.}
+     */
+    public void setAppFramePrefixes(List<String> prefixes) {
+        appFramePrefixes = new byte[prefixes.size()][];
+        for(int i = 0; i < appFramePrefixes.length; i++){
+            appFramePrefixes[i] = prefixes.get(i).getBytes(StandardCharsets.US_ASCII);
+        }//end for
+    }//end method
+
+    /**
+     * Sets the number of top frames of a stack trace that are part of its fingerprint.
+     *
+     * @param fingerprintFrames the number of frames
+     */
+    public void setFingerprintFrames(int fingerprintFrames) {
+        this.fingerprintFrames = Math.max(fingerprintFrames, 0);
+    }//end method
+
+    /**
+     * Sets the character set the sample stack traces are decoded with.  Exception class names and frames are always read as ASCII, so this only needs to be set for a character
+     * set that writes ASCII as single bytes, such as ISO-8859-1 or windows-1252.
+     *
+     * @param charset the character set of the bytes being scanned
+     */
+    public void setCharset(Charset charset) {
+        this.charset = charset;
+    }//end method
+
+    /**
+     * @return a scanner with the same settings as this scanner that has not seen any event yet
+     */
+    private ExceptionScanner copy() {
+        ExceptionScanner scanner = new ExceptionScanner(null, Long.MAX_VALUE, filter);
+        scanner.appFramePrefixes = appFramePrefixes;
+        scanner.fingerprintFrames = fingerprintFrames;
+        scanner.charset = charset;
+        return scanner;
+    }//end method
+
+    /**
+     * This method will memory map the log file and scan it for exceptions, adding them to the exception model.
+     *
+     * @param log the log file to scan
+     * @param eModel the model to add the exceptions found to
+     * @throws IOException if the log cannot be opened or read
+     */
+    public void scan(Path log, ExceptionModel eModel) throws IOException {
+        myLogger.entering(MY_CLASS_NAME, "scan", new Object[]{log, eModel});
+        try(FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)){
+            scan(channel, eModel);
+        }//end try
+        myLogger.exiting(MY_CLASS_NAME, "scan");
+    }//end method
+
+    /**
+     * This method will memory map an opened log file one window at a time and scan it for exceptions, adding them to the exception model.  The log must be a local file; a log on
+     * the shared network path is read with a {@link ChunkedLogReader} instead, as a file that is mapped cannot be renamed or deleted until the mapping is garbage collected.
+     *
+     * @param channel the opened log file
+     * @param eModel the model to add the exceptions found to
+     * @throws IOException if the log cannot be read
+     */
+    public void scan(FileChannel channel, ExceptionModel eModel) throws IOException {
+        myLogger.entering(MY_CLASS_NAME, "scan", new Object[]{channel, eModel});
+        eModel.incrementLogCount();
+        scan(channel, 0, channel.size(), eModel);
+        myLogger.exiting(MY_CLASS_NAME, "scan");
+    }//end method
+
+    /**
+     * This method will scan the complete lines of an opened log file from the start position to the end of the file, adding the exceptions found to the exception model.
+     *
+     * <p>The last line is left unscanned when it does not end with a line terminator yet, which is the case when the log is still being written to.  The returned position is where
+     * the next scan of the same log should start from.  When the scan starts after the start of the log, the lines of a stack trace it starts within are skipped, as they belong
+     * to an exception that the scan before it already counted.</p>
+     *
+     * @param channel the opened log file
+     * @param start the position of the first byte to scan, which must be the start of a line
+     * @param eModel the model to add the exceptions found to
+     * @return the position after the last complete line that was scanned
+     * @throws IOException if the log cannot be read
+     */
+    public long scan(FileChannel channel, long start, ExceptionModel eModel) throws IOException {
+        myLogger.entering(MY_CLASS_NAME, "scan", new Object[]{channel, start, eModel});
+        eModel.incrementLogCount();
+        long end = lastLineEnd(channel, start, channel.size());
+        scan(channel, start > 0 ? eventStart(channel, start, end) : start, end, eModel);
+        myLogger.exiting(MY_CLASS_NAME, "scan", end);
+        return end;
+    }//end method
+
+    /**
+     * This method will read a log from a stream, such as the decompressed bytes of a compressed log, and scan it for exceptions, adding them to the exception model.
+     *
+     * @param in the bytes of the log
+     * @param eModel the model to add the exceptions found to
+     * @return the number of bytes scanned
+     * @throws IOException if the log cannot be read
+     */
+    public long scan(InputStream in, ExceptionModel eModel) throws IOException {
+        myLogger.entering(MY_CLASS_NAME, "scan", new Object[]{in, eModel});
+        eModel.incrementLogCount();
+        byte[] bytes = new byte[STREAM_BUFFER_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int length = 0;
+        long scanned = 0;
+        boolean endOfInput = false;
+        while(!endOfInput){
+            int n = in.read(bytes, length, bytes.length - length);
+            if(n < 0){
+                endOfInput = true;
+            }else{
+                length += n;
+            }//end if...else
+            if(endOfInput || length == bytes.length){
+                int consumed = scan(buffer, 0, length, endOfInput, eModel);
+                if(consumed == 0 && !endOfInput){//a single line is longer than the buffer so treat the end of the buffer as the end of the line
+                    consumed = scan(buffer, 0, length, true, eModel);
+                }//end if
+                System.arraycopy(bytes, consumed, bytes, 0, length - consumed);
+                length -= consumed;
+                scanned += consumed;
+            }//end if
+        }//end while
+        myLogger.exiting(MY_CLASS_NAME, "scan", scanned);
+        return scanned;
+    }//end method
+
+    /**
+     * This method will scan a range of an opened log file, splitting it into ranges that are scanned in parallel when it is larger than the split threshold.
+     *
+     * @param channel the opened log file
+     * @param start the position of the first byte of the range, which must be the start of a line
+     * @param end the position after the last byte of the range, which must be the end of a line or the end of the file
+     * @param eModel the model to add the exceptions found to
+     * @throws IOException if the log cannot be read
+     */
+    private void scan(FileChannel channel, long start, long end, ExceptionModel eModel) throws IOException {
+        if(pool != null && end - start > splitThreshold){
+            try{
+                pool.invoke(new RangeScanTask(channel, start, end, splitThreshold, this, eModel));
+            }catch(RangeScanException e){
+                throw e.getCause();
+            }//end try...catch
+        }else{
+            scanRange(channel, start, end, eModel);
+        }//end if...else
+    }//end method
+
+    /**
+     * This method will memory map a range of an opened log file one window at a time and scan it for exceptions, adding them to the exception model.
+     *
+     * @param channel the opened log file
+     * @param start the position of the first byte of the range, which must be the start of a line
+     * @param end the position after the last byte of the range, which must be the end of a line or the end of the file
+     * @param eModel the model to add the exceptions found to
+     * @throws IOException if the log cannot be read
+     */
+    private void scanRange(FileChannel channel, long start, long end, ExceptionModel eModel) throws IOException {
+        long position = start;
+        while(position < end){
+            int windowSize = (int) Math.min(MAP_WINDOW_SIZE, end - position);
+            boolean endOfInput = position + windowSize >= end;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+            int consumed = scan(buffer, 0, windowSize, endOfInput, eModel);
+            if(consumed == 0){//a single line is longer than the window so treat the end of the window as the end of the line
+                consumed = scan(buffer, 0, windowSize, true, eModel);
+            }//end if
+            position += consumed;
+        }//end while
+    }//end method
+
+    /**
+     * This method will find the start of the first line at or after the position by reading forward to the next line terminator.
+     *
+     * @param channel the opened log file
+     * @param position the position to start looking from
+     * @param end the position to stop looking at
+     * @return the position of the start of the next line or {@code end} if there is none
+     * @throws IOException if the log cannot be read
+     */
+    private static long nextLineStart(FileChannel channel, long position, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        while(position < end){
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if(read <= 0){
+                break;
+            }//end if
+            for(int i = 0; i < read && position + i < end; i++){
+                byte b = buffer.get(i);
+                if(b == '\n' || b == '\r'){
+                    return position + i + 1;
+                }//end if
+            }//end for
+            position += read;
+        }//end while
+        return end;
+    }//end method
+
+    /**
+     * This method will find the start of the first event at or after the position, which is the first line after it that is not part of a stack trace.  A line is part of a stack
+     * trace when it holds a tab or {@code Caused by:}, and empty lines are skipped.
+     *
+     * @param channel the opened log file
+     * @param position the position to start looking from
+     * @param end the position to stop looking at
+     * @return the position of the start of the next event or {@code end} if there is none
+     * @throws IOException if the log cannot be read
+     */
+    private static long nextEventStart(FileChannel channel, long position, long end) throws IOException {
+        return eventStart(channel, nextLineStart(channel, position, end), end);
+    }//end method
+
+    /**
+     * This method will find the start of the first event at or after the start of a line, skipping the rest of a stack trace that started before the line, such as the one a
+     * checkpoint was saved within.
+     *
+     * @param channel the opened log file
+     * @param lineStart the position of the start of a line
+     * @param end the position to stop looking at
+     * @return the position of the start of the event or {@code end} if there is none
+     * @throws IOException if the log cannot be read
+     */
+    static long eventStart(FileChannel channel, long lineStart, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        while(lineStart < end){
+            buffer.clear();
+            int read = channel.read(buffer, lineStart);
+            if(read <= 0){
+                break;
+            }//end if
+            int limit = (int) Math.min(read, end - lineStart);
+            int lineEnd = 0;
+            boolean trace = false;
+            for(; lineEnd < limit && !trace; lineEnd++){
+                byte b = buffer.get(lineEnd);
+                if(b == '\n' || b == '\r'){
+                    break;
+                }//end if
+                trace = b == '\t';
+            }//end for
+            if(lineEnd > 0 && !trace && indexOf(buffer, 0, lineEnd, CAUSED_BY) < 0){
+                return lineStart;
+            }//end if
+            lineStart = nextLineStart(channel, lineStart, end);
+        }//end while
+        return end;
+    }//end method
+
+    /**
+     * This method will find the position after the last line terminator within a range by reading backward from the end of the range.
+     *
+     * @param channel the opened log file
+     * @param start the position to stop looking at
+     * @param end the position to start looking from
+     * @return the position after the last line terminator or {@code start} if there is none
+     * @throws IOException if the log cannot be read
+     */
+    static long lastLineEnd(FileChannel channel, long start, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long position = end;
+        while(position > start){
+            int length = (int) Math.min(buffer.capacity(), position - start);
+            buffer.clear();
+            buffer.limit(length);
+            int read = 0;
+            while(read < length){
+                int count = channel.read(buffer, position - length + read);
+                if(count <= 0){
+                    return start;
+                }//end if
+                read += count;
+            }//end while
+            for(int i = length - 1; i >= 0; i--){
+                byte b = buffer.get(i);
+                if(b == '\n' || b == '\r'){
+                    return position - length + i + 1;
+                }//end if
+            }//end for
+            position -= length;
+        }//end while
+        return start;
+    }//end method
+
+    /**
+     * This method will scan the lines within a range of bytes for exceptions.
+     *
+     * <p>A line that runs past the end of the range is left unscanned unless {@code endOfInput} is true, in which case the end of the range is treated as the end of the line and
+     * the stack trace fingerprints counted by the scanner so far are added to the model.</p>
+     *
+     * @param buffer the bytes to scan
+     * @param from the index of the first byte to scan
+     * @param to the index after the last byte to scan
+     * @param endOfInput true if there are no more bytes after the range
+     * @param eModel the model to add the exceptions found to
+     * @return the number of bytes that were scanned, which always ends on a line boundary
+     */
+    public int scan(ByteBuffer buffer, int from, int to, boolean endOfInput, ExceptionModel eModel) {
+        int lineStart = from;
+        while(lineStart < to){
+            int tab = -1;
+            int runStart = -1;
+            int lastDot = -1;
+            int runMatchEnd = -1;
+            int matchStart = -1;
+            int matchEnd = -1;
+            int i = lineStart;
+            for(; i < to; i++){
+                int b = buffer.get(i) & 0xFF;
+                if(b == '\n' || b == '\r'){
+                    break;
+                }else if(tab >= 0){
+                    continue;//line is part of a stack trace so only the end of it is needed
+                }else if(b == '\t'){
+                    tab = i;
+                }else if(matchStart >= 0){
+                    continue;//only the tab check is left for this line
+                }else if(NAME_CHARS[b]){
+                    if(runStart < 0){
+                        runStart = i;
+                        lastDot = -1;
+                        runMatchEnd = -1;
+                    }//end if
+                    if(b == '.'){
+                        lastDot = i;
+                    }else if(b == 'E' && lastDot > runStart && i - lastDot >= 2){
+                        int suffixLength = suffixAt(buffer, i, to);
+                        if(suffixLength > 0){
+                            runMatchEnd = i + suffixLength;
+                        }//end if
+                    }//end if...else
+                }else if(runStart >= 0){
+                    if(runMatchEnd > 0){
+                        matchStart = runStart;
+                        matchEnd = runMatchEnd;
+                    }//end if
+                    runStart = -1;
+                }//end if...else
+            }//end for
+
+            if(i == to && !endOfInput){
+                break;//incomplete line, leave it for the next range
+            }//end if
+
+            if(tab < 0 && matchStart < 0 && runStart >= 0 && runMatchEnd > 0){//run ended with the line
+                matchStart = runStart;
+                matchEnd = runMatchEnd;
+            }//end if
+
+            if(i == lineStart){
+                //empty line, such as between the carriage return and line feed of a line terminator, does not end the event
+            }else if(tab >= 0){
+                if(eventException >= 0){
+                    appendSample(buffer, lineStart, i);
+                    if(regionMatches(buffer, tab + 1, i, AT)){
+                        addFrame(buffer, tab + 1 + AT.length, i);
+                    }//end if
+                }//end if
+            }else if(matchStart >= 0 && indexOf(buffer, lineStart, matchStart, CAUSED_BY) >= 0){
+                if(eventException >= 0){
+                    eventRootCause = eModel.nameId(buffer, matchStart, matchEnd);
+                    appendSample(buffer, lineStart, i);
+                }else if(filter.accept(buffer, lineStart, i)){//cause without a counted exception before it
+                    openEvent(buffer, lineStart, i, matchStart, matchEnd, eModel);
+                }//end if...else
+            }else{
+                closeEvent(eModel);
+                if(matchStart >= 0 && filter.accept(buffer, lineStart, i)){
+                    openEvent(buffer, lineStart, i, matchStart, matchEnd, eModel);
+                }//end if
+            }//end if...else
+            lineStart = i < to ? i + 1 : to;
+        }//end while
+        if(endOfInput && lineStart == to){
+            closeEvent(eModel);
+            if(traces != null){
+                eModel.addTraceSamples(traces.getSamples());
+                traces = null;
+            }//end if
+        }//end if
+        return lineStart - from;
+    }//end method
+
+    /**
+     * Counts an exception, also within the time bucket of the timestamp at the start of its line, and starts the event of its stack trace.
+     *
+     * @param buffer the bytes being scanned
+     * @param lineStart the index of the first byte of the line holding the exception
+     * @param lineEnd the index after the last byte of the line
+     * @param matchStart the index of the first byte of the exception class name
+     * @param matchEnd the index after the last byte of the exception class name
+     * @param eModel the model to add the exception to
+     */
+    private void openEvent(ByteBuffer buffer, int lineStart, int lineEnd, int matchStart, int matchEnd, ExceptionModel eModel) {
+        eventException = eModel.addException(buffer, matchStart, matchEnd);
+        int minuteOfDay = timestamps.minuteOfDay(buffer, lineStart, lineEnd);
+        if(minuteOfDay >= 0){
+            eModel.addToTimeline(eventException, minuteOfDay);
+        }//end if
+        eventRootCause = -1;
+        eventFrame = null;
+        eventFrames = 0;
+        eventFingerprint = hash(FNV_OFFSET_BASIS, buffer, matchStart, matchEnd);
+        sampleLength = 0;
+        appendSample(buffer, lineStart, lineEnd);
+    }//end method
+
+    /**
+     * Counts the stack trace of the current event, if there is one, per exception and root cause and per fingerprint.
+     *
+     * @param eModel the model to add the stack trace to
+     */
+    private void closeEvent(ExceptionModel eModel) {
+        if(eventException >= 0){
+            eModel.addRootCause(eventException, eventRootCause >= 0 ? eventRootCause : eventException, eventFrame);
+            if(traces == null){
+                traces = eModel.newTraceSketch();
+            }//end if
+            traces.offer(eventFingerprint, dictionary.name(eventException), 1L, sampleText);
+            eventException = -1;
+            eventRootCause = -1;
+            eventFrame = null;
+        }//end if
+    }//end method
+
+    /**
+     * Adds a frame of the current event to its fingerprint while it is one of the top frames, and keeps it as the top application frame if there is none yet.
+     *
+     * @param buffer the bytes being scanned
+     * @param start the index of the first byte after {@code at }
+     * @param lineEnd the index after the last byte of the line
+     */
+    private void addFrame(ByteBuffer buffer, int start, int lineEnd) {
+        if(eventFrames < fingerprintFrames){
+            int end = start;
+            while(end < lineEnd && buffer.get(end) != '('){
+                end++;
+            }//end while
+            eventFingerprint = hash((eventFingerprint ^ '\n') * FNV_PRIME, buffer, start, end);
+            eventFrames++;
+        }//end if
+        if(eventFrame == null){
+            eventFrame = appFrame(buffer, start, lineEnd);
+        }//end if
+    }//end method
+
+    /**
+     * Adds a range of bytes to a FNV-1a hash.
+     *
+     * @param hash the hash so far
+     * @param buffer the bytes being scanned
+     * @param start the index of the first byte to add
+     * @param end the index after the last byte to add
+     * @return the new hash
+     */
+    private static long hash(long hash, ByteBuffer buffer, int start, int end) {
+        for(int i = start; i < end; i++){
+            hash = (hash ^ (buffer.get(i) & 0xFF)) * FNV_PRIME;
+        }//end for
+        return hash;
+    }//end method
+
+    /**
+     * Adds a line of the current event to its sample until the sample is full.  Control characters other than tabs are replaced so the sample can be written to the report.
+     *
+     * @param buffer the bytes being scanned
+     * @param lineStart the index of the first byte of the line
+     * @param lineEnd the index after the last byte of the line
+     */
+    private void appendSample(ByteBuffer buffer, int lineStart, int lineEnd) {
+        if(sampleLength > 0 && sampleLength < sample.length){
+            sample[sampleLength++] = '\n';
+        }//end if
+        for(int i = lineStart; i < lineEnd && sampleLength < sample.length; i++){
+            byte b = buffer.get(i);
+            sample[sampleLength++] = b >= 0 && b < ' ' && b != '\t' ? (byte) '?' : b;
+        }//end for
+    }//end method
+
+    /**
+     * Decodes the class and method of a frame line when it is an application frame.
+     *
+     * @param buffer the bytes being scanned
+     * @param start the index of the first byte after {@code at }
+     * @param lineEnd the index after the last byte of the line
+     * @return the class and method of the frame or null if it is not an application frame
+     */
+    private String appFrame(ByteBuffer buffer, int start, int lineEnd) {
+        boolean app = appFramePrefixes.length == 0;
+        for(int p = 0; !app && p < appFramePrefixes.length; p++){
+            app = regionMatches(buffer, start, lineEnd, appFramePrefixes[p]);
+        }//end for
+        if(!app){
+            return null;
+        }//end if
+        int end = start;
+        while(end < lineEnd && buffer.get(end) != '('){
+            end++;
+        }//end while
+        byte[] frame = new byte[end - start];
+        for(int i = 0; i < frame.length; i++){
+            frame[i] = buffer.get(start + i);
+        }//end for
+        return new String(frame, StandardCharsets.US_ASCII);
+    }//end method
+
+    /**
+     * Finds the first index of the expected bytes within a range.
+     *
+     * @param buffer the bytes being scanned
+     * @param from the index of the first byte of the range
+     * @param to the index after the last byte of the range
+     * @param expected the expected bytes
+     * @return the index or -1 if the range does not contain the bytes
+     */
+    private static int indexOf(ByteBuffer buffer, int from, int to, byte[] expected) {
+        for(int i = from, j = to - expected.length; i <= j; i++){
+            if(buffer.get(i) == expected[0] && regionMatches(buffer, i, to, expected)){
+                return i;
+            }//end if
+        }//end for
+        return -1;
+    }//end method
+
+    /**
+     * Checks to see if the {@code Exception} or {@code Error} suffix starts at the index.
+     *
+     * @param buffer the bytes being scanned
+     * @param index the index of the letter E
+     * @param to the index after the last byte that may be read
+     * @return the length of the suffix found or 0 if there is none
+     */
+    private static int suffixAt(ByteBuffer buffer, int index, int to) {
+        if(regionMatches(buffer, index, to, EXCEPTION)){
+            return EXCEPTION.length;
+        }else if(regionMatches(buffer, index, to, ERROR)){
+            return ERROR.length;
+        }//end if...else
+        return 0;
+    }//end method
+
+    /**
+     * Checks to see if the bytes starting at the index are equal to the expected bytes.
+     *
+     * @param buffer the bytes being scanned
+     * @param index the index to start comparing at
+     * @param to the index after the last byte that may be read
+     * @param expected the expected bytes
+     * @return true or false on whether or not the bytes are equal
+     */
+    private static boolean regionMatches(ByteBuffer buffer, int index, int to, byte[] expected) {
+        if(index + expected.length > to){
+            return false;
+        }//end if
+        for(int i = 0; i < expected.length; i++){
+            if(buffer.get(index + i) != expected[i]){
+                return false;
+            }//end if
+        }//end for
+        return true;
+    }//end method
+
+    /**
+     * Fork join task used to scan a range of a large log file.  Ranges larger than the split threshold are split in two at an event boundary and each half is scanned as its own task.
+     */
+    private static class RangeScanTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 2710465521364529271L;
+        private FileChannel channel;
+        private long start;
+        private long end;
+        private long splitThreshold;
+        private ExceptionScanner settings;
+        private ExceptionModel eModel;
+
+        /**
+         * Constructor used to create an instance of the RangeScanTask.
+         *
+         * @param channel the opened log file
+         * @param start the position of the first byte of the range, which must be the start of a line
+         * @param end the position after the last byte of the range
+         * @param splitThreshold ranges larger than this number of bytes are split
+         * @param settings the scanner whose settings each range is scanned with
+         * @param eModel the model all ranges add the exceptions found to
+         */
+        RangeScanTask(FileChannel channel, long start, long end, long splitThreshold, ExceptionScanner settings, ExceptionModel eModel) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.splitThreshold = splitThreshold;
+            this.settings = settings;
+            this.eModel = eModel;
+        }//end constructor
+
+        /**
+         * Scans the range, splitting it if it is too large.
+         */
+        @Override
+        protected void compute() {
+            try{
+                long middle = end - start > splitThreshold ? nextEventStart(channel, start + (end - start) / 2, end) : end;
+                if(middle < end){
+                    invokeAll(new RangeScanTask(channel, start, middle, splitThreshold, settings, eModel), new RangeScanTask(channel, middle, end, splitThreshold, settings, eModel));
+                }else{
+                    settings.copy().scanRange(channel, start, end, eModel);
+                }//end if...else
+            }catch(IOException e){
+                myLogger.log(Level.SEVERE, "IOException occurred while scanning bytes " + start + " to " + end + ".  Error is: " + e.getMessage(), e);
+                throw new RangeScanException(e);
+            }//end try...catch
+        }//end method
+    }//end class
+
+    /**
+     * Unchecked wrapper used to carry an {@link IOException} out of a {@link RangeScanTask}.
+     */
+    private static class RangeScanException extends RuntimeException {
+
+        private static final long serialVersionUID = -4425069127816052346L;
+
+        /**
+         * Constructor used to create an instance of the RangeScanException.
+         *
+         * @param cause the IOException that occurred
+         */
+        RangeScanException(IOException cause) {
+            super(cause);
+        }//end constructor
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }//end method
+    }//end class
+
+}//end class
@@ -0,0 +1,197 @@
+package com.omo.free.lec.business;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import com.omo.free.lec.model.FilterRule;
+
+/**
+ * This class is used to decide whether a line holding an exception is counted, by checking it against the include and exclude {@link FilterRule}'s of a logpath.
+ *
+ * <p>All rules are compiled into a single Aho-Corasick automaton, so every rule is checked in one pass over the bytes of the line no matter how many rules there are.  The automaton
+ * is a full transition table of 256 entries per state, which keeps the inner loop to one array read per byte.  The number of lines each rule decided is counted so it can be
+ * reported when the logpath is done.</p>
+ *
+ * <p>Instances are thread safe once built.</p>
+ *
+ * @author Richard Salas
+ */
+public class LineFilter {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.lec.business.LineFilter";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+
+    /** The filter that counts every line. */
+    public static final LineFilter NONE = new LineFilter(Collections.<FilterRule>emptyList());
+
+    private List<FilterRule> rules;
+    private LongAdder[] hits;
+    private LongAdder notIncluded;
+    private boolean hasIncludes;
+    private int[] transitions;
+    private int[] excludeAt;
+    private int[] includeAt;
+
+    /**
+     * Constructor used to create an instance of the LineFilter.
+     *
+     * @param rules the rules to compile
+     */
+    public LineFilter(List<FilterRule> rules) {
+        this.rules = new ArrayList<>();
+        Iterator<FilterRule> it = rules.iterator();
+        while(it.hasNext()){
+            FilterRule rule = it.next();
+            if(rule.getText() == null || rule.getText().isEmpty()){
+                myLogger.warning("Ignoring the empty filter rule " + String.valueOf(rule));
+            }else{
+                this.rules.add(rule);
+                hasIncludes |= !rule.isExclude();
+            }//end if...else
+        }//end while
+        this.hits = new LongAdder[this.rules.size()];
+        for(int i = 0; i < hits.length; i++){
+            hits[i] = new LongAdder();
+        }//end for
+        this.notIncluded = new LongAdder();
+        build();
+    }//end constructor
+
+    /**
+     * Builds the trie of the rules and then turns it into the automaton by following the failure links of each state breadth first.
+     */
+    private void build() {
+        int capacity = 1;
+        for(int i = 0; i < rules.size(); i++){
+            capacity += rules.get(i).getText().getBytes(StandardCharsets.UTF_8).length;
+        }//end for
+        transitions = new int[capacity * 256];
+        excludeAt = new int[capacity];
+        includeAt = new int[capacity];
+        Arrays.fill(excludeAt, -1);
+        Arrays.fill(includeAt, -1);
+
+        int states = 1;//state 0 is the root, which is never the target of a trie edge
+        for(int r = 0; r < rules.size(); r++){
+            byte[] text = rules.get(r).getText().getBytes(StandardCharsets.UTF_8);
+            int state = 0;
+            for(int i = 0; i < text.length; i++){
+                int index = (state << 8) | (text[i] & 0xFF);
+                if(transitions[index] == 0){
+                    transitions[index] = states++;
+                }//end if
+                state = transitions[index];
+            }//end for
+            int[] outputs = rules.get(r).isExclude() ? excludeAt : includeAt;
+            if(outputs[state] < 0){
+                outputs[state] = r;
+            }//end if
+        }//end for
+
+        int[] fail = new int[states];
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for(int c = 0; c < 256; c++){
+            if(transitions[c] != 0){
+                queue[tail++] = transitions[c];
+            }//end if
+        }//end for
+        while(head < tail){
+            int state = queue[head++];
+            int failState = fail[state];
+            if(excludeAt[state] < 0){
+                excludeAt[state] = excludeAt[failState];
+            }//end if
+            if(includeAt[state] < 0){
+                includeAt[state] = includeAt[failState];
+            }//end if
+            for(int c = 0; c < 256; c++){
+                int index = (state << 8) | c;
+                int next = transitions[index];
+                if(next != 0){
+                    fail[next] = transitions[(failState << 8) | c];
+                    queue[tail++] = next;
+                }else{
+                    transitions[index] = transitions[(failState << 8) | c];
+                }//end if...else
+            }//end for
+        }//end while
+    }//end method
+
+    /**
+     * This method checks a line against the rules.
+     *
+     * @param buffer the bytes being scanned
+     * @param from the index of the first byte of the line
+     * @param to the index after the last byte of the line
+     * @return true if the line should be counted
+     */
+    public boolean accept(ByteBuffer buffer, int from, int to) {
+        if(rules.isEmpty()){
+            return true;
+        }//end if
+        int state = 0;
+        int included = -1;
+        for(int i = from; i < to; i++){
+            state = transitions[(state << 8) | (buffer.get(i) & 0xFF)];
+            int excluded = excludeAt[state];
+            if(excluded >= 0){
+                hits[excluded].increment();
+                return false;
+            }//end if
+            if(included < 0){
+                included = includeAt[state];
+            }//end if
+        }//end for
+        if(included >= 0){
+            hits[included].increment();
+        }else if(hasIncludes){
+            notIncluded.increment();
+            return false;
+        }//end if...else
+        return true;
+    }//end method
+
+    /**
+     * This method logs the number of lines each rule decided.
+     *
+     * @param name the name of the logpath the filter belongs to
+     */
+    public void logHits(String name) {
+        if(rules.isEmpty()){
+            return;
+        }//end if
+        StringBuilder builder = new StringBuilder("Filter rule hits for ").append(name).append(':');
+        for(int i = 0; i < rules.size(); i++){
+            builder.append("\n    ").append(rules.get(i)).append(" = ").append(hits[i].sum());
+        }//end for
+        if(hasIncludes){
+            builder.append("\n    not included = ").append(notIncluded.sum());
+        }//end if
+        myLogger.info(builder.toString());
+    }//end method
+
+    /**
+     * @return the rules
+     */
+    public List<FilterRule> getRules() {
+        return Collections.unmodifiableList(rules);
+    }//end method
+
+    /**
+     * @param index the index of the rule
+     * @return the number of lines the rule decided
+     */
+    public long getHits(int index) {
+        return hits[index].sum();
+    }//end method
+
+}//end class
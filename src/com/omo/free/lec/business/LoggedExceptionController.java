@@ -7,30 +7,35 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import org.odftoolkit.odfdom.doc.OdfSpreadsheetDocument;
-import org.odftoolkit.odfdom.doc.table.OdfTable;
-import org.odftoolkit.odfdom.doc.table.OdfTableRow;
-import org.odftoolkit.odfdom.dom.OdfContentDom;
-import org.odftoolkit.odfdom.dom.element.office.OfficeSpreadsheetElement;
-
+import com.omo.free.lec.file.DirectoryListingStore;
 import com.omo.free.lec.file.LogPathXmlParser;
+import com.omo.free.lec.file.ScanCheckpointStore;
+import com.omo.free.lec.file.ScanResultCache;
 import com.omo.free.lec.model.ErrorMessage;
 import com.omo.free.lec.model.ExceptionModel;
 import com.omo.free.lec.model.LogPath;
+import com.omo.free.lec.model.RootCause;
+import com.omo.free.lec.model.TraceSample;
 import com.omo.free.lec.util.AppConstants;
-import com.omo.free.lec.util.LogProcessorSpreadsheetUtil;
+import com.omo.free.lec.util.OdsStreamWriter;
 
 import gov.doc.isu.gtv.managers.PropertiesMgr;
 import gov.doc.isu.gtv.util.ApplicationConstants;
@@ -47,10 +52,37 @@ public class LoggedExceptionController {
     private static final String MY_CLASS_NAME = "com.omo.free.lec.business.LoggedExceptionController";
     private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
     private static LoggedExceptionController controller;
+    private static final String[] SHEET_COLUMN_HEADERS = {"Exception Name", "# Of Exceptions"};
+    private static final String[] SHEET_COLUMN_COMMENTS = {"The fully qualified name of the exception found", "Number of instances found within the logs associated to this unit"};
+    private static final double[] SHEET_COLUMN_WIDTHS = {5d, 207d, 40d};
+    private static final String ROOT_CAUSE_SHEET_NAME = "RootCauses";
+    private static final String[] ROOT_CAUSE_COLUMN_HEADERS = {"Cluster/Application", "Exception Name", "Root Cause", "Top Application Frame", "# Of Stack Traces"};
+    private static final String[] ROOT_CAUSE_COLUMN_COMMENTS = {"The cluster or application the logs belong to", "The fully qualified name of the exception found", "The exception of the last Caused by line of the stack trace, or the exception itself when there is none", "The first frame of the stack trace within the application packages, taken from the first stack trace found", "Number of stack traces found with this exception and root cause"};
+    private static final double[] ROOT_CAUSE_COLUMN_WIDTHS = {5d, 60d, 90d, 90d, 110d, 40d};
+    private static final String TIMELINE_SHEET_NAME = "Timeline";
+    private static final String[] TIMELINE_COLUMN_HEADERS = {"Cluster/Application", "Exception Name"};
+    private static final String[] TIMELINE_COLUMN_COMMENTS = {"The cluster or application the logs belong to", "The fully qualified name of the exception found"};
+    private static final double[] TIMELINE_COLUMN_WIDTHS = {5d, 60d, 90d};
+    private static final double TIMELINE_BUCKET_WIDTH = 18d;
+    private static final String NODE_SHEET_NAME = "Nodes";
+    private static final double[] NODE_COLUMN_WIDTHS = {5d, 150d};
+    private static final double NODE_COLUMN_WIDTH = 40d;
+    private static final String TRACE_SAMPLE_SHEET_NAME = "TraceSamples";
+    private static final String[] TRACE_SAMPLE_COLUMN_HEADERS = {"Cluster/Application", "Exception Name", "Fingerprint", "# Of Stack Traces", "Max Overcount", "Sample Stack Trace"};
+    private static final String[] TRACE_SAMPLE_COLUMN_COMMENTS = {"The cluster or application the logs belong to", "The fully qualified name of the exception found", "Hash of the exception name and the top frames of the stack trace", "Number of stack traces found with this fingerprint", "The number of stack traces may be too high by at most this number", "The first lines of one of the stack traces with this fingerprint"};
+    private static final double[] TRACE_SAMPLE_COLUMN_WIDTHS = {5d, 60d, 90d, 35d, 35d, 30d, 250d};
+    private static final String TREND_SHEET_NAME = "Trend";
+    private static final String[] TREND_COLUMN_HEADERS = {"Cluster/Application", "Exception Name"};
+    private static final String[] TREND_COLUMN_COMMENTS = {"The cluster or application the logs belong to", "The fully qualified name of the exception found"};
+    private static final double[] TREND_COLUMN_WIDTHS = {5d, 60d, 90d};
+    private static final double TREND_DAY_WIDTH = 25d;
+    private static final String DATE_RANGE_SEPARATOR = "..";
     private LocalDate appLogDt;
+    private LocalDate appLogEndDt;
     private String environment;
     private File spreadSheetDestFile;
     private int totalScannedLogs;
+    private String threadPoolSummary;
 
     /**
      * Private default constructor used to create an instance of the LoggedExceptionController.  This can only be called within itself.
@@ -82,8 +114,9 @@ public class LoggedExceptionController {
      */
     public void run(String... arguments) throws Exception {
         myLogger.entering(MY_CLASS_NAME, "run", arguments);
-        //SETTING UP THE THREAD POOL
-        ThreadPoolExecutor myThreadPool = (ThreadPoolExecutor) Executors.newFixedThreadPool(5);
+        //SETTING UP THE THREAD POOLS
+        ProcessingPools pools = new ProcessingPools();
+        ThreadPoolExecutor myThreadPool = pools.getLogPathPool();
 
         if(arguments.length <= 0){
             myLogger.info("Using the default of production and today's date");
@@ -93,11 +126,20 @@ public class LoggedExceptionController {
             appLogDt = LocalDate.now();
             environment = arguments[0];
         }else{
-            appLogDt = DateTimeFormatter.ISO_LOCAL_DATE.parse(arguments[1], LocalDate::from);
+            String[] range = arguments[1].split(Pattern.quote(DATE_RANGE_SEPARATOR), -1);
+            appLogDt = DateTimeFormatter.ISO_LOCAL_DATE.parse(range[0], LocalDate::from);
+            appLogEndDt = range.length > 1 ? DateTimeFormatter.ISO_LOCAL_DATE.parse(range[1], LocalDate::from) : null;
             environment = arguments[0];
         }//end if...else
-        DateTimeFormatter dtf = DateTimeFormatter.ofPattern("yy.MM.dd");
-        String serverDt = dtf.format(appLogDt);
+        if(appLogEndDt == null || appLogEndDt.isBefore(appLogDt)){
+            appLogEndDt = appLogDt;
+        }//end if
+
+        //EVERY DATE OF THE RANGE IS SCANNED BY THE SAME TASKS SO THAT EACH DIRECTORY IS ONLY LISTED ONCE
+        List<LocalDate> dates = new ArrayList<>();
+        for(LocalDate date = appLogDt; !date.isAfter(appLogEndDt); date = date.plusDays(1)){
+            dates.add(date);
+        }//end for
 
         //add simple check here to make sure path exists before moving forward.
         if(!"ISU".equals(System.getenv("USERDOMAIN")) && !Files.exists(Paths.get("//SDCOFILP4523.state.mo.us/SharedData/DOCWasLogs"))){
@@ -118,88 +160,144 @@ public class LoggedExceptionController {
                 sb.append(log.getLogPrefixes()).append(ApplicationConstants.NEW_LINE);
                 sb.append(log.getEnvironment()).append(ApplicationConstants.NEW_LINE);
                 sb.append(log.getPaths()).append(ApplicationConstants.NEW_LINE);
-                sb.append(appLogDt).append(ApplicationConstants.NEW_LINE);
+                sb.append(getAppLogRange()).append(ApplicationConstants.NEW_LINE);
                 sb.append("================").append(ApplicationConstants.NEW_LINE);
                 myLogger.fine(String.valueOf(sb));
             });
         }//end if
 
+        //SERVERS ARE SUBMITTED FIRST SO THAT THEIR SHEETS COME BEFORE THE APPLICATION SHEETS
+        paths.sort(Comparator.comparing(logPath -> !"server".equals(logPath.getType())));
+
         //SET UP THE PROCESS LIST HERE FOR
+        CompletionService<ExceptionModel> completionService = new ExecutorCompletionService<>(myThreadPool);
         List<Future<ExceptionModel>> processList = new ArrayList<>();
 
         Iterator<LogPath> it = paths.iterator();
         ProcessTask pt = null;
-        boolean currentDay = LocalDate.now().isEqual(appLogDt);
+        boolean currentDay = dates.contains(LocalDate.now());
+
+        //THE CURRENT DAY'S LOGS ARE STILL BEING WRITTEN TO SO ONLY THE LINES WRITTEN SINCE THE LAST RUN ARE SCANNED
+        ScanCheckpointStore checkpoints = null;
+        if(currentDay && AppConstants.INCREMENTAL_SCAN){
+            checkpoints = new ScanCheckpointStore(Paths.get(AppConstants.CHECKPOINT_DIR));
+            checkpoints.load();
+        }//end if
+
+        //LOGS THAT HAVE NOT CHANGED SINCE THEY WERE LAST SCANNED ARE NOT COPIED OR SCANNED AGAIN
+        ScanResultCache resultCache = null;
+        if(AppConstants.RESULT_CACHE){
+            resultCache = new ScanResultCache(Paths.get(AppConstants.RESULT_CACHE_DIR), AppConstants.RESULT_CACHE_MAX_ENTRIES, AppConstants.RESULT_CACHE_SAMPLED_HASH);
+            resultCache.load();
+        }//end if
+
+        //DIRECTORIES THAT HAVE NOT CHANGED SINCE THEY WERE LAST LISTED ARE NOT LISTED AGAIN
+        DirectoryListingStore listings = null;
+        if(AppConstants.LISTING_SNAPSHOT){
+            listings = new DirectoryListingStore(Paths.get(AppConstants.LISTING_SNAPSHOT_DIR));
+            listings.load();
+        }//end if
+
         while(it.hasNext()){
             LogPath logPath = it.next();
-            if("server".equals(logPath.getType())){
-                pt = new ProcessTask(logPath, serverDt, currentDay);
-            }else{
-                pt = new ProcessTask(logPath, appLogDt.toString(), currentDay);
-            }
-            processList.add(myThreadPool.submit(pt));
+            pt = new ProcessTask(logPath, dates, pools, checkpoints, resultCache, listings);
+            processList.add(completionService.submit(pt));
         }//end while
 
-        List<ExceptionModel> exceptionModels = waitForTasksToFinishAndShutdownThreadPool(myThreadPool, processList);
-
-        //get the total number of logs scanned
-        totalScannedLogs = exceptionModels.stream().mapToInt(ExceptionModel::getLogCount).sum();
+        //BUILD THE REPORT AS THE TASKS FINISH
+        totalScannedLogs = 0;
+        OdsStreamWriter document = openSpreadSheet();
+        List<ExceptionModel> exceptionModels = waitForTasksToFinishAndShutdownThreadPool(myThreadPool, completionService, processList, model -> {
+            totalScannedLogs += model.getLogCount();
+            createExceptionSheet(document, model);
+        });
+        pools.shutdown();
+        threadPoolSummary = pools.getSummary();
+        if(checkpoints != null){
+            checkpoints.save();
+        }//end if
+        if(resultCache != null){
+            resultCache.save();
+        }//end if
+        if(listings != null){
+            listings.save();
+        }//end if
 
         if(myLogger.isLoggable(Level.FINER)){//log the models created
             myLogger.finer(String.valueOf(exceptionModels));
         }//end if
 
-        createSpreadSheet(exceptionModels);
+        finishSpreadSheet(document, exceptionModels);
         myLogger.exiting(MY_CLASS_NAME, "run");
     }// end method
 
     /**
-     * This method creates the spreadsheet report of all exceptions found within a specific environment.
+     * This method opens the writer that the report of all exceptions found within a specific environment is streamed into, based on the spreadsheet template.
      *
-     * @param exceptionModels the exception models containing the exceptions.
+     * @return document the spreadsheet writer or null if the template could not be found
      */
-    private void createSpreadSheet(List<ExceptionModel> exceptionModels) {
-        myLogger.entering(MY_CLASS_NAME, "createSpreadSheet", exceptionModels);
+    private OdsStreamWriter openSpreadSheet() {
+        myLogger.entering(MY_CLASS_NAME, "openSpreadSheet");
         String pathToSpreadSheetTemplate = PropertiesMgr.getProperties().getProperty("spreadsheetPath");
         String spreadSheetDestination = PropertiesMgr.getProperties().getProperty("spreadsheetDestPath");
         FileUtil.checkDirectories(spreadSheetDestination);
 
-        String pathToSpreadSheetDest = spreadSheetDestination + "/" + String.valueOf(appLogDt).replaceAll("-", "") +  "_" + environment + "_LoggedExceptionsCounts_" + DateTimeFormatter.ofPattern("yyyyMMddhhmmss").format(LocalDateTime.now()) + ".ods";
+        String pathToSpreadSheetDest = spreadSheetDestination + "/" + getAppLogRange().replaceAll("-", "").replace(DATE_RANGE_SEPARATOR, "-") +  "_" + environment + "_LoggedExceptionsCounts_" + DateTimeFormatter.ofPattern("yyyyMMddhhmmss").format(LocalDateTime.now()) + ".ods";
         spreadSheetDestFile = new File(pathToSpreadSheetDest);
         // Create an ods document (spreadsheet) to hold all the different issues and relevant data.
         File template = new File(pathToSpreadSheetTemplate);
 
         FileUtil.copyInternalFileToExternalDestination(this.getClass(),template.getParentFile().getAbsolutePath(), template.getName());
-        OdfSpreadsheetDocument document = null;
+        OdsStreamWriter document = null;
         try{
             if(template.exists()){
-                document = OdfSpreadsheetDocument.loadDocument(template);
+                document = new OdsStreamWriter(template, spreadSheetDestFile);
+            }//end if
+        }catch(Exception e){
+            myLogger.log(Level.SEVERE, "Exception occurred while trying to open the spreadsheet writer.  Error message is: " + e.getMessage(), e);
+        }//end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "openSpreadSheet", document);
+        return document;
+    }//end method
+
+    /**
+     * This method fills in the cover and error pages of the spreadsheet report and then saves it.
+     *
+     * @param document the spreadsheet writer or null if the template could not be found
+     * @param exceptionModels the exception models containing the exceptions.
+     */
+    private void finishSpreadSheet(OdsStreamWriter document, List<ExceptionModel> exceptionModels) {
+        myLogger.entering(MY_CLASS_NAME, "finishSpreadSheet", new Object[]{document, exceptionModels});
+        try{
+            if(document != null){
+                createRootCauseSheet(document, exceptionModels);
+                createTraceSampleSheet(document, exceptionModels);
+                createTimelineSheet(document, exceptionModels);
+                createNodeSheet(document, exceptionModels);
+                createTrendSheet(document, exceptionModels);
                 fillCoverPage(document, exceptionModels);
-                createExceptionSheets(document,exceptionModels);
                 fillErrorsSheet(document, exceptionModels);
-                document.save(spreadSheetDestFile);
-            }//end method
+                document.save();
+            }//end if
         }catch(Exception e){
-            myLogger.log(Level.SEVERE, "Exception occurred while trying to load spreadsheet.  Error message is: " + e.getMessage(), e);
+            myLogger.log(Level.SEVERE, "Exception occurred while trying to save spreadsheet.  Error message is: " + e.getMessage(), e);
         }finally{
             if(document != null){
                 document.close();
             }//end if
         }//end try...catch
-        myLogger.exiting(MY_CLASS_NAME, "createSpreadSheet");
+        myLogger.exiting(MY_CLASS_NAME, "finishSpreadSheet");
     }//end method
 
     /**
      * This method is used to fill the errors spread with errors if they exist.
      *
-     * @param document the spreadsheet document
+     * @param document the spreadsheet writer
      * @param exceptionModels the models possibly containing errors.
      */
-    private void fillErrorsSheet(OdfSpreadsheetDocument document, List<ExceptionModel> exceptionModels) {
+    private void fillErrorsSheet(OdsStreamWriter document, List<ExceptionModel> exceptionModels) {
         myLogger.entering(MY_CLASS_NAME, "fillErrorsSheet", new Object[]{document, exceptionModels});
 
-        OdfTable errorTab = document.getTableByName("ErrorPage");
-
         List<ExceptionModel> models = exceptionModels.stream().filter(model -> model.getErrors().size() > 0).collect(Collectors.toList());
         Iterator<ExceptionModel> it = models.iterator();
         int row = 11;
@@ -207,8 +305,8 @@ public class LoggedExceptionController {
             List<ErrorMessage> em = it.next().getErrors();
             for(int i = 0, j = em.size(); i < j; i++){
                 ErrorMessage message = em.get(i);
-                errorTab.getCellByPosition(1, row).setStringValue(message.getDirOrFilePath());
-                errorTab.getCellByPosition(2, row).setStringValue(message.getMessage());
+                document.setCell("ErrorPage", row, 1, message.getDirOrFilePath());
+                document.setCell("ErrorPage", row, 2, message.getMessage());
                 row++;
             }//end for
         }//end while
@@ -216,86 +314,435 @@ public class LoggedExceptionController {
     }//end method
 
     /**
-     * This method is the main method for creating the main exception sheets.
+     * This method will stream the exception sheet for a single model into the spreadsheet if it contains any exceptions.
      *
-     * @param document the spreadsheet document
-     * @param exceptionModels the models possibly containing errors
-     * @throws Exception the exception that is thrown during the creation of spreadsheets
+     * @param document the spreadsheet writer or null if the template could not be found
+     * @param em the model containing the exceptions
      */
-    private void createExceptionSheets(OdfSpreadsheetDocument document, List<ExceptionModel> exceptionModels) throws Exception {
-        myLogger.entering(MY_CLASS_NAME, "createExceptionSheets", new Object[]{document, exceptionModels});
+    private void createExceptionSheet(OdsStreamWriter document, ExceptionModel em) {
+        myLogger.entering(MY_CLASS_NAME, "createExceptionSheet", new Object[]{document, em});
+        if(document == null || em.getTotalExceptionCount() <= 0){
+            myLogger.exiting(MY_CLASS_NAME, "createExceptionSheet");
+            return;
+        }//end if
+
+        try{
+            int row = 5;
+            boolean dataCell1 = false;
+            Map<String, Integer> exceptionMap = em.getExceptionMap();
+            document.startSheet(em.getClusterOrApplicationName(), SHEET_COLUMN_WIDTHS);
+            document.addEmptyRows(1);
+
+            document.startRow();
+            document.addEmptyCells(1);
+            document.addStringCell("Title", "Exceptions Found: " + em.getClusterOrApplicationName() + (em.isApproximate() ? " (Approximate Counts)" : ""));
+            document.endRow();
+
+            document.startRow();
+            document.addEmptyCells(2);
+            if(em.isApproximate()){
+                document.addStringCell("Default", "Only the " + em.getTopK() + " most frequent exceptions are listed.  Each count may be too high by up to " + em.getErrorBound() + " (with a probability of " + (em.getConfidence() * 100d) + "%).");
+            }else{
+                document.addStyledCell("Default");
+            }//end if...else
+            document.endRow();
 
-        List<ExceptionModel> serversList = exceptionModels.stream().filter(model -> "server".equals(model.getType()) && model.getTotalExceptionCount() > 0).collect(Collectors.toList());
-        List<ExceptionModel> appList = exceptionModels.stream().filter(model -> !"server".equals(model.getType())  && model.getTotalExceptionCount() > 0).collect(Collectors.toList());
+            //add number of logs here
+            //add total here to...
+            document.startRow();
+            document.addEmptyCells(1);
+            document.addStringCell(document.alignedStyle("MixedUseCell", "right"), em.getLogCount() + " Logs Were Scanned");
+            document.addFormulaCell("FormulaCell", "of:=\"Total Exceptions: \"&SUM([.C6:.C" + (row + exceptionMap.size()) + "])");
+            document.endRow();
+
+            document.startRow();
+            document.addEmptyCells(1);
+            for(int i = 0, j = SHEET_COLUMN_HEADERS.length; i < j; i++){
+                document.addStringCell("ColumnHeading", SHEET_COLUMN_HEADERS[i], SHEET_COLUMN_COMMENTS[i]);
+            }//end for
+            document.endRow();
+            document.addAutoFilter("C5", "C5");
 
-        createExceptionSheet(document, serversList.iterator());
-        createExceptionSheet(document, appList.iterator());
-        myLogger.exiting(MY_CLASS_NAME, "createExceptionSheets");
+            Iterator<Entry<String, Integer>> it = exceptionMap.entrySet().iterator();
+            while(it.hasNext()){
+                Entry<String, Integer> entry = it.next();
+                String dataCellStyle = dataCell1 ? "DataCell1" : "DataCell2";
+                document.startRow();
+                document.addEmptyCells(1);
+                document.addStringCell(dataCellStyle, entry.getKey());
+                document.addFloatCell(document.alignedStyle(dataCellStyle, "left"), entry.getValue());
+                document.endRow();
+
+                dataCell1 = dataCell1 ? false : true;
+                row++;
+            }//end while
+            document.endSheet();
+        }catch(Exception e){
+            myLogger.log(Level.SEVERE, "Exception occurred while trying to create the exception sheet for " + em.getClusterOrApplicationName() + ".  Error message is: " + e.getMessage(), e);
+        }//end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "createExceptionSheet");
     }//end method
 
     /**
-     * This method will create exception sheet based on the passed in parameters.
+     * This method will stream the sheet of stack traces counted per exception and root cause for all models, the most frequent first within each model, if there are any.
      *
-     * @param document the spreadsheet document
-     * @param iterator the iteratable used for filling the spreadsheet
-     * @throws Exception during the filling of the sheet
+     * @param document the spreadsheet writer
+     * @param exceptionModels the models containing the stack traces
      */
-    private void createExceptionSheet(OdfSpreadsheetDocument document, Iterator<ExceptionModel> iterator) throws Exception {
-        myLogger.entering(MY_CLASS_NAME, "createExceptionSheet", new Object[]{document, iterator});
+    private void createRootCauseSheet(OdsStreamWriter document, List<ExceptionModel> exceptionModels) {
+        myLogger.entering(MY_CLASS_NAME, "createRootCauseSheet", new Object[]{document, exceptionModels});
+        if(exceptionModels.stream().allMatch(model -> model.getRootCauses().isEmpty())){
+            myLogger.exiting(MY_CLASS_NAME, "createRootCauseSheet");
+            return;
+        }//end if
+
+        try{
+            boolean dataCell1 = false;
+            document.startSheet(ROOT_CAUSE_SHEET_NAME, ROOT_CAUSE_COLUMN_WIDTHS);
+            document.addEmptyRows(1);
+
+            document.startRow();
+            document.addEmptyCells(1);
+            document.addStringCell("Title", "Stack Traces By Root Cause");
+            document.endRow();
+            document.addEmptyRows(2);
+
+            document.startRow();
+            document.addEmptyCells(1);
+            for(int i = 0, j = ROOT_CAUSE_COLUMN_HEADERS.length; i < j; i++){
+                document.addStringCell("ColumnHeading", ROOT_CAUSE_COLUMN_HEADERS[i], ROOT_CAUSE_COLUMN_COMMENTS[i]);
+            }//end for
+            document.endRow();
+            document.addAutoFilter("B5", "F5");
+
+            Iterator<ExceptionModel> it = exceptionModels.iterator();
+            while(it.hasNext()){
+                ExceptionModel em = it.next();
+                List<RootCause> causes = new ArrayList<>(em.getRootCauses());
+                causes.sort(Comparator.comparing(RootCause::getCount).reversed());
+                for(int i = 0, j = causes.size(); i < j; i++){
+                    RootCause cause = causes.get(i);
+                    String dataCellStyle = dataCell1 ? "DataCell1" : "DataCell2";
+                    document.startRow();
+                    document.addEmptyCells(1);
+                    document.addStringCell(dataCellStyle, em.getClusterOrApplicationName());
+                    document.addStringCell(dataCellStyle, cause.getException());
+                    document.addStringCell(dataCellStyle, cause.getRootCause());
+                    document.addStringCell(dataCellStyle, cause.getTopFrame());
+                    document.addFloatCell(document.alignedStyle(dataCellStyle, "left"), cause.getCount());
+                    document.endRow();
+
+                    dataCell1 = dataCell1 ? false : true;
+                }//end for
+            }//end while
+            document.endSheet();
+        }catch(Exception e){
+            myLogger.log(Level.SEVERE, "Exception occurred while trying to create the root cause sheet.  Error message is: " + e.getMessage(), e);
+        }//end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "createRootCauseSheet");
+    }//end method
 
-        OdfTable exceptionSheet = null;
-        OfficeSpreadsheetElement spreadSheetElement = document.getContentRoot();
-        OdfContentDom contentDom = document.getContentDom();
+    /**
+     * This method will stream the sheet of the exceptions of all models counted per time of day, if any of the exceptions had a timestamp.  Each row is an exception and each
+     * column a time bucket, so the hours an incident happened in stand out.
+     *
+     * @param document the spreadsheet writer
+     * @param exceptionModels the models containing the timelines
+     */
+    private void createTimelineSheet(OdsStreamWriter document, List<ExceptionModel> exceptionModels) {
+        myLogger.entering(MY_CLASS_NAME, "createTimelineSheet", new Object[]{document, exceptionModels});
+        if(exceptionModels.stream().allMatch(model -> model.getTimelineMap().isEmpty())){
+            myLogger.exiting(MY_CLASS_NAME, "createTimelineSheet");
+            return;
+        }//end if
 
-        int row = 4;
-        boolean dataCell1 = false;
-        while(iterator.hasNext()){
-            ExceptionModel em = iterator.next();
-            exceptionSheet = LogProcessorSpreadsheetUtil.createNewSheet(document, spreadSheetElement, em.getClusterOrApplicationName());
+        try{
+            boolean dataCell1 = false;
+            int bucketMinutes = exceptionModels.get(0).getTimelineBucketMinutes();
+            int buckets = exceptionModels.get(0).getTimelineBuckets();
+            double[] columnWidths = Arrays.copyOf(TIMELINE_COLUMN_WIDTHS, TIMELINE_COLUMN_WIDTHS.length + buckets);
+            Arrays.fill(columnWidths, TIMELINE_COLUMN_WIDTHS.length, columnWidths.length, TIMELINE_BUCKET_WIDTH);
+            document.startSheet(TIMELINE_SHEET_NAME, columnWidths);
+            document.addEmptyRows(1);
+
+            document.startRow();
+            document.addEmptyCells(1);
+            document.addStringCell("Title", "Exceptions By Time Of Day");
+            document.endRow();
+            document.addEmptyRows(2);
+
+            document.startRow();
+            document.addEmptyCells(1);
+            for(int i = 0, j = TIMELINE_COLUMN_HEADERS.length; i < j; i++){
+                document.addStringCell("ColumnHeading", TIMELINE_COLUMN_HEADERS[i], TIMELINE_COLUMN_COMMENTS[i]);
+            }//end for
+            for(int i = 0; i < buckets; i++){
+                int minute = i * bucketMinutes;
+                document.addStringCell("ColumnHeading", String.format("%02d:%02d", minute / 60, minute % 60), "Number of exceptions logged within the " + bucketMinutes + " minutes starting at this time");
+            }//end for
+            document.endRow();
+            document.addAutoFilter("B5", columnName(TIMELINE_COLUMN_HEADERS.length + buckets) + "5");
 
-            row = LogProcessorSpreadsheetUtil.initTable(exceptionSheet, contentDom, row);
-            //add number of logs here
-            //add total here to...
-            exceptionSheet.getCellByPosition(1, 3).setStringValue(em.getLogCount() + " Logs Were Scanned");
-            LogProcessorSpreadsheetUtil.addColumnDataFilters(contentDom, exceptionSheet.getTableName(), "C5", "C5");// make this better too clover!!
-            Iterator<Entry<String, Integer>> it = em.getExceptionMap().entrySet().iterator();
+            Iterator<ExceptionModel> it = exceptionModels.iterator();
             while(it.hasNext()){
-                Entry<String, Integer> entry = it.next();
-                OdfTableRow newRow = exceptionSheet.appendRow();
-                LogProcessorSpreadsheetUtil.setDataCellColor(newRow.getCellByIndex(1), dataCell1);
-                newRow.getCellByIndex(1).setStringValue(entry.getKey());
+                ExceptionModel em = it.next();
+                List<Entry<String, int[]>> timelines = new ArrayList<>(em.getTimelineMap().entrySet());
+                timelines.sort(Comparator.comparingLong((Entry<String, int[]> entry) -> Arrays.stream(entry.getValue()).asLongStream().sum()).reversed());
+                for(int i = 0, j = timelines.size(); i < j; i++){
+                    Entry<String, int[]> timeline = timelines.get(i);
+                    String dataCellStyle = dataCell1 ? "DataCell1" : "DataCell2";
+                    document.startRow();
+                    document.addEmptyCells(1);
+                    document.addStringCell(dataCellStyle, em.getClusterOrApplicationName());
+                    document.addStringCell(dataCellStyle, timeline.getKey());
+                    int[] counts = timeline.getValue();
+                    for(int k = 0; k < buckets; k++){
+                        document.addFloatCell(document.alignedStyle(dataCellStyle, "left"), k < counts.length ? counts[k] : 0);
+                    }//end for
+                    document.endRow();
+
+                    dataCell1 = dataCell1 ? false : true;
+                }//end for
+            }//end while
+            document.endSheet();
+        }catch(Exception e){
+            myLogger.log(Level.SEVERE, "Exception occurred while trying to create the timeline sheet.  Error message is: " + e.getMessage(), e);
+        }//end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "createTimelineSheet");
+    }//end method
 
-                LogProcessorSpreadsheetUtil.setDataCellColor(newRow.getCellByIndex(2), dataCell1);
-                newRow.getCellByIndex(2).setDoubleValue(Double.valueOf(entry.getValue()));
-                newRow.getCellByIndex(2).setHorizontalAlignment("left");
+    /**
+     * This method will stream the sheet of the exceptions of each cluster or application counted per node, if any of them has logs from more than one node.  Each cluster gets a
+     * table with a row per exception and a column per node, so a node that logs far more of an exception than the others stands out.
+     *
+     * @param document the spreadsheet writer
+     * @param exceptionModels the models containing the counts per node
+     */
+    private void createNodeSheet(OdsStreamWriter document, List<ExceptionModel> exceptionModels) {
+        myLogger.entering(MY_CLASS_NAME, "createNodeSheet", new Object[]{document, exceptionModels});
+        List<ExceptionModel> models = exceptionModels.stream().filter(model -> model.getNodes().size() > 1 && !model.getNodeCountMap().isEmpty()).collect(Collectors.toList());
+        if(models.isEmpty()){
+            myLogger.exiting(MY_CLASS_NAME, "createNodeSheet");
+            return;
+        }//end if
 
-                dataCell1 = dataCell1 ? false : true;
-                row++;
+        try{
+            int mostNodes = models.stream().mapToInt(model -> model.getNodes().size()).max().getAsInt();
+            double[] columnWidths = Arrays.copyOf(NODE_COLUMN_WIDTHS, NODE_COLUMN_WIDTHS.length + mostNodes + 1);
+            Arrays.fill(columnWidths, NODE_COLUMN_WIDTHS.length, columnWidths.length, NODE_COLUMN_WIDTH);
+            document.startSheet(NODE_SHEET_NAME, columnWidths);
+            document.addEmptyRows(1);
+
+            document.startRow();
+            document.addEmptyCells(1);
+            document.addStringCell("Title", "Exceptions By Node");
+            document.endRow();
+
+            Iterator<ExceptionModel> it = models.iterator();
+            while(it.hasNext()){
+                ExceptionModel em = it.next();
+                List<String> nodes = em.getNodes();
+                document.addEmptyRows(1);
+
+                document.startRow();
+                document.addEmptyCells(1);
+                document.addStringCell("ColumnHeading", em.getClusterOrApplicationName() + (em.isApproximate() ? " (Approximate Counts)" : ""), "The exceptions found within the logs of each node of this unit");
+                for(int i = 0, j = nodes.size(); i < j; i++){
+                    document.addStringCell("ColumnHeading", nodes.get(i), "Number of instances found within the logs of this node");
+                }//end for
+                document.addStringCell("ColumnHeading", "Total", "Number of instances found within the logs of all nodes");
+                document.endRow();
+
+                boolean dataCell1 = false;
+                List<Entry<String, int[]>> counts = new ArrayList<>(em.getNodeCountMap().entrySet());
+                counts.sort(Comparator.comparingLong((Entry<String, int[]> entry) -> Arrays.stream(entry.getValue()).asLongStream().sum()).reversed());
+                for(int i = 0, j = counts.size(); i < j; i++){
+                    Entry<String, int[]> count = counts.get(i);
+                    String dataCellStyle = dataCell1 ? "DataCell1" : "DataCell2";
+                    long total = 0;
+                    document.startRow();
+                    document.addEmptyCells(1);
+                    document.addStringCell(dataCellStyle, count.getKey());
+                    int[] nodeCounts = count.getValue();
+                    for(int k = 0; k < nodeCounts.length; k++){
+                        document.addFloatCell(document.alignedStyle(dataCellStyle, "left"), nodeCounts[k]);
+                        total += nodeCounts[k];
+                    }//end for
+                    document.addFloatCell(document.alignedStyle(dataCellStyle, "left"), total);
+                    document.endRow();
+
+                    dataCell1 = dataCell1 ? false : true;
+                }//end for
             }//end while
-            exceptionSheet.getCellByPosition(2, 3).getOdfElement().setStyleName("FormulaCell");
-            exceptionSheet.getCellByPosition(2, 3).setFormula("=\"Total Exceptions: \"&SUM(C6:C" + row + ")");
-            row = 4;
-            dataCell1 = false;
-        }//end while
-        myLogger.exiting(MY_CLASS_NAME, "createExceptionSheets");
+            document.endSheet();
+        }catch(Exception e){
+            myLogger.log(Level.SEVERE, "Exception occurred while trying to create the node sheet.  Error message is: " + e.getMessage(), e);
+        }//end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "createNodeSheet");
+    }//end method
+
+    /**
+     * This method will stream the sheet of the exceptions of all models counted per day, if more than one day was scanned.  Each row is an exception and each column a day, so an
+     * exception that is growing or that showed up on a single day stands out.
+     *
+     * @param document the spreadsheet writer
+     * @param exceptionModels the models containing the daily models
+     */
+    private void createTrendSheet(OdsStreamWriter document, List<ExceptionModel> exceptionModels) {
+        myLogger.entering(MY_CLASS_NAME, "createTrendSheet", new Object[]{document, exceptionModels});
+        if(exceptionModels.isEmpty() || exceptionModels.get(0).getDailyModels().size() <= 1){
+            myLogger.exiting(MY_CLASS_NAME, "createTrendSheet");
+            return;
+        }//end if
+
+        try{
+            boolean dataCell1 = false;
+            List<ExceptionModel> days = exceptionModels.get(0).getDailyModels();
+            double[] columnWidths = Arrays.copyOf(TREND_COLUMN_WIDTHS, TREND_COLUMN_WIDTHS.length + days.size() + 1);
+            Arrays.fill(columnWidths, TREND_COLUMN_WIDTHS.length, columnWidths.length, TREND_DAY_WIDTH);
+            document.startSheet(TREND_SHEET_NAME, columnWidths);
+            document.addEmptyRows(1);
+
+            document.startRow();
+            document.addEmptyCells(1);
+            document.addStringCell("Title", "Exceptions By Day " + getAppLogRange());
+            document.endRow();
+            document.addEmptyRows(2);
+
+            document.startRow();
+            document.addEmptyCells(1);
+            for(int i = 0, j = TREND_COLUMN_HEADERS.length; i < j; i++){
+                document.addStringCell("ColumnHeading", TREND_COLUMN_HEADERS[i], TREND_COLUMN_COMMENTS[i]);
+            }//end for
+            for(int i = 0, j = days.size(); i < j; i++){
+                document.addStringCell("ColumnHeading", String.valueOf(days.get(i).getDate()), "Number of exceptions logged on this day");
+            }//end for
+            document.addStringCell("ColumnHeading", "Total", "Number of exceptions logged on all days");
+            document.endRow();
+            document.addAutoFilter("B5", columnName(TREND_COLUMN_HEADERS.length + days.size() + 1) + "5");
+
+            Iterator<ExceptionModel> it = exceptionModels.iterator();
+            while(it.hasNext()){
+                ExceptionModel em = it.next();
+                List<ExceptionModel> dailyModels = em.getDailyModels();
+                List<Map<String, Integer>> dailyCounts = new ArrayList<>();
+                for(int i = 0, j = dailyModels.size(); i < j; i++){
+                    dailyCounts.add(dailyModels.get(i).getExceptionMap());
+                }//end for
+                List<Entry<String, Integer>> totals = new ArrayList<>(em.getExceptionMap().entrySet());
+                totals.sort(Comparator.comparing((Entry<String, Integer> entry) -> entry.getValue()).reversed());
+                for(int i = 0, j = totals.size(); i < j; i++){
+                    Entry<String, Integer> total = totals.get(i);
+                    String dataCellStyle = dataCell1 ? "DataCell1" : "DataCell2";
+                    document.startRow();
+                    document.addEmptyCells(1);
+                    document.addStringCell(dataCellStyle, em.getClusterOrApplicationName());
+                    document.addStringCell(dataCellStyle, total.getKey());
+                    for(int k = 0, l = dailyCounts.size(); k < l; k++){
+                        Integer count = dailyCounts.get(k).get(total.getKey());
+                        document.addFloatCell(document.alignedStyle(dataCellStyle, "left"), count != null ? count : 0);
+                    }//end for
+                    document.addFloatCell(document.alignedStyle(dataCellStyle, "left"), total.getValue());
+                    document.endRow();
+
+                    dataCell1 = dataCell1 ? false : true;
+                }//end for
+            }//end while
+            document.endSheet();
+        }catch(Exception e){
+            myLogger.log(Level.SEVERE, "Exception occurred while trying to create the trend sheet.  Error message is: " + e.getMessage(), e);
+        }//end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "createTrendSheet");
+    }//end method
+
+    /**
+     * Returns the letters of a spreadsheet column, such as {@code A} for 0 and {@code AA} for 26.
+     *
+     * @param index the index of the column
+     * @return the letters of the column
+     */
+    private static String columnName(int index) {
+        StringBuilder name = new StringBuilder();
+        for(int i = index + 1; i > 0; i = (i - 1) / 26){
+            name.insert(0, (char) ('A' + (i - 1) % 26));
+        }//end for
+        return name.toString();
+    }//end method
+
+    /**
+     * This method will stream the sheet of the most frequent stack trace fingerprints of all models with a sample trace of each, if there are any.
+     *
+     * @param document the spreadsheet writer
+     * @param exceptionModels the models containing the stack trace fingerprints
+     */
+    private void createTraceSampleSheet(OdsStreamWriter document, List<ExceptionModel> exceptionModels) {
+        myLogger.entering(MY_CLASS_NAME, "createTraceSampleSheet", new Object[]{document, exceptionModels});
+        if(exceptionModels.stream().allMatch(model -> model.getTraceSamples().isEmpty())){
+            myLogger.exiting(MY_CLASS_NAME, "createTraceSampleSheet");
+            return;
+        }//end if
+
+        try{
+            boolean dataCell1 = false;
+            document.startSheet(TRACE_SAMPLE_SHEET_NAME, TRACE_SAMPLE_COLUMN_WIDTHS);
+            document.addEmptyRows(1);
+
+            document.startRow();
+            document.addEmptyCells(1);
+            document.addStringCell("Title", "Most Frequent Stack Traces");
+            document.endRow();
+            document.addEmptyRows(2);
+
+            document.startRow();
+            document.addEmptyCells(1);
+            for(int i = 0, j = TRACE_SAMPLE_COLUMN_HEADERS.length; i < j; i++){
+                document.addStringCell("ColumnHeading", TRACE_SAMPLE_COLUMN_HEADERS[i], TRACE_SAMPLE_COLUMN_COMMENTS[i]);
+            }//end for
+            document.endRow();
+            document.addAutoFilter("B5", "G5");
+
+            Iterator<ExceptionModel> it = exceptionModels.iterator();
+            while(it.hasNext()){
+                ExceptionModel em = it.next();
+                List<TraceSample> samples = em.getTraceSamples();
+                for(int i = 0, j = samples.size(); i < j; i++){
+                    TraceSample sample = samples.get(i);
+                    String dataCellStyle = dataCell1 ? "DataCell1" : "DataCell2";
+                    document.startRow();
+                    document.addEmptyCells(1);
+                    document.addStringCell(dataCellStyle, em.getClusterOrApplicationName());
+                    document.addStringCell(dataCellStyle, sample.getException());
+                    document.addStringCell(dataCellStyle, String.format("%016x", sample.getFingerprint()));
+                    document.addFloatCell(document.alignedStyle(dataCellStyle, "left"), sample.getCount());
+                    document.addFloatCell(document.alignedStyle(dataCellStyle, "left"), sample.getError());
+                    document.addStringCell(dataCellStyle, sample.getSample());
+                    document.endRow();
+
+                    dataCell1 = dataCell1 ? false : true;
+                }//end for
+            }//end while
+            document.endSheet();
+        }catch(Exception e){
+            myLogger.log(Level.SEVERE, "Exception occurred while trying to create the trace sample sheet.  Error message is: " + e.getMessage(), e);
+        }//end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "createTraceSampleSheet");
     }//end method
 
     /**
      * This method fills the cover page with data based on the exception models
      *
-     * @param document the spreadsheet document
+     * @param document the spreadsheet writer
      * @param exceptionModels the models possibly containing errors.
      */
-    private void fillCoverPage(OdfSpreadsheetDocument document, List<ExceptionModel> exceptionModels) {
+    private void fillCoverPage(OdsStreamWriter document, List<ExceptionModel> exceptionModels) {
         myLogger.entering(MY_CLASS_NAME, "fillCoverPage", new Object[]{document, exceptionModels});
 
         List<ExceptionModel> serversList = exceptionModels.stream().filter(model -> "server".equals(model.getType())).collect(Collectors.toList());
         List<ExceptionModel> appList = exceptionModels.stream().filter(model -> !"server".equals(model.getType())).collect(Collectors.toList());
 
-        OdfTable coverTab = document.getTableByName("CoverPage");
-        coverTab.getCellByPosition(2, 4).setStringValue(DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm:ss").format(LocalDateTime.now()));
-        coverTab.getCellByPosition(2, 5).setStringValue(environment);
-        coverTab.getCellByPosition(2, 6).setStringValue(appLogDt.toString());
+        document.setCell("CoverPage", 4, 2, DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm:ss").format(LocalDateTime.now()));
+        document.setCell("CoverPage", 5, 2, environment);
+        document.setCell("CoverPage", 6, 2, getAppLogRange());
         //
         //environment production
         //date of logs processed
@@ -306,8 +753,8 @@ public class LoggedExceptionController {
         while(serversIt.hasNext()){
             ExceptionModel model = serversIt.next();
             if(model.getTotalExceptionCount() > 0){
-                coverTab.getCellByPosition(1, row).setStringValue(model.getClusterOrApplicationName());
-                coverTab.getCellByPosition(2, row).setDoubleValue(Double.valueOf(model.getTotalExceptionCount()));
+                document.setCell("CoverPage", row, 1, model.getClusterOrApplicationName());
+                document.setCell("CoverPage", row, 2, model.getTotalExceptionCount());
                 row++;
             }
         }//end while
@@ -318,8 +765,8 @@ public class LoggedExceptionController {
         while(appsIt.hasNext()){
             ExceptionModel model = appsIt.next();
             if(model.getTotalExceptionCount() > 0){
-                coverTab.getCellByPosition(1, row).setStringValue(model.getClusterOrApplicationName());
-                coverTab.getCellByPosition(2, row).setDoubleValue(Double.valueOf(model.getTotalExceptionCount()));
+                document.setCell("CoverPage", row, 1, model.getClusterOrApplicationName());
+                document.setCell("CoverPage", row, 2, model.getTotalExceptionCount());
                 row++;
             }//end if
         }//end while
@@ -327,43 +774,51 @@ public class LoggedExceptionController {
     }//end method
 
     /**
-     * This method will gather all the completed callable tasks {@code ExceptionModel} that was populated during execution.
+     * This method will gather the callable tasks {@code ExceptionModel} as each one of them completes.
+     *
+     * <p>Completed models are handed to the {@code onCompletion} consumer in the order that the tasks were submitted, as soon as every task submitted before them has completed.</p>
+     *
      * @param myThreadPool the thread pool
+     * @param completionService the completion service the tasks were submitted to
      * @param processingList the list to process.
+     * @param onCompletion the consumer that handles each model
      * @return exceptionModelList the exception model list
      */
-    private List<ExceptionModel> waitForTasksToFinishAndShutdownThreadPool(ThreadPoolExecutor myThreadPool, List<Future<ExceptionModel>> processingList) {
-        myLogger.entering(MY_CLASS_NAME, "waitForTasksToFinishAndShutdownThreadPool", new Object[]{myThreadPool, processingList});
+    private List<ExceptionModel> waitForTasksToFinishAndShutdownThreadPool(ThreadPoolExecutor myThreadPool, CompletionService<ExceptionModel> completionService, List<Future<ExceptionModel>> processingList, Consumer<ExceptionModel> onCompletion) {
+        myLogger.entering(MY_CLASS_NAME, "waitForTasksToFinishAndShutdownThreadPool", new Object[]{myThreadPool, completionService, processingList, onCompletion});
         List<ExceptionModel> exceptionModelList = new ArrayList<>();
         try{
             int finalSize = processingList.size();
-            long tasksCompleted = 0;
-            do{
-                if(myThreadPool.getCompletedTaskCount() > tasksCompleted){
-                    myLogger.info("The number of completed processing tasks is " + myThreadPool.getCompletedTaskCount() + " of " + finalSize);
-                    tasksCompleted = myThreadPool.getCompletedTaskCount();
-                }//end if
+            Map<Future<ExceptionModel>, Integer> indexes = new IdentityHashMap<>();
+            for(int i = 0; i < finalSize; i++){
+                indexes.put(processingList.get(i), i);
+            }//end for
 
+            ExceptionModel[] completed = new ExceptionModel[finalSize];
+            boolean[] done = new boolean[finalSize];
+            int next = 0;
+            for(int tasksCompleted = 1; tasksCompleted <= finalSize; tasksCompleted++){
+                Future<ExceptionModel> future = null;
                 try{
-                    TimeUnit.SECONDS.sleep(3);//let the tasks do work.
+                    future = completionService.take();
+                    completed[indexes.get(future)] = future.get();
+                    myLogger.info("The number of completed processing tasks is " + tasksCompleted + " of " + finalSize + ".  Completed " + completed[indexes.get(future)].getClusterOrApplicationName());
                 }catch(InterruptedException e){
-                    myLogger.log(Level.SEVERE, "InterruptedException occurred while thread was sleeping.");
+                    myLogger.log(Level.SEVERE, "InterruptedException occurred while waiting for the next processing task to complete.  Error is: " + e.getMessage(), e);
                     break;
-                }// end try...catch
-            }while(myThreadPool.getCompletedTaskCount() < finalSize);// keep checking to see if the final size matches the completed tasks count.
-
-            //count all the records processed.
-            Iterator<Future<ExceptionModel>> fIterator = processingList.iterator();
-            while(fIterator.hasNext()){
-                try{
-                    Future<ExceptionModel> em = fIterator.next();
-                    exceptionModelList.add(em.get());
-                }catch(InterruptedException e){
-                    myLogger.log(Level.SEVERE, "InterruptedException occurred while trying to retrieve the exception model from the processing list of Future instances.  Error is: " + e.getMessage(), e);
                 }catch(ExecutionException e){
                     myLogger.log(Level.SEVERE, "ExecutionException occurred while trying to retrieve the exception model from the processing list of Future instances.  Error is: " + e.getMessage(), e);
                 }//end try...catch
-            }//end while
+                done[indexes.get(future)] = true;
+
+                while(next < finalSize && done[next]){//release the models in submitted order
+                    if(completed[next] != null){
+                        exceptionModelList.add(completed[next]);
+                        onCompletion.accept(completed[next]);
+                    }//end if
+                    next++;
+                }//end while
+            }//end for
         }finally{
             myThreadPool.shutdown();
         }// end try/catch
@@ -379,6 +834,20 @@ public class LoggedExceptionController {
         return appLogDt;
     }//end method
 
+    /**
+     * @return the appLogEndDt, which is the same as the appLogDt when a single date is scanned
+     */
+    public LocalDate getAppLogEndDt() {
+        return appLogEndDt;
+    }//end method
+
+    /**
+     * @return the date of the logs scanned, or the first and last dates separated by {@code ..} when a range of dates is scanned
+     */
+    public String getAppLogRange() {
+        return appLogEndDt == null || appLogEndDt.isEqual(appLogDt) ? String.valueOf(appLogDt) : appLogDt + DATE_RANGE_SEPARATOR + appLogEndDt;
+    }//end method
+
     /**
      * @return the environment
      */
@@ -393,6 +862,13 @@ public class LoggedExceptionController {
         return spreadSheetDestFile;
     }//end method
 
+    /**
+     * @return the threadPoolSummary
+     */
+    public String getThreadPoolSummary() {
+        return threadPoolSummary;
+    }//end method
+
     /**
      * @return the totalScannedLogs
      */
@@ -1,28 +1,57 @@
 package com.omo.free.lec.business;
 
-import java.io.BufferedReader;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
+import com.omo.free.lec.file.DirectoryListingStore;
+import com.omo.free.lec.file.GzipLogInputStream;
 import com.omo.free.lec.file.LogPathVisitor;
+import com.omo.free.lec.file.ScanCheckpointStore;
+import com.omo.free.lec.file.ScanResultCache;
+import com.omo.free.lec.file.TranscodingInputStream;
+import com.omo.free.lec.model.CachedScanResult;
 import com.omo.free.lec.model.ExceptionModel;
+import com.omo.free.lec.model.FilterRule;
 import com.omo.free.lec.model.LogPath;
+import com.omo.free.lec.model.ScanCheckpoint;
+import com.omo.free.lec.model.TraceSample;
 import com.omo.free.lec.util.AppConstants;
+import com.omo.free.lec.util.LogProcessorUtil;
 
 /**
  * This class is used for processing application log files looking for exceptions.
@@ -34,197 +63,880 @@ public class ProcessTask implements Callable<ExceptionModel>{
 
     private static final String MY_CLASS_NAME = "com.omo.free.lec.business.ProcessTask";
     private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+    private static final DateTimeFormatter SERVER_DATE_FORMAT = DateTimeFormatter.ofPattern("yy.MM.dd");
 
-    private Pattern pattern;
-    private Pattern tabPattern;
+    private ProcessingPools pools;
+    private ScanCheckpointStore checkpoints;
+    private DirectoryListingStore listings;
+    private ScanResultCache resultCache;
     private LogPath logPath;
-    private String date;
-    boolean isCurrentDay;
+    private LineFilter filter;
+    private long settingsHash;
+    private List<LocalDate> dates;
+    private List<String> dateTokens;
+    private String currentDateToken;
 
     /**
      * Constructor used to build an instance of the ProcessTask.
      * @param logPath the logging path instance used to determine the
-     * @param date the date
-     * @param isCurrentDay is this the current day or not
+     * @param dates the dates of the logs to scan, each of which gets its own daily model
+     * @param pools the thread pools used for copying/reading and scanning the log files
+     * @param checkpoints the checkpoints used to scan only the lines written since the last run or null to scan every log from the start
+     * @param resultCache the cache of logs that were already scanned or null to scan every log
+     * @param listings the listings of the log directories made by earlier runs or null to list every directory
      */
-    public ProcessTask(LogPath logPath, String date, boolean isCurrentDay){
-        myLogger.entering(MY_CLASS_NAME, "ProcessTask", new Object[]{logPath, date, isCurrentDay});
+    public ProcessTask(LogPath logPath, List<LocalDate> dates, ProcessingPools pools, ScanCheckpointStore checkpoints, ScanResultCache resultCache, DirectoryListingStore listings){
+        myLogger.entering(MY_CLASS_NAME, "ProcessTask", new Object[]{logPath, dates, pools, checkpoints, resultCache, listings});
         this.logPath = logPath;
-        this.date = date;
-        this.isCurrentDay = isCurrentDay;
-        //must be at least a period  ((?<!\t|at)[a-z.]+\\.[a-zA-Z]+(Exception|Error))
-        //()
-        tabPattern = Pattern.compile("\t");
-        pattern = Pattern.compile("([a-zA-Z0-9.]+\\.[0-9a-zA-Z]+(Exception|Error))");//exception extractor
+        this.filter = new LineFilter(logPath.getRules());
+        this.settingsHash = settingsHash(logPath);
+        this.dates = dates;
+        this.dateTokens = new ArrayList<>();
+        DateTimeFormatter dtf = "server".equals(logPath.getType()) ? SERVER_DATE_FORMAT : DateTimeFormatter.ISO_LOCAL_DATE;
+        for(int i = 0, j = dates.size(); i < j; i++){
+            dateTokens.add(dtf.format(dates.get(i)));
+            if(LocalDate.now().isEqual(dates.get(i))){
+                currentDateToken = dateTokens.get(i);
+            }//end if
+        }//end for
+        this.pools = pools;
+        this.checkpoints = checkpoints;
+        this.listings = listings;
+        this.resultCache = resultCache;
         myLogger.exiting(MY_CLASS_NAME, "ProcessTask");
     }//end method
 
     /**
      * This method will execute the processing logic for scanning log files for exceptions.
+     *
+     * <p>Each directory is listed once for the logs of all dates, and the logs of all dates are then fetched and scanned at the same time.  The exceptions of each log are merged
+     * both into the model of its date and into the returned model, which holds the exceptions of all dates and the daily models.</p>
+     *
+     * <p>The logs go through a pipeline: the logs of a directory are handed to the fetch stage as soon as that directory has been listed, each log is scanned as soon as it has
+     * been fetched, and the scanned logs are merged in the order they were found while later logs are still being fetched.  Handing a log to the pipeline waits for a permit from
+     * {@link ProcessingPools#acquirePipeline()}, so no more logs are fetched than the scan pool keeps up with.</p>
+     *
      * @return eModel the exception model
      */
     @Override
     public ExceptionModel call() throws Exception {
         myLogger.entering(MY_CLASS_NAME, "call");
-        ExceptionModel eModel = new ExceptionModel();
+        ExceptionModel eModel = newModel();
         eModel.setClusterOrApplicationName(logPath.getName());
         eModel.setType(logPath.getType());
+        eModel.setDate(dates.size() == 1 ? dates.get(0) : null);
         try{
-            List<Path> sharedLoggingPaths = new ArrayList<>();
+            List<CompletableFuture<ExceptionModel>> fileResults = new ArrayList<>();
+            List<String> logNodes = new ArrayList<>();
+            List<ExceptionModel> logDays = new ArrayList<>();
             List<String> fullDirectories = logPath.getPaths();
+            List<String> nodes = nodeNames(fullDirectories);
+            eModel.setNodes(new ArrayList<>(new LinkedHashSet<>(nodes)));
 
-            //LOOP THROUGH EACH INDIVIDUAL DIRECTORY AND COPY AND GATHER LOG FILES
+            Map<String, ExceptionModel> dailyModels = new HashMap<>();
+            for(int i = 0, j = dates.size(); i < j; i++){
+                ExceptionModel dailyModel = newModel();
+                dailyModel.setClusterOrApplicationName(logPath.getName());
+                dailyModel.setType(logPath.getType());
+                dailyModel.setDate(dates.get(i));
+                dailyModel.setNodes(eModel.getNodes());
+                dailyModels.put(dateTokens.get(i), dailyModel);
+                eModel.addDailyModel(dailyModel);
+            }//end for
+
+            //LOOK THROUGH EACH INDIVIDUAL DIRECTORY FOR LOG FILES OF ALL DATES ON THE SHARE I/O EXECUTOR
+            List<CompletableFuture<Map<String, List<Path>>>> discoveries = new ArrayList<>();
             Iterator<String> it = fullDirectories.iterator();
             while(it.hasNext()){
-
                 Path sharedDirPath = Paths.get(it.next());
-                if(Files.exists(sharedDirPath)){
-                    //start copy and
-                    LogPathVisitor lpv = new LogPathVisitor(logPath.getLogPrefixes(), date, isCurrentDay);
-                    Files.walkFileTree(sharedDirPath, Collections.emptySet(), 1, lpv);
-                    if(lpv.getLoggingPaths().isEmpty()){
-                        eModel.addErrorMessage(sharedDirPath.toString(), "No Logs found per search criteria.  LogPrefixes=" + String.valueOf(logPath.getLogPrefixes()));
-                    }else{
-                        sharedLoggingPaths.addAll(lpv.getLoggingPaths());
-                    }//end if...else
-                }else{
-                    eModel.addErrorMessage(sharedDirPath.toString(), "Directory does not exist.");
-                }//end if...else
+                discoveries.add(CompletableFuture.supplyAsync(() -> discoverLogs(sharedDirPath, eModel), pools.getShareIoExecutor()));
             }//end while
 
-            //COPY LOG FILES LOCALLY FOR PROCESSING
-            List<Path> localLoggingPaths = new ArrayList<>();
-
-            myLogger.info("Number of logging files that are going to be processed for " + logPath.getName() + " are: " + sharedLoggingPaths.size());
-            sharedLoggingPaths.parallelStream().forEach(sourcePath -> {
-                
-                Path targetPath = null;
-                try{
-                    if("server".equals(logPath.getType())){
-                        String dirName = "jccc".equals(logPath.getEnvironment()) ? logPath.getName() : sourcePath.getParent().toFile().getName();
-                        targetPath = Paths.get(AppConstants.WORK_DIR, dirName, sourcePath.getFileName().toString());
-                        myLogger.info("Complete local path to copy log file to is: " + String.valueOf(targetPath));
-                    }else{
-                        targetPath = Paths.get(AppConstants.WORK_DIR, logPath.getName(), sourcePath.getFileName().toString());
-                        myLogger.info("Complete local path to copy log file to is: " + String.valueOf(targetPath));
-                    }//end if...else
-
-                    if(!Files.exists(targetPath)){//create directories here if they do not exist
-                        Files.createDirectories(targetPath.getParent());
-                    }//end if
-
-                    retryAndWaitIfNeeded(sourcePath, targetPath);//added this 2022
-                    localLoggingPaths.add(targetPath);
-                }catch(IOException e1){
-                    myLogger.log(Level.SEVERE, "Exception occurred while trying to copy. Error is " + e1.getMessage(), e1);
-                    eModel.addErrorMessage(sourcePath.toString(), "Error copying log file.  Message is: " + e1.getMessage());
-                }catch(Exception e){
-                    eModel.addErrorMessage(sourcePath.toString(), "Error copying log file.  Message is: " + e.getMessage());
-                    myLogger.log(Level.SEVERE, "Exception occurred while trying to copy. Error is " + e.getMessage(), e);
-                }//end try...catch
-            });
+            //EACH FILE IS FETCHED ON THE SHARE I/O EXECUTOR AND SCANNED ON THE SCAN POOL INTO ITS OWN MODEL AS SOON AS ITS DIRECTORY IS LISTED
+            int merged = 0;
+            for(int i = 0, j = discoveries.size(); i < j; i++){
+                Iterator<Entry<String, List<Path>>> logsIt = discoveries.get(i).join().entrySet().iterator();
+                while(logsIt.hasNext()){
+                    Entry<String, List<Path>> logs = logsIt.next();
+                    Iterator<Path> sharedIt = logs.getValue().iterator();
+                    while(sharedIt.hasNext()){
+                        pools.acquirePipeline();
+                        CompletableFuture<ExceptionModel> fileResult = processFile(sharedIt.next());
+                        fileResult.whenComplete((fileModel, e) -> pools.releasePipeline());
+                        fileResults.add(fileResult);
+                        logNodes.add(nodes.get(i));
+                        logDays.add(dailyModels.get(logs.getKey()));
+                        merged = mergeFileResults(eModel, fileResults, logNodes, logDays, merged, false);
+                    }//end while
+                }//end while
+            }//end for
 
-            Iterator<Path> logsToProcessIt = localLoggingPaths.iterator();
-            while(logsToProcessIt.hasNext()){
-                processLog(logsToProcessIt.next(), eModel);
-            }//end while
+            myLogger.info("Number of logging files that were processed for " + logPath.getName() + " are: " + fileResults.size());
+            mergeFileResults(eModel, fileResults, logNodes, logDays, merged, true);
         }catch(Exception e){
             myLogger.log(Level.SEVERE, "Exception occurrred somewhere in processing", e);
         }//end try...catch
+        filter.logHits(logPath.getName());
         myLogger.exiting(MY_CLASS_NAME, "call", eModel);
         return eModel;
     }//end method
 
     /**
-     * This method will run a retry of copying a file if it fails.  This happens because the files have locks due to copysync software being ran on state network folders.
-     *  
+     * This method merges the models of the scanned log files, in the order the logs were found, into the model of their date and into the model of the log path.
+     *
+     * @param eModel the model of the log path
+     * @param fileResults the future models of the log files
+     * @param logNodes the node of each log file
+     * @param logDays the daily model of each log file
+     * @param merged the number of log files merged so far
+     * @param wait true to wait for every remaining log file, false to stop at the first log file that has not been scanned yet
+     * @return the number of log files merged
+     */
+    private int mergeFileResults(ExceptionModel eModel, List<CompletableFuture<ExceptionModel>> fileResults, List<String> logNodes, List<ExceptionModel> logDays, int merged, boolean wait) {
+        int next = merged;
+        while(next < fileResults.size() && (wait || fileResults.get(next).isDone())){
+            long start = System.nanoTime();
+            try{
+                ExceptionModel fileModel = fileResults.get(next).join();
+                start = System.nanoTime();//only the merge is counted, not the wait for the scan
+                logDays.get(next).merge(fileModel, logNodes.get(next));
+                eModel.merge(fileModel, logNodes.get(next));
+            }catch(CompletionException e){
+                myLogger.log(Level.SEVERE, "Exception occurrred while processing a log file for " + logPath.getName(), e);
+                eModel.addErrorMessage(logPath.getName(), "Problem processing log file.  Message is: " + e.getMessage());
+            }//end try...catch
+            fileResults.set(next, null);//the model is no longer needed
+            pools.getAggregateStage().record(1, 0, System.nanoTime() - start);
+            next++;
+        }//end while
+        return next;
+    }//end method
+
+    /**
+     * This method names the node each directory of the logpath belongs to by the first part of the directory paths that is not the same for all of them, which is the name of the
+     * server for both clusters and applications.  When that part does not tell the directories apart the rest of the path from that part on is used.
+     *
+     * @param directories the directories of the logpath
+     * @return the name of the node of each directory, in the same order
+     */
+    private static List<String> nodeNames(List<String> directories) {
+        List<String[]> parts = new ArrayList<>();
+        int shortest = Integer.MAX_VALUE;
+        for(int i = 0, j = directories.size(); i < j; i++){
+            String[] dirParts = directories.get(i).replaceFirst("^[\\\\/]+", "").split("[\\\\/]+");
+            parts.add(dirParts);
+            shortest = Math.min(shortest, dirParts.length);
+        }//end for
+        int first = 0;
+        while(first < shortest - 1 && allEqual(parts, first)){
+            first++;
+        }//end while
+        List<String> names = new ArrayList<>();
+        for(int i = 0, j = parts.size(); i < j; i++){
+            String[] dirParts = parts.get(i);
+            names.add(first < dirParts.length ? dirParts[first] : directories.get(i));
+        }//end for
+        if(new HashSet<>(names).size() < new HashSet<>(directories).size()){
+            names.clear();
+            for(int i = 0, j = parts.size(); i < j; i++){
+                String[] dirParts = parts.get(i);
+                names.add(String.join("/", Arrays.copyOfRange(dirParts, Math.min(first, dirParts.length), dirParts.length)));
+            }//end for
+        }//end if
+        return names;
+    }//end method
+
+    /**
+     * @param parts the parts of each directory path
+     * @param index the index of the part to compare
+     * @return true if the part at the index is the same for every directory
+     */
+    private static boolean allEqual(List<String[]> parts, int index) {
+        for(int i = 1, j = parts.size(); i < j; i++){
+            if(!parts.get(i)[index].equalsIgnoreCase(parts.get(0)[index])){
+                return false;
+            }//end if
+        }//end for
+        return true;
+    }//end method
+
+    /**
+     * This method hashes every setting that changes what is counted when a log of the logpath is scanned, so that a cached result or checkpoint saved with other settings is not
+     * used.
+     *
+     * @param logPath the logpath
+     * @return the CRC-32 of the filter rules, trace settings, sketch settings and charset
+     */
+    private static long settingsHash(LogPath logPath) {
+        StringBuilder settings = new StringBuilder();
+        for(FilterRule rule : logPath.getRules()){
+            settings.append(rule.isExclude() ? '-' : '+').append(rule.getText()).append('\n');
+        }//end for
+        settings.append(AppConstants.APP_FRAME_PREFIXES).append('\n');
+        settings.append(AppConstants.FINGERPRINT_FRAMES).append('|').append(AppConstants.TRACE_SAMPLES).append('|').append(AppConstants.TIMELINE_BUCKET_MINUTES).append('\n');
+        settings.append(logPath.getSketchTopK()).append('|').append(logPath.getSketchEpsilon()).append('|').append(logPath.getSketchConfidence()).append('\n');
+        settings.append(logPath.getCharset().name());
+        CRC32 crc = new CRC32();
+        crc.update(settings.toString().getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }//end method
+
+    /**
+     * This method creates a scanner with the settings of the logpath.
+     *
+     * @return the scanner
+     */
+    private ExceptionScanner newScanner() {
+        ExceptionScanner scanner = new ExceptionScanner(pools.getScanPool(), AppConstants.SCAN_SPLIT_THRESHOLD, filter);
+        scanner.setAppFramePrefixes(AppConstants.APP_FRAME_PREFIXES);
+        scanner.setFingerprintFrames(AppConstants.FINGERPRINT_FRAMES);
+        scanner.setCharset(logPath.getCharset());
+        return scanner;
+    }//end method
+
+    /**
+     * This method creates an empty model of the cluster or of one of its dates that counts the way the logpath is configured to, approximately when it has a sketch.
+     *
+     * @return the model
+     */
+    private ExceptionModel newModel() {
+        ExceptionModel model = new ExceptionModel();
+        model.setTraceSampleCapacity(AppConstants.TRACE_SAMPLES);
+        model.setTimelineBucketMinutes(AppConstants.TIMELINE_BUCKET_MINUTES);
+        if(logPath.isApproximate()){
+            model.setHeavyHitters(logPath.getSketchTopK(), logPath.getSketchEpsilon(), logPath.getSketchConfidence());
+        }//end if
+        return model;
+    }//end method
+
+    /**
+     * This method creates an empty model of a single log.  When the logpath has a sketch, the log is counted exactly by name and its names are fed into the sketch of the cluster
+     * when it is merged in, so the memory of the sketches does not grow with the number of logs in flight.
+     *
+     * @return the model
+     */
+    private ExceptionModel newFileModel() {
+        ExceptionModel model = new ExceptionModel();
+        model.setTraceSampleCapacity(AppConstants.TRACE_SAMPLES);
+        model.setTimelineBucketMinutes(AppConstants.TIMELINE_BUCKET_MINUTES);
+        if(logPath.isApproximate()){
+            model.setNameCounting(ExceptionModel.DEFAULT_NAME_CAPACITY);
+        }//end if
+        return model;
+    }//end method
+
+    /**
+     * This method will gather the log files within a directory on the shared network path that match the log prefixes and dates, in a single listing of the directory.  Only the
+     * names that match the glob of the prefixes and dates are listed, and the listing of an earlier run is used when the directory has not been modified since.
+     *
+     * @param sharedDirPath the directory on the shared network path
+     * @param eModel the model to add errors to
+     * @return the log files found keyed by the date as it appears in their names
+     */
+    private Map<String, List<Path>> discoverLogs(Path sharedDirPath, ExceptionModel eModel) {
+        myLogger.entering(MY_CLASS_NAME, "discoverLogs", new Object[]{sharedDirPath, eModel});
+        Map<String, List<Path>> logs = Collections.emptyMap();
+        pools.acquireShare();
+        long start = System.nanoTime();
+        try{
+            if(Files.exists(sharedDirPath)){
+                LogPathVisitor lpv = new LogPathVisitor(logPath.getLogPrefixes(), dateTokens, currentDateToken);
+                List<Path> files = listings != null ? listings.list(sharedDirPath, lpv.getNameGlob()) : DirectoryListingStore.listDirectory(sharedDirPath, lpv.getNameGlob());
+                files.forEach(lpv::accept);
+                if(lpv.getLoggingPaths().isEmpty()){
+                    eModel.addErrorMessage(sharedDirPath.toString(), "No Logs found per search criteria.  LogPrefixes=" + String.valueOf(logPath.getLogPrefixes()));
+                }else{
+                    logs = lpv.getLoggingPathsByDate();
+                    Iterator<Entry<String, List<Path>>> it = logs.entrySet().iterator();
+                    while(it.hasNext()){
+                        Entry<String, List<Path>> entry = it.next();
+                        if(entry.getValue().isEmpty()){
+                            eModel.addErrorMessage(sharedDirPath.toString(), "No Logs found for " + entry.getKey() + " per search criteria.  LogPrefixes=" + String.valueOf(logPath.getLogPrefixes()));
+                        }//end if
+                    }//end while
+                }//end if...else
+            }else{
+                eModel.addErrorMessage(sharedDirPath.toString(), "Directory does not exist.");
+            }//end if...else
+        }catch(IOException e){
+            myLogger.log(Level.SEVERE, "IOException occurred while looking for log files. Error is " + e.getMessage(), e);
+            eModel.addErrorMessage(sharedDirPath.toString(), "Problem looking for log files.  Message is: " + e.getMessage());
+        }finally{
+            pools.releaseShare();
+        }//end try...catch...finally
+        pools.getDiscoverStage().record(logs.values().stream().mapToInt(List::size).sum(), 0, System.nanoTime() - start);
+        myLogger.exiting(MY_CLASS_NAME, "discoverLogs", logs);
+        return logs;
+    }//end method
+
+    /**
+     * This method will start the processing of a single log file.  The file is read on the share I/O executor, either one buffer at a time in place on the shared network path or
+     * by copying it into the work directory, and the bytes read are scanned on the scan pool.  A log that has not changed since it was cached or since its checkpoint was saved is
+     * not copied or read at all.
+     *
+     * @param sourcePath the log file on the shared network path
+     * @return the future exception model holding the exceptions and errors for the file
+     */
+    private CompletableFuture<ExceptionModel> processFile(Path sourcePath) {
+        myLogger.entering(MY_CLASS_NAME, "processFile", sourcePath);
+        ExceptionModel fileModel = newFileModel();
+        CompletableFuture<ExceptionModel> result = CompletableFuture.supplyAsync(() -> restoreUnchanged(sourcePath, fileModel), pools.getShareIoExecutor()).thenCompose(restored -> {
+            if(restored || !AppConstants.DIRECT_SCAN){
+                return CompletableFuture.completedFuture(restored);
+            }//end if
+            return scanDirect(sourcePath, fileModel);
+        }).thenComposeAsync(scanned -> {
+            if(scanned){
+                return CompletableFuture.<Path>completedFuture(null);//nothing left to scan
+            }//end if
+            return copyToWorkDir(sourcePath, fileModel);
+        }, pools.getShareIoExecutor()).thenApplyAsync(targetPath -> {
+            if(targetPath != null){
+                processLog(sourcePath, targetPath, fileModel);
+            }//end if
+            return fileModel;
+        }, pools.getScanPool());
+        myLogger.exiting(MY_CLASS_NAME, "processFile", result);
+        return result;
+    }//end method
+
+    /**
+     * This method will copy a log file from the shared network path into the work directory so that it can be scanned locally.
+     *
+     * <p>A copy that fails (usually due to the copysync software holding a lock on the file) is retried on the retry scheduler with exponential backoff, so the thread is free to
+     * fetch other files in the meantime.  The returned future completes once the copy succeeds or all retries have failed.</p>
+     *
+     * @param sourcePath the log file on the shared network path
+     * @param eModel the model to add copy errors to
+     * @return the future local copy of the log file, which is null if it could not be copied
+     */
+    private CompletableFuture<Path> copyToWorkDir(Path sourcePath, ExceptionModel eModel) {
+        myLogger.entering(MY_CLASS_NAME, "copyToWorkDir", new Object[]{sourcePath, eModel});
+        CompletableFuture<Path> result = new CompletableFuture<>();
+        Path targetPath = null;
+        try{
+            if("server".equals(logPath.getType())){
+                String dirName = "jccc".equals(logPath.getEnvironment()) ? logPath.getName() : sourcePath.getParent().toFile().getName();
+                targetPath = Paths.get(AppConstants.WORK_DIR, dirName, sourcePath.getFileName().toString());
+                myLogger.info("Complete local path to copy log file to is: " + String.valueOf(targetPath));
+            }else{
+                targetPath = Paths.get(AppConstants.WORK_DIR, logPath.getName(), sourcePath.getFileName().toString());
+                myLogger.info("Complete local path to copy log file to is: " + String.valueOf(targetPath));
+            }//end if...else
+
+            if(!Files.exists(targetPath)){//create directories here if they do not exist
+                Files.createDirectories(targetPath.getParent());
+            }//end if
+
+            attemptCopy(sourcePath, targetPath, eModel, 0, 0L, result);
+        }catch(IOException e1){
+            myLogger.log(Level.SEVERE, "Exception occurred while trying to copy. Error is " + e1.getMessage(), e1);
+            eModel.addErrorMessage(sourcePath.toString(), "Error copying log file.  Message is: " + e1.getMessage());
+            result.complete(null);
+        }//end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "copyToWorkDir", result);
+        return result;
+    }//end method
+
+    /**
+     * This method makes one attempt at copying a log file.  If the attempt fails and retries are left, the next attempt is scheduled on the retry scheduler after the backoff delay
+     * instead of sleeping.  A retry resumes the copy from the bytes already written to the local copy instead of starting over.
+     *
      * @param sourcePath the source file to copy
      * @param targetPath the destination file
-     * @throws Exception can occur when all retries have failed
+     * @param eModel the model to add copy errors and retry details to
+     * @param retries the number of retries made so far
+     * @param waitedMillis the number of milliseconds spent waiting between attempts so far
+     * @param result the future completed with the target path on success or null once all retries have failed
      */
-    private void retryAndWaitIfNeeded(Path sourcePath, Path targetPath) throws Exception {
-        myLogger.entering(MY_CLASS_NAME, "retryAndWaitIfNeeded", new Object[]{sourcePath, targetPath});
-        int retries = 0;
-        while(retries<15){
+    private void attemptCopy(Path sourcePath, Path targetPath, ExceptionModel eModel, int retries, long waitedMillis, CompletableFuture<Path> result) {
+        myLogger.entering(MY_CLASS_NAME, "attemptCopy", new Object[]{sourcePath, targetPath, eModel, retries, waitedMillis});
+        long start = System.nanoTime();
+        pools.acquireShare();
+        try{
+            long offset = retries > 0 && Files.exists(targetPath) ? Files.size(targetPath) : 0;
+            if(offset > 0){
+                myLogger.info("Resuming the copy of " + String.valueOf(sourcePath) + " at byte " + offset);
+            }//end if
+            long bytes = LogProcessorUtil.copyFile(sourcePath, targetPath, offset, AppConstants.FETCH_CHUNK_SIZE);
+            long nanos = System.nanoTime() - start;
+            pools.getIoPool().record(bytes, nanos, false);
+            pools.getFetchStage().record(1, bytes, nanos);
+            pools.getHostStage(sourceHost(sourcePath)).record(1, bytes, nanos);
+            if(retries > 0){
+                eModel.addErrorMessage(sourcePath.toString(), "Log file was locked.  Copied after " + retries + " retries and " + TimeUnit.MILLISECONDS.toSeconds(waitedMillis) + " seconds of waiting.");
+            }//end if
+            result.complete(targetPath);
+        }catch(Exception e){
+            pools.getIoPool().record(0, System.nanoTime() - start, true);
+            myLogger.log(Level.SEVERE, "Exception occurred while trying to copy. Error is " + e.getMessage(), e);
+            if(retries + 1 >= AppConstants.RETRY_MAX_ATTEMPTS){
+                eModel.addErrorMessage(sourcePath.toString(), "Error copying log file after " + retries + " retries and " + TimeUnit.MILLISECONDS.toSeconds(waitedMillis) + " seconds of waiting.  Message is: " + e.getMessage());
+                result.complete(null);
+            }else{
+                long delay = retryDelay(retries);
+                myLogger.warning("Number of retries: " + retries + "; copying " + String.valueOf(sourcePath) + " again in " + delay + " ms");
+                pools.getRetryScheduler().schedule(() -> {
+                    try{
+                        pools.getShareIoExecutor().execute(() -> attemptCopy(sourcePath, targetPath, eModel, retries + 1, waitedMillis + delay, result));
+                    }catch(RejectedExecutionException e1){
+                        eModel.addErrorMessage(sourcePath.toString(), "Error copying log file, the retry could not be started.  Message is: " + e1.getMessage());
+                        result.complete(null);
+                    }//end try...catch
+                }, delay, TimeUnit.MILLISECONDS);
+            }//end if...else
+        }finally{
+            pools.releaseShare();
+        }//end try...catch...finally
+        myLogger.exiting(MY_CLASS_NAME, "attemptCopy");
+    }//end method
+
+    /**
+     * This method returns the name of the server a log file is read from, which is the first part of a network path such as {@code \\server\share\logs\SystemOut.log}.
+     *
+     * @param sourcePath the log file on the shared network path
+     * @return the name of the server or {@code local} if the log is not on a network path
+     */
+    private static String sourceHost(Path sourcePath) {
+        String path = sourcePath.toString();
+        if(path.startsWith("\\\\") || path.startsWith("//")){
+            String[] parts = path.substring(2).split("[\\\\/]", 2);
+            return parts[0];
+        }//end if
+        return "local";
+    }//end method
+
+    /**
+     * This method calculates how long to wait before the next copy attempt.  The delay doubles with each retry up to the maximum delay, and half of it is random jitter so that
+     * files locked at the same time are not all retried at the same time.
+     *
+     * @param retries the number of retries made so far
+     * @return the delay in milliseconds
+     */
+    private static long retryDelay(int retries) {
+        long delay = Math.min(AppConstants.RETRY_MAX_DELAY, AppConstants.RETRY_BASE_DELAY << Math.min(retries, 30));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }//end method
+
+    /**
+     * This method will start the scan of a log file in place on the shared network path without making a local copy of it first.
+     *
+     * <p>The file is read into direct buffers by a {@link ChunkedLogReader} and never memory mapped, so the mapping does not keep WebSphere and the copysync software from
+     * renaming or deleting it.  Each buffer is read on the share I/O executor, holding a share permit only while it is read, and then scanned on the scan pool before the next
+     * one is read, so the I/O threads never scan and only the time spent reading is recorded against the share.  A compressed log or a log that has to be transcoded is not
+     * scanned directly, as decompressing and transcoding it is scanning work; it is copied and scanned locally instead.</p>
+     *
+     * <p>If the file cannot be opened (usually due to the copysync software holding a lock on it) or the scan fails part way, the future completes with false so that the caller
+     * can fall back to copying the file locally.  The file is scanned into a model of its own that is only merged into the model of the file once the scan succeeds, so the counts
+     * of a failed scan are not counted twice.</p>
+     *
+     * @param sourcePath the log file on the shared network path
+     * @param eModel the model to add the exceptions found to
+     * @return the future completed with true if the file was scanned, false if it could not be opened or read
+     */
+    private CompletableFuture<Boolean> scanDirect(Path sourcePath, ExceptionModel eModel) {
+        myLogger.entering(MY_CLASS_NAME, "scanDirect", new Object[]{sourcePath, eModel});
+        CompletableFuture<Boolean> result;
+        if(LogPathVisitor.compressedExtension(sourcePath) != null || !logPath.isAsciiCompatible()){
+            result = CompletableFuture.completedFuture(false);
+        }else{
+            ExceptionModel scanModel = newFileModel();
+            CompletableFuture<Boolean> scanned = new CompletableFuture<>();
             try{
-                if(retries>0){
-                    TimeUnit.SECONDS.sleep(10);//retry ever 10 seconds
-                }//end if
-                Files.copy(sourcePath, targetPath, StandardCopyOption.REPLACE_EXISTING);
-                break;
-            }catch(IOException e1){
-                myLogger.log(Level.SEVERE, "Exception occurred while trying to copy. Error is " + e1.getMessage(), e1);
-                if(retries==14){
-                    throw e1;
-                }//end if
-                myLogger.warning("Number of retries: " + retries + "; copying " + String.valueOf(sourcePath));
-                retries++;
-            }catch(Exception e){
-                myLogger.log(Level.SEVERE, "Exception occurred while trying to copy. Error is " + e.getMessage(), e);
-                if(retries==14){
-                    throw e;
-                }//end if
-                myLogger.warning("Number of retries: " + retries + "; copying " + String.valueOf(sourcePath));
-                retries++;
+                pools.getShareIoExecutor().execute(() -> openDirect(sourcePath, scanModel, scanned));
+            }catch(RejectedExecutionException e){
+                myLogger.warning("Unable to start the direct scan of " + String.valueOf(sourcePath) + ", falling back to copying it locally.  Error is: " + e.getMessage());
+                scanned.complete(false);
             }//end try...catch
-        }//end while
-        myLogger.exiting(MY_CLASS_NAME, "retryAndWaitIfNeeded");
+            result = scanned.thenApply(success -> {
+                if(success){
+                    eModel.merge(scanModel);
+                }//end if
+                return success;
+            });
+        }//end if...else
+        myLogger.exiting(MY_CLASS_NAME, "scanDirect", result);
+        return result;
     }//end method
 
     /**
-     * This method will read the contents of the file looking for the exceptions and then processing them.
+     * This method opens a log file on the shared network path for a direct scan and reads its first buffer.
      *
-     * @param log the log file to read
+     * @param sourcePath the log file on the shared network path
+     * @param scanModel the model of the direct scan
+     * @param result the future completed with false if the file cannot be opened
+     */
+    private void openDirect(Path sourcePath, ExceptionModel scanModel, CompletableFuture<Boolean> result) {
+        myLogger.entering(MY_CLASS_NAME, "openDirect", new Object[]{sourcePath, scanModel});
+        ChunkedLogReader reader = null;
+        pools.acquireShare();
+        long start = System.nanoTime();
+        FileChannel channel = null;
+        try{
+            channel = FileChannel.open(sourcePath, StandardOpenOption.READ);
+            reader = openChunks(sourcePath, channel, scanModel);
+            reader.addReadNanos(System.nanoTime() - start);
+        }catch(Exception e){
+            pools.getIoPool().record(0, System.nanoTime() - start, true);
+            myLogger.warning("Unable to open " + String.valueOf(sourcePath) + " for a direct scan, falling back to copying it locally.  Error is: " + e.getMessage());
+            close(channel);
+            result.complete(false);
+        }finally{
+            pools.releaseShare();
+        }//end try...catch...finally
+        if(reader != null){
+            readChunk(sourcePath, reader, newScanner(), scanModel, result);
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "openDirect");
+    }//end method
+
+    /**
+     * This method will create the reader of a log file on the shared network path.  When checkpoints are in use the exceptions counted up to the last checkpoint of the log are
+     * added back in and only the complete lines written since then are read, starting with the first event after the checkpoint, as the lines of a stack trace the
+     * checkpoint was saved within belong to an exception that was already counted.
+     *
+     * @param sourcePath the log file on the shared network path
+     * @param channel the opened log file
      * @param eModel the model to add the exceptions found to
+     * @return the reader
+     * @throws IOException if the log cannot be read
      */
-    private void processLog(Path log, ExceptionModel eModel) {
-        myLogger.entering(MY_CLASS_NAME, "processLog", new Object[]{log, eModel});
-        BufferedReader br = null;
+    private ChunkedLogReader openChunks(Path sourcePath, FileChannel channel, ExceptionModel eModel) throws IOException {
+        String key = sourcePath.toString();
+        long lastModified = checkpoints == null && resultCache == null ? 0L : Files.getLastModifiedTime(sourcePath).toMillis();
+        long size = channel.size();
+        long start = 0;
+        long end = size;
+        if(checkpoints != null){
+            ScanCheckpoint checkpoint = checkpoints.find(key, channel, lastModified, settingsHash);
+            if(checkpoint != null){
+                myLogger.info("Resuming the scan of " + key + " at byte " + checkpoint.getOffset() + " of " + size);
+                restore(checkpoint.getExceptionCounts(), checkpoint.getRootCauseCounts(), checkpoint.getTraceSamples(), checkpoint.getTimelines(), eModel);
+                start = checkpoint.getOffset();
+            }//end if
+            end = ExceptionScanner.lastLineEnd(channel, start, size);
+            if(start > 0){
+                start = ExceptionScanner.eventStart(channel, start, end);
+            }//end if
+        }//end if
+        eModel.incrementLogCount();
+        return new ChunkedLogReader(channel, size, lastModified, start, end);
+    }//end method
+
+    /**
+     * This method reads the next buffer of a log file on the shared network path and hands it to the scan pool.  It is run on the share I/O executor.
+     *
+     * @param sourcePath the log file on the shared network path
+     * @param reader the reader of the log file
+     * @param scanner the scanner
+     * @param scanModel the model of the direct scan
+     * @param result the future completed with false if the file cannot be read
+     */
+    private void readChunk(Path sourcePath, ChunkedLogReader reader, ExceptionScanner scanner, ExceptionModel scanModel, CompletableFuture<Boolean> result) {
+        pools.acquireShare();
         try{
-            br = new BufferedReader(new FileReader(log.toFile()));
-            String line = br.readLine();
-            eModel.incrementLogCount();
-            while(line!=null){
-                Matcher matcher = tabPattern.matcher(line);//line.matches("^([^\t].*)([a-z]+\\.[a-zA-Z.]*(Exception|Error))(.*)$")
-                if(!matcher.find()){
-                    proccessLine(line, eModel);
-                }//end if
-                line = br.readLine();
-            }//end while
-        }catch(FileNotFoundException e){
-            myLogger.log(Level.SEVERE, "FileNotFoundException occurrred while reading file.", e);
-            eModel.addErrorMessage(log.toString(), "Problem reading file.  Message is: " + e.getMessage());
-        }catch(IOException e){
-            myLogger.log(Level.SEVERE, "IOException occurrred while reading file.", e);
-            eModel.addErrorMessage(log.toString(), "Problem reading file.  Message is: " + e.getMessage());
+            reader.read();
         }catch(Exception e){
-            myLogger.log(Level.SEVERE, "Exception occurrred somewhere in processing while reading file.", e);
-            eModel.addErrorMessage(log.toString(), "Problem reading file.  Message is: " + e.getMessage());
+            failDirect(sourcePath, reader, e, result);
+            return;
         }finally{
-            if(br != null){
-                try{
-                    br.close();
-                }catch(IOException e){
-                    myLogger.log(Level.SEVERE, "IOException occurrred somewhere in processing.  Error message is: " + e.getMessage(), e);
-                }//end try...catch
+            pools.releaseShare();
+        }//end try...catch...finally
+        execute(pools.getScanPool(), () -> scanChunk(sourcePath, reader, scanner, scanModel, result), sourcePath, reader, result);
+    }//end method
+
+    /**
+     * This method scans the buffer just read from a log file on the shared network path and hands the reader back to the share I/O executor to read the next buffer, or to finish
+     * the scan once the whole log has been read.  It is run on the scan pool.
+     *
+     * @param sourcePath the log file on the shared network path
+     * @param reader the reader of the log file
+     * @param scanner the scanner
+     * @param scanModel the model of the direct scan
+     * @param result the future completed with false if the buffer cannot be scanned
+     */
+    private void scanChunk(Path sourcePath, ChunkedLogReader reader, ExceptionScanner scanner, ExceptionModel scanModel, CompletableFuture<Boolean> result) {
+        try{
+            reader.scan(scanner, scanModel);
+        }catch(Exception e){
+            failDirect(sourcePath, reader, e, result);
+            return;
+        }//end try...catch
+        if(reader.isDone()){
+            execute(pools.getShareIoExecutor(), () -> finishDirect(sourcePath, reader, scanModel, result), sourcePath, reader, result);
+        }else{
+            execute(pools.getShareIoExecutor(), () -> readChunk(sourcePath, reader, scanner, scanModel, result), sourcePath, reader, result);
+        }//end if...else
+    }//end method
+
+    /**
+     * This method finishes the direct scan of a log file once it has been read and scanned to its end.  The checkpoint of the log is recorded and the log is added to the result
+     * cache when it was scanned to its end, both of which read the log again.  It is run on the share I/O executor.
+     *
+     * @param sourcePath the log file on the shared network path
+     * @param reader the reader of the log file, which is released and its channel closed
+     * @param scanModel the model of the direct scan
+     * @param result the future completed with true
+     */
+    private void finishDirect(Path sourcePath, ChunkedLogReader reader, ExceptionModel scanModel, CompletableFuture<Boolean> result) {
+        myLogger.entering(MY_CLASS_NAME, "finishDirect", new Object[]{sourcePath, scanModel});
+        reader.release();
+        String key = sourcePath.toString();
+        pools.acquireShare();
+        long start = System.nanoTime();
+        try{
+            if(checkpoints != null){
+                checkpoints.put(key, reader.getChannel(), reader.getLastModified(), reader.getEnd(), settingsHash, scanModel);
+            }//end if
+            if(resultCache != null && reader.getEnd() == reader.getSize()){
+                resultCache.put(key, reader.getChannel(), reader.getSize(), reader.getLastModified(), settingsHash, scanModel);
             }//end if
-        }//end try...catch....finally
-        myLogger.entering(MY_CLASS_NAME, "processLog", new Object[]{log, eModel});
+        }catch(IOException e){
+            myLogger.warning("Unable to save the checkpoint of " + key + ", it will be scanned from the start next time.  Error is: " + e.getMessage());
+        }finally{
+            reader.addReadNanos(System.nanoTime() - start);
+            pools.releaseShare();
+            close(reader.getChannel());
+        }//end try...catch...finally
+        long bytes = reader.getBytesRead();
+        pools.getIoPool().record(bytes, reader.getReadNanos(), false);
+        pools.getHostStage(sourceHost(sourcePath)).record(1, bytes, reader.getReadNanos());
+        pools.getScanStage().record(1, bytes, reader.getScanNanos());
+        pools.recordBytes(bytes, bytes);
+        result.complete(true);
+        myLogger.exiting(MY_CLASS_NAME, "finishDirect");
+    }//end method
+
+    /**
+     * This method gives up on the direct scan of a log file so that it is copied locally instead.
+     *
+     * @param sourcePath the log file on the shared network path
+     * @param reader the reader of the log file, which is released and its channel closed
+     * @param e the reason the scan failed
+     * @param result the future completed with false
+     */
+    private void failDirect(Path sourcePath, ChunkedLogReader reader, Throwable e, CompletableFuture<Boolean> result) {
+        myLogger.log(Level.WARNING, "Unable to scan " + String.valueOf(sourcePath) + " directly, falling back to copying it locally.  Error is: " + e.getMessage(), e);
+        reader.release();
+        close(reader.getChannel());
+        pools.getIoPool().record(0, reader.getReadNanos(), true);
+        result.complete(false);
+    }//end method
+
+    /**
+     * This method hands the next step of a direct scan to an executor, giving up on the direct scan if the executor no longer accepts tasks.
+     *
+     * @param executor the executor to run the step on
+     * @param step the next step of the scan
+     * @param sourcePath the log file on the shared network path
+     * @param reader the reader of the log file
+     * @param result the future completed with false if the step cannot be started
+     */
+    private void execute(Executor executor, Runnable step, Path sourcePath, ChunkedLogReader reader, CompletableFuture<Boolean> result) {
+        try{
+            executor.execute(step);
+        }catch(RejectedExecutionException e){
+            failDirect(sourcePath, reader, e, result);
+        }//end try...catch
+    }//end method
+
+    /**
+     * This method closes a log file, logging rather than throwing an error.
+     *
+     * @param channel the opened log file or null
+     */
+    private static void close(FileChannel channel) {
+        if(channel != null){
+            try{
+                channel.close();
+            }catch(IOException e){
+                myLogger.log(Level.SEVERE, "IOException occurrred somewhere in processing.  Error message is: " + e.getMessage(), e);
+            }//end try...catch
+        }//end if
+    }//end method
+
+    /**
+     * This method will restore the exceptions of a log file from the result cache or from its checkpoint when the size and last modified time of the log show that nothing has been
+     * written to it since it was cached or since the checkpoint was saved.
+     *
+     * @param sourcePath the log file on the shared network path
+     * @param eModel the model to add the restored exceptions to
+     * @return true if the exceptions were restored, false if the log needs to be scanned
+     */
+    private boolean restoreUnchanged(Path sourcePath, ExceptionModel eModel) {
+        if(checkpoints == null && resultCache == null){
+            return false;
+        }//end if
+        myLogger.entering(MY_CLASS_NAME, "restoreUnchanged", new Object[]{sourcePath, eModel});
+        Map<String, Integer> exceptionCounts = null;
+        Map<String, Integer> rootCauseCounts = null;
+        List<TraceSample> traceSamples = null;
+        Map<String, int[]> timelines = null;
+        pools.acquireShare();
+        try{
+            BasicFileAttributes attrs = Files.readAttributes(sourcePath, BasicFileAttributes.class);
+            CachedScanResult cached = resultCache == null ? null : resultCache.get(sourcePath, attrs.size(), attrs.lastModifiedTime().toMillis(), settingsHash);
+            if(cached != null){
+                exceptionCounts = cached.getExceptionCounts();
+                rootCauseCounts = cached.getRootCauseCounts();
+                traceSamples = cached.getTraceSamples();
+                timelines = cached.getTimelines();
+            }else if(checkpoints != null){
+                ScanCheckpoint checkpoint = checkpoints.findUnchanged(sourcePath.toString(), attrs.size(), attrs.lastModifiedTime().toMillis(), settingsHash);
+                if(checkpoint != null){
+                    exceptionCounts = checkpoint.getExceptionCounts();
+                    rootCauseCounts = checkpoint.getRootCauseCounts();
+                    traceSamples = checkpoint.getTraceSamples();
+                    timelines = checkpoint.getTimelines();
+                }//end if
+            }//end if...else
+        }catch(IOException e){
+            myLogger.warning("Unable to read the attributes of " + String.valueOf(sourcePath) + ", it will be scanned.  Error is: " + e.getMessage());
+        }finally{
+            pools.releaseShare();
+        }//end try...catch...finally
+        if(exceptionCounts != null){
+            eModel.incrementLogCount();
+            restore(exceptionCounts, rootCauseCounts, traceSamples, timelines, eModel);
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "restoreUnchanged", exceptionCounts != null);
+        return exceptionCounts != null;
     }//end method
 
     /**
-     * Process the exception line, looking for any exceptions contained on the line.
-     * @param aLine the line
-     * @param eModel the model used to capture the exception.
+     * This method will scan an opened log file.  When checkpoints are in use only the lines written since the last checkpoint of the log are scanned, the exceptions counted up to
+     * the checkpoint are added back in and a new checkpoint is recorded.  A log that was scanned from start to end is added to the result cache.  A compressed log is decompressed
+     * as it is scanned and always scanned from the start, as it is no longer being written to.  A log written in a character set that does not write ASCII as single bytes is
+     * transcoded to UTF-8 as it is scanned, and is also always scanned from the start.
+     *
+     * @param sourcePath the log file on the shared network path
+     * @param channel the opened log file, which may be a local copy of it
+     * @param eModel the model to add the exceptions found to
+     * @throws IOException if the log cannot be read
      */
-    private void proccessLine(String aLine, ExceptionModel eModel) {
-        Matcher matcher = pattern.matcher(aLine);
-        if(matcher.find()){
-            if(aLine.contains("Saving message key '.errors")){//quick shamen fix here
-                return;
+    private void scanChannel(Path sourcePath, FileChannel channel, ExceptionModel eModel) throws IOException {
+        myLogger.entering(MY_CLASS_NAME, "scanChannel", new Object[]{sourcePath, channel, eModel});
+        ExceptionScanner scanner = newScanner();
+        Charset transcode = logPath.isAsciiCompatible() ? null : logPath.getCharset();
+        scanner.setCharset(transcode == null ? logPath.getCharset() : StandardCharsets.UTF_8);
+        String key = sourcePath.toString();
+        long lastModified = checkpoints == null && resultCache == null ? 0L : Files.getLastModifiedTime(sourcePath).toMillis();
+        long size = channel.size();
+        long scanStart = System.nanoTime();
+        long read = size;
+        long scanned = size;
+        boolean complete = true;
+        String extension = LogPathVisitor.compressedExtension(sourcePath);
+        if(extension != null){
+            scanned = scanStream(channel, extension, transcode, scanner, eModel);
+            pools.getDecompressStage().record(1, size, System.nanoTime() - scanStart);
+        }else if(transcode != null){
+            scanned = scanStream(channel, null, transcode, scanner, eModel);
+        }else if(checkpoints == null){
+            scanner.scan(channel, eModel);
+        }else{
+            ScanCheckpoint checkpoint = checkpoints.find(key, channel, lastModified, settingsHash);
+            long start = 0;
+            if(checkpoint != null){
+                myLogger.info("Resuming the scan of " + key + " at byte " + checkpoint.getOffset() + " of " + channel.size());
+                restore(checkpoint.getExceptionCounts(), checkpoint.getRootCauseCounts(), checkpoint.getTraceSamples(), checkpoint.getTimelines(), eModel);
+                start = checkpoint.getOffset();
             }//end if
-            eModel.addException(matcher.group().trim());
+            long end = scanner.scan(channel, start, eModel);
+            read = end - start;
+            scanned = end - start;
+            checkpoints.put(key, channel, lastModified, end, settingsHash, eModel);
+            complete = end == size;
+        }//end if...else
+        pools.getScanStage().record(1, scanned, System.nanoTime() - scanStart);
+        pools.recordBytes(read, scanned);
+        if(resultCache != null && complete){
+            resultCache.put(key, channel, size, lastModified, settingsHash, eModel);
         }//end if
+        myLogger.exiting(MY_CLASS_NAME, "scanChannel");
+    }//end method
+
+    /**
+     * This method will read an opened log file as a stream and scan the decompressed and transcoded bytes without writing them anywhere.  A gzip log is read with an inflater from
+     * the pool of the {@link GzipLogInputStream}, and every file within a zip log is scanned as a log of its own.
+     *
+     * @param channel the opened log file, which is left open
+     * @param extension the extension of the compressed log or null if the log is not compressed
+     * @param charset the character set the log is transcoded from or null if its bytes are scanned as they are
+     * @param scanner the scanner
+     * @param eModel the model to add the exceptions found to
+     * @return the number of decompressed and transcoded bytes scanned
+     * @throws IOException if the log cannot be read or decompressed
+     */
+    private static long scanStream(FileChannel channel, String extension, Charset charset, ExceptionScanner scanner, ExceptionModel eModel) throws IOException {
+        long scanned = 0;
+        InputStream source = new FilterInputStream(Channels.newInputStream(channel.position(0))) {
+            @Override
+            public void close() {
+                //the channel is closed by the caller
+            }//end method
+        };
+        if(extension == null){
+            try(InputStream in = new TranscodingInputStream(new BufferedInputStream(source, ExceptionScanner.STREAM_BUFFER_SIZE), charset)){
+                scanned = scanner.scan(in, eModel);
+            }//end try
+        }else if(LogPathVisitor.GZIP_EXTENSION.equals(extension)){
+            try(GzipLogInputStream in = new GzipLogInputStream(source)){
+                scanned = scanner.scan(charset == null ? in : new TranscodingInputStream(in, charset), eModel);
+            }//end try
+        }else{
+            try(ZipInputStream in = new ZipInputStream(new BufferedInputStream(source, ExceptionScanner.STREAM_BUFFER_SIZE))){
+                ZipEntry entry = in.getNextEntry();
+                while(entry != null){
+                    if(!entry.isDirectory()){
+                        scanned += scanner.scan(charset == null ? in : new TranscodingInputStream(in, charset), eModel);//not closed, which would close the zip
+                    }//end if
+                    entry = in.getNextEntry();
+                }//end while
+            }//end try
+        }//end if...else
+        return scanned;
+    }//end method
+
+    /**
+     * This method will add exceptions counted during an earlier run to the exception model.
+     *
+     * @param exceptionCounts the exceptions counted during an earlier run
+     * @param rootCauseCounts the stack traces counted during an earlier run
+     * @param traceSamples the stack trace fingerprints kept during an earlier run
+     * @param timelines the timelines of the exceptions counted during an earlier run
+     * @param eModel the model to add the exceptions to
+     */
+    private static void restore(Map<String, Integer> exceptionCounts, Map<String, Integer> rootCauseCounts, List<TraceSample> traceSamples, Map<String, int[]> timelines, ExceptionModel eModel) {
+        Iterator<Entry<String, Integer>> it = exceptionCounts.entrySet().iterator();
+        while(it.hasNext()){
+            Entry<String, Integer> entry = it.next();
+            eModel.addException(entry.getKey(), entry.getValue());
+        }//end while
+        eModel.addRootCauses(rootCauseCounts);
+        eModel.addTraceSamples(traceSamples);
+        eModel.addTimelines(timelines);
+    }//end method
+
+    /**
+     * This method will read the contents of the file looking for the exceptions and then processing them.
+     *
+     * @param sourcePath the log file on the shared network path that the log was copied from
+     * @param log the log file to read
+     * @param eModel the model to add the exceptions found to
+     */
+    private void processLog(Path sourcePath, Path log, ExceptionModel eModel) {
+        myLogger.entering(MY_CLASS_NAME, "processLog", new Object[]{sourcePath, log, eModel});
+        try(FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)){
+            scanChannel(sourcePath, channel, eModel);
+        }catch(IOException e){
+            myLogger.log(Level.SEVERE, "IOException occurrred while reading file.", e);
+            eModel.addErrorMessage(log.toString(), "Problem reading file.  Message is: " + e.getMessage());
+        }catch(Exception e){
+            myLogger.log(Level.SEVERE, "Exception occurrred somewhere in processing while reading file.", e);
+            eModel.addErrorMessage(log.toString(), "Problem reading file.  Message is: " + e.getMessage());
+        }//end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "processLog");
     }//end method
 
 }//end class
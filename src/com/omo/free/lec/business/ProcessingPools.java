@@ -0,0 +1,267 @@
+package com.omo.free.lec.business;
+
+import java.lang.reflect.Method;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import com.omo.free.lec.util.AppConstants;
+
+/**
+ * This class holds the thread pools used during a run of the batch.
+ *
+ * <ul>
+ *  <li>log path pool - runs one {@link ProcessTask} per log path</li>
+ *  <li>I/O pool - copies or reads log files on the shared network path, see {@link AdaptiveIoExecutor}</li>
+ *  <li>scan pool - scans log files and the ranges of large log files for exceptions</li>
+ *  <li>retry scheduler - starts the next copy attempt of a locked log file once its backoff delay is over</li>
+ * </ul>
+ *
+ * <p>When the {@code virtualThreads} batch property is true the shared network path I/O (directory discovery, reads and copies) runs on one virtual thread per directory or file
+ * instead of the I/O pool, so a thread blocked on the share no longer holds one of a few pooled threads.  Virtual threads need Java 21 or later at runtime, on older runtimes a new
+ * platform thread is started per task instead.  In both modes the number of share operations running at the same time is capped by the {@code shareMaxConcurrent} permits.</p>
+ *
+ * <p>Each log file goes through a pipeline of stages: discovery on the I/O pool, fetch (a copy into the work directory) on the I/O pool, scan on the scan pool and aggregate into the
+ * model of its log path.  A file is scanned as soon as it has been fetched.  The number of files that have been handed to the pipeline but not scanned yet is capped by the
+ * {@code pipelineMaxInFlight} permits, so discovery waits when fetching or scanning falls behind instead of queuing every file and filling the work directory.  The work done by
+ * each stage is counted in a {@link StageCounter}.</p>
+ *
+ * @author Richard Salas
+ */
+public class ProcessingPools {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.lec.business.ProcessingPools";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+
+    private ThreadPoolExecutor logPathPool;
+    private AdaptiveIoExecutor ioPool;
+    private ForkJoinPool scanPool;
+    private ExecutorService virtualThreadExecutor;
+    private Semaphore sharePermits;
+    private ScheduledExecutorService retryScheduler;
+    private Semaphore pipelinePermits;
+    private StageCounter discoverStage = new StageCounter("Discover");
+    private StageCounter fetchStage = new StageCounter("Fetch");
+    private StageCounter scanStage = new StageCounter("Scan");
+    private StageCounter aggregateStage = new StageCounter("Aggregate");
+    private StageCounter decompressStage = new StageCounter("Decompress");
+    private AtomicLong bytesRead = new AtomicLong();
+    private AtomicLong bytesScanned = new AtomicLong();
+    private ConcurrentHashMap<String, StageCounter> hostStages = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor used to create the thread pools using the sizes from the batch properties.
+     */
+    public ProcessingPools() {
+        myLogger.entering(MY_CLASS_NAME, "ProcessingPools");
+        logPathPool = (ThreadPoolExecutor) Executors.newFixedThreadPool(AppConstants.LOG_PATH_THREADS);
+        ioPool = new AdaptiveIoExecutor(AppConstants.IO_THREADS, AppConstants.IO_THREADS_MIN, AppConstants.IO_THREADS_MAX, AppConstants.IO_MAX_ERROR_RATE);
+        scanPool = new ForkJoinPool(AppConstants.SCAN_PARALLELISM);
+        sharePermits = new Semaphore(AppConstants.SHARE_MAX_CONCURRENT, true);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor();
+        pipelinePermits = new Semaphore(Math.max(AppConstants.PIPELINE_MAX_IN_FLIGHT, 1));
+        if(AppConstants.VIRTUAL_THREADS){
+            virtualThreadExecutor = newVirtualThreadExecutor();
+        }//end if
+        myLogger.info("Created thread pools.  " + getSummary());
+        myLogger.exiting(MY_CLASS_NAME, "ProcessingPools");
+    }//end constructor
+
+    /**
+     * This method shuts down the I/O and scan pools.  The log path pool is shut down once all of its tasks have been gathered.
+     */
+    public void shutdown() {
+        myLogger.entering(MY_CLASS_NAME, "shutdown");
+        logPathPool.shutdown();
+        ioPool.shutdown();
+        scanPool.shutdown();
+        retryScheduler.shutdown();
+        if(virtualThreadExecutor != null){
+            virtualThreadExecutor.shutdown();
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "shutdown");
+    }//end method
+
+    /**
+     * This method creates an executor that starts a new virtual thread for each task.  If the runtime does not support virtual threads an executor that starts a new platform thread
+     * for each task is returned instead.
+     *
+     * @return the executor
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        myLogger.entering(MY_CLASS_NAME, "newVirtualThreadExecutor");
+        ExecutorService executor = null;
+        try{
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");//Java 21 or later
+            executor = (ExecutorService) method.invoke(null);
+        }catch(ReflectiveOperationException e){
+            myLogger.warning("Virtual threads are not supported by Java " + System.getProperty("java.version") + ".  A new platform thread will be used per shared network path task instead.");
+            executor = Executors.newCachedThreadPool();
+        }//end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "newVirtualThreadExecutor", executor);
+        return executor;
+    }//end method
+
+    /**
+     * This method waits for a permit to run an operation against the shared network path.  Each call must be followed by a call to {@link #releaseShare()}.
+     */
+    public void acquireShare() {
+        sharePermits.acquireUninterruptibly();
+    }//end method
+
+    /**
+     * This method gives back the permit taken by {@link #acquireShare()}.
+     */
+    public void releaseShare() {
+        sharePermits.release();
+    }//end method
+
+    /**
+     * This method waits until fewer than {@code pipelineMaxInFlight} files are being fetched or waiting to be scanned.  Each call must be followed by a call to
+     * {@link #releasePipeline()} once the file has been scanned.
+     */
+    public void acquirePipeline() {
+        pipelinePermits.acquireUninterruptibly();
+    }//end method
+
+    /**
+     * This method gives back the permit taken by {@link #acquirePipeline()}.
+     */
+    public void releasePipeline() {
+        pipelinePermits.release();
+    }//end method
+
+    /**
+     * This method builds a summary of the pool sizes used during the run.
+     * @return the summary of the pool sizes
+     */
+    public String getSummary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Log paths: ").append(logPathPool.getMaximumPoolSize());
+        if(virtualThreadExecutor != null){
+            sb.append(", I/O: thread per file");
+        }else{
+            sb.append(", I/O: ").append(ioPool.getCorePoolSize());
+            sb.append(" (ranged ").append(ioPool.getSmallestSize()).append(" to ").append(ioPool.getLargestSize()).append(")");
+        }//end if...else
+        sb.append(", Share operations: ").append(AppConstants.SHARE_MAX_CONCURRENT);
+        sb.append(", Scanning: ").append(scanPool.getParallelism());
+        sb.append(", Files in flight: ").append(AppConstants.PIPELINE_MAX_IN_FLIGHT);
+        if(aggregateStage.getFiles() > 0){
+            sb.append(".  ").append(discoverStage);
+            sb.append(", ").append(fetchStage);
+            sb.append(", ").append(scanStage);
+            sb.append(", ").append(aggregateStage);
+            if(decompressStage.getFiles() > 0){
+                sb.append(", ").append(decompressStage);
+            }//end if
+            sb.append(".  Bytes read: ").append(bytesRead.get() / (1024L * 1024L)).append(" MB, bytes scanned: ").append(bytesScanned.get() / (1024L * 1024L)).append(" MB");
+        }//end if
+        if(!hostStages.isEmpty()){
+            sb.append(".  Read per server: ");
+            sb.append(new TreeMap<>(hostStages).values().stream().map(String::valueOf).collect(Collectors.joining(", ")));
+        }//end if
+        return sb.toString();
+    }//end method
+
+    /**
+     * @return the logPathPool
+     */
+    public ThreadPoolExecutor getLogPathPool() {
+        return logPathPool;
+    }//end method
+
+    /**
+     * @return the ioPool
+     */
+    public AdaptiveIoExecutor getIoPool() {
+        return ioPool;
+    }//end method
+
+    /**
+     * This method returns the executor used for shared network path I/O, which is the virtual thread executor when it is enabled or the I/O pool when it is not.
+     * @return the executor for shared network path I/O
+     */
+    public ExecutorService getShareIoExecutor() {
+        return virtualThreadExecutor != null ? virtualThreadExecutor : ioPool;
+    }//end method
+
+    /**
+     * @return the retryScheduler
+     */
+    public ScheduledExecutorService getRetryScheduler() {
+        return retryScheduler;
+    }//end method
+
+    /**
+     * @return the scanPool
+     */
+    public ForkJoinPool getScanPool() {
+        return scanPool;
+    }//end method
+
+    /**
+     * @return the counter of the directories listed and the log files found
+     */
+    public StageCounter getDiscoverStage() {
+        return discoverStage;
+    }//end method
+
+    /**
+     * @return the counter of the log files copied into the work directory
+     */
+    public StageCounter getFetchStage() {
+        return fetchStage;
+    }//end method
+
+    /**
+     * @return the counter of the log files scanned, directly on the shared network path or from the work directory
+     */
+    public StageCounter getScanStage() {
+        return scanStage;
+    }//end method
+
+    /**
+     * This method adds to the number of bytes of the log files that were read and scanned, which differ for compressed logs.
+     *
+     * @param read the number of bytes read from the log file
+     * @param scanned the number of bytes scanned, after decompression
+     */
+    public void recordBytes(long read, long scanned) {
+        bytesRead.addAndGet(read);
+        bytesScanned.addAndGet(scanned);
+    }//end method
+
+    /**
+     * @return the counter of the compressed log files decompressed while they were scanned, counting their compressed bytes
+     */
+    public StageCounter getDecompressStage() {
+        return decompressStage;
+    }//end method
+
+    /**
+     * This method returns the counter of the log files read from a server of the shared network path, by a copy or by a direct scan.
+     *
+     * @param host the name of the server
+     * @return the counter of the server
+     */
+    public StageCounter getHostStage(String host) {
+        return hostStages.computeIfAbsent(host, StageCounter::new);
+    }//end method
+
+    /**
+     * @return the counter of the log files merged into the models of their log paths
+     */
+    public StageCounter getAggregateStage() {
+        return aggregateStage;
+    }//end method
+
+}//end class
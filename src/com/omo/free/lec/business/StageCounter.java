@@ -0,0 +1,84 @@
+package com.omo.free.lec.business;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class is used to count the work done by one stage of the log file pipeline (discovery, fetch, scan or aggregate) so that the stage holding the run back can be found.
+ *
+ * <p>The throughput is measured over the time the stage was active, from the start of its first piece of work to the end of its last, so a stage that waits on the stage before it
+ * shows a lower rate than its threads could reach.  The busy time is summed over all threads and may be larger than the active time.</p>
+ *
+ * @author Richard Salas
+ */
+public class StageCounter {
+
+    private String name;
+    private AtomicLong files = new AtomicLong();
+    private AtomicLong bytes = new AtomicLong();
+    private AtomicLong busyNanos = new AtomicLong();
+    private AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+    private AtomicLong lastEnd = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Constructor used to create an instance of the StageCounter.
+     *
+     * @param name the name of the stage
+     */
+    public StageCounter(String name) {
+        this.name = name;
+    }//end constructor
+
+    /**
+     * This method records a piece of work that has just finished.
+     *
+     * @param count the number of files handled
+     * @param size the number of bytes handled
+     * @param nanos the number of nanoseconds the work took
+     */
+    public void record(long count, long size, long nanos) {
+        long end = System.nanoTime();
+        files.addAndGet(count);
+        bytes.addAndGet(size);
+        busyNanos.addAndGet(nanos);
+        firstStart.accumulateAndGet(end - nanos, Math::min);
+        lastEnd.accumulateAndGet(end, Math::max);
+    }//end method
+
+    /**
+     * @return the number of files handled
+     */
+    public long getFiles() {
+        return files.get();
+    }//end method
+
+    /**
+     * @return the number of bytes handled
+     */
+    public long getBytes() {
+        return bytes.get();
+    }//end method
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        long activeNanos = Math.max(lastEnd.get() - firstStart.get(), 1L);
+        double activeSeconds = files.get() == 0 ? 0d : activeNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        StringBuilder sb = new StringBuilder();
+        sb.append(name).append(": ").append(files.get()).append(" files");
+        if(bytes.get() > 0){
+            sb.append(", ").append(bytes.get() / (1024L * 1024L)).append(" MB");
+        }//end if
+        if(activeSeconds > 0){
+            sb.append(String.format(" in %.1f s (%.1f files/s", activeSeconds, files.get() / activeSeconds));
+            if(bytes.get() > 0){
+                sb.append(String.format(", %.1f MB/s", bytes.get() / (1024d * 1024d) / activeSeconds));
+            }//end if
+            sb.append(String.format(", %.1f s busy)", busyNanos.get() / (double) TimeUnit.SECONDS.toNanos(1)));
+        }//end if
+        return sb.toString();
+    }//end method
+
+}//end class
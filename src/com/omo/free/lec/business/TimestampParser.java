@@ -0,0 +1,131 @@
+package com.omo.free.lec.business;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This class is used to read the time of day out of the WebSphere timestamp at the start of a log line, such as {@code [10/16/25 14:03:22:123 CDT]}, straight from the bytes of the
+ * log.
+ *
+ * <p>Nearly every line of a log is written on the same day, so the bytes of the last date read are kept.  When a line starts with the same date its bytes are only compared, and
+ * the hour and minute are read at fixed offsets after it.  Only a line with a new date has its date checked digit by digit.  No {@code SimpleDateFormat} or String is used.</p>
+ *
+ * <p>Instances are not thread safe; every scanner has its own.</p>
+ *
+ * @author Richard Salas
+ */
+class TimestampParser {
+
+    private static final int MAX_DATE_LENGTH = 8;//MM/dd/yy
+
+    private byte[] cachedDate = new byte[MAX_DATE_LENGTH];
+    private int cachedDateLength;
+
+    /**
+     * This method reads the minute of the day out of the timestamp at the start of a line.
+     *
+     * @param buffer the bytes being scanned
+     * @param lineStart the index of the first byte of the line
+     * @param lineEnd the index after the last byte of the line
+     * @return the minute of the day, from 0 to 1439, or -1 if the line does not start with a timestamp
+     */
+    int minuteOfDay(ByteBuffer buffer, int lineStart, int lineEnd) {
+        if(lineStart >= lineEnd || buffer.get(lineStart) != '['){
+            return -1;
+        }//end if
+        int dateStart = lineStart + 1;
+        int dateEnd = cachedDateLength > 0 && matchesCachedDate(buffer, dateStart, lineEnd) ? dateStart + cachedDateLength : readDate(buffer, dateStart, lineEnd);
+        if(dateEnd < 0 || dateEnd + 5 > lineEnd || buffer.get(dateEnd) != ' '){
+            return -1;
+        }//end if
+        int i = dateEnd + 1;
+        int hour = digit(buffer.get(i++));
+        if(hour < 0){
+            return -1;
+        }//end if
+        int next = digit(buffer.get(i));
+        if(next >= 0){
+            hour = hour * 10 + next;
+            i++;
+        }//end if
+        if(i + 3 > lineEnd || buffer.get(i) != ':'){
+            return -1;
+        }//end if
+        int tens = digit(buffer.get(i + 1));
+        int ones = digit(buffer.get(i + 2));
+        if(hour > 23 || tens < 0 || tens > 5 || ones < 0){
+            return -1;
+        }//end if
+        return hour * 60 + tens * 10 + ones;
+    }//end method
+
+    /**
+     * Checks whether the line starts with the date that was read last, followed by the space before the time.
+     *
+     * @param buffer the bytes being scanned
+     * @param dateStart the index of the first byte of the date
+     * @param lineEnd the index after the last byte of the line
+     * @return true if the date is the same
+     */
+    private boolean matchesCachedDate(ByteBuffer buffer, int dateStart, int lineEnd) {
+        if(dateStart + cachedDateLength >= lineEnd){
+            return false;
+        }//end if
+        for(int i = 0; i < cachedDateLength; i++){
+            if(buffer.get(dateStart + i) != cachedDate[i]){
+                return false;
+            }//end if
+        }//end for
+        return buffer.get(dateStart + cachedDateLength) == ' ';
+    }//end method
+
+    /**
+     * Checks a new date of the form {@code M/d/yy} and keeps its bytes when it is valid.
+     *
+     * @param buffer the bytes being scanned
+     * @param dateStart the index of the first byte of the date
+     * @param lineEnd the index after the last byte of the line
+     * @return the index after the last byte of the date or -1 if it is not a date
+     */
+    private int readDate(ByteBuffer buffer, int dateStart, int lineEnd) {
+        int i = dateStart;
+        int limit = Math.min(lineEnd, dateStart + MAX_DATE_LENGTH);
+        int month = 0;
+        int day = 0;
+        int field = 0;
+        int digits = 0;
+        for(; i < limit; i++){
+            byte b = buffer.get(i);
+            int d = digit(b);
+            if(d >= 0){
+                if(field == 0){
+                    month = month * 10 + d;
+                }else if(field == 1){
+                    day = day * 10 + d;
+                }//end if...else
+                digits++;
+            }else if(b == '/' && field < 2 && digits > 0 && digits <= 2){
+                field++;
+                digits = 0;
+            }else{
+                break;
+            }//end if...else
+        }//end for
+        if(field != 2 || digits != 2 || month < 1 || month > 12 || day < 1 || day > 31){
+            return -1;
+        }//end if
+        cachedDateLength = i - dateStart;
+        for(int j = 0; j < cachedDateLength; j++){
+            cachedDate[j] = buffer.get(dateStart + j);
+        }//end for
+        return i;
+    }//end method
+
+    /**
+     * @param b the byte
+     * @return the value of the digit or -1 if the byte is not a digit
+     */
+    private static int digit(byte b) {
+        return b >= '0' && b <= '9' ? b - '0' : -1;
+    }//end method
+
+}//end class
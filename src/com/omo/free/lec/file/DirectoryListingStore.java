@@ -0,0 +1,133 @@
+package com.omo.free.lec.file;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import com.omo.free.lec.model.DirectoryListing;
+
+/**
+ * This class is used to keep the {@link DirectoryListing}'s of the log directories between runs of the batch, so that a directory on the shared network path is only listed again
+ * when its last modified time has changed.
+ *
+ * <p>The listings are kept in memory while the batch runs and are read from and written to a single file in the listing directory.  The listing directory must not be the work
+ * directory as the work directory is deleted at the start of every run.  Listings that have not been used for more than {@link #RETENTION_DAYS} days are dropped when the store is
+ * saved.</p>
+ *
+ * @author Richard Salas
+ */
+public class DirectoryListingStore {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.lec.file.DirectoryListingStore";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+
+    /** The name of the file the listings are saved in. */
+    public static final String FILE_NAME = "directoryListings.ser";
+    /** The number of days an unused listing is kept. */
+    public static final int RETENTION_DAYS = 7;
+    /** The coarsest last modified time resolution of the shared network path in milliseconds. */
+    private static final long MODIFIED_TIME_RESOLUTION = 2000L;
+
+    private StoreFile storeFile;
+    private Map<String, DirectoryListing> listings = new ConcurrentHashMap<>();
+    private AtomicInteger reused = new AtomicInteger();
+    private AtomicInteger listed = new AtomicInteger();
+
+    /**
+     * Constructor used to create an instance of the DirectoryListingStore.
+     *
+     * @param listingDir the directory the listings are saved in
+     */
+    public DirectoryListingStore(Path listingDir) {
+        this.storeFile = new StoreFile(listingDir.resolve(FILE_NAME), "directory listings");
+    }//end constructor
+
+    /**
+     * This method reads the listings saved by an earlier run.  If the file cannot be read the store starts out empty so that every directory is listed.
+     */
+    public void load() {
+        myLogger.entering(MY_CLASS_NAME, "load");
+        listings.putAll(storeFile.<String, DirectoryListing> read("all directories will be listed"));
+        myLogger.exiting(MY_CLASS_NAME, "load");
+    }//end method
+
+    /**
+     * This method drops the listings that have not been used recently and writes the rest to the listing file.  The file is written under a temporary name first so that a failed
+     * write does not leave a partial file behind.
+     */
+    public void save() {
+        myLogger.entering(MY_CLASS_NAME, "save");
+        StoreFile.prune(listings, RETENTION_DAYS, DirectoryListing::getCheckedAt);
+        storeFile.write(new HashMap<>(listings), ".  Reused " + reused.get() + " listings and listed " + listed.get() + " directories.");
+        myLogger.exiting(MY_CLASS_NAME, "save");
+    }//end method
+
+    /**
+     * This method returns the files within a directory whose names match a glob.  The saved listing is used when the directory has not been modified since it was listed, otherwise
+     * the directory is listed and the listing is saved.
+     *
+     * @param directory the directory on the shared network path
+     * @param glob the glob the file names must match
+     * @return the files found, in the order they were listed
+     * @throws IOException if the directory cannot be listed
+     */
+    public List<Path> list(Path directory, String glob) throws IOException {
+        myLogger.entering(MY_CLASS_NAME, "list", new Object[]{directory, glob});
+        String key = directory.toString() + "|" + glob;
+        long lastModified = Files.getLastModifiedTime(directory).toMillis();
+        DirectoryListing listing = listings.get(key);
+        List<Path> files = new ArrayList<>();
+        if(listing != null && listing.getLastModified() == lastModified){
+            listing.touch();
+            reused.incrementAndGet();
+            Iterator<String> it = listing.getNames().iterator();
+            while(it.hasNext()){
+                files.add(directory.resolve(it.next()));
+            }//end while
+        }else{
+            long listedAt = System.currentTimeMillis();
+            files = listDirectory(directory, glob);
+            listed.incrementAndGet();
+            if(lastModified < listedAt - MODIFIED_TIME_RESOLUTION){//a file added right after the listing may not have changed the last modified time
+                List<String> names = new ArrayList<>(files.size());
+                for(int i = 0, j = files.size(); i < j; i++){
+                    names.add(files.get(i).getFileName().toString());
+                }//end for
+                listings.put(key, new DirectoryListing(directory.toString(), glob, lastModified, names));
+            }else{
+                listings.remove(key);
+            }//end if...else
+        }//end if...else
+        myLogger.exiting(MY_CLASS_NAME, "list", files.size());
+        return files;
+    }//end method
+
+    /**
+     * This method lists the files within a directory whose names match a glob.  Only the names are read; the attributes of the files are not fetched.
+     *
+     * @param directory the directory on the shared network path
+     * @param glob the glob the file names must match
+     * @return the files found, in the order they were listed
+     * @throws IOException if the directory cannot be listed
+     */
+    public static List<Path> listDirectory(Path directory, String glob) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try(DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)){
+            Iterator<Path> it = stream.iterator();
+            while(it.hasNext()){
+                files.add(it.next());
+            }//end while
+        }//end try
+        return files;
+    }//end method
+
+}//end class
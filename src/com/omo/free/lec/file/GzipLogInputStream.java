@@ -0,0 +1,277 @@
+package com.omo.free.lec.file;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * This class is used to read a gzip compressed log file as a stream of its decompressed bytes, without writing the decompressed log anywhere.
+ *
+ * <p>Unlike {@link java.util.zip.GZIPInputStream}, which creates and ends a new {@link Inflater} (and its native memory) for every file, the inflater is borrowed from a pool shared
+ * by all streams and given back when the stream is closed.  A file holding several gzip members one after the other, as written by appending to a compressed log, is read as one
+ * stream.  The CRC-32 and length in the trailer of each member are checked.</p>
+ *
+ * <p>Instances are not thread safe.</p>
+ *
+ * @author Richard Salas
+ */
+public class GzipLogInputStream extends InputStream {
+
+    /** The largest number of idle inflaters kept in the pool. */
+    public static final int MAX_POOLED_INFLATERS = 32;
+    private static final int INPUT_BUFFER_SIZE = 64 * 1024;
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+    private static final ConcurrentLinkedQueue<Inflater> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    private InputStream in;
+    private Inflater inflater;
+    private CRC32 crc = new CRC32();
+    private byte[] input = new byte[INPUT_BUFFER_SIZE];
+    private int inputLength;
+    private int remaining;
+    private long compressedBytes;
+    private boolean eof;
+
+    /**
+     * Constructor used to create an instance of the GzipLogInputStream.  The header of the first member is read right away.
+     *
+     * @param in the compressed bytes
+     * @throws IOException if the bytes cannot be read or are not in the gzip format
+     */
+    public GzipLogInputStream(InputStream in) throws IOException {
+        this.in = in;
+        this.inflater = borrow();
+        try{
+            readHeader();
+        }catch(IOException e){
+            close();
+            throw e;
+        }//end try...catch
+    }//end constructor
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+    }//end method
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if(len == 0){
+            return 0;
+        }//end if
+        while(!eof){
+            int n;
+            try{
+                n = inflater.inflate(b, off, len);
+            }catch(DataFormatException e){
+                throw new ZipException("Invalid gzip data:  " + e.getMessage());
+            }//end try...catch
+            if(n > 0){
+                crc.update(b, off, n);
+                return n;
+            }else if(inflater.finished()){
+                readTrailer();
+                if(!nextMember()){
+                    eof = true;
+                }//end if
+            }else if(inflater.needsDictionary()){
+                throw new ZipException("Invalid gzip data:  a preset dictionary is not supported");
+            }else if(inflater.needsInput()){
+                if(fill() < 0){
+                    throw new EOFException("Unexpected end of the gzip data, the file may still be being compressed");
+                }//end if
+                inflater.setInput(input, 0, inputLength);
+            }//end if...else
+        }//end while
+        return -1;
+    }//end method
+
+    /**
+     * @return the number of compressed bytes read so far
+     */
+    public long getCompressedBytes() {
+        return compressedBytes;
+    }//end method
+
+    /**
+     * This method gives the inflater back to the pool and closes the compressed bytes.
+     *
+     * @throws IOException if the compressed bytes cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if(inflater != null){
+            giveBack(inflater);
+            inflater = null;
+            eof = true;
+            in.close();
+        }//end if
+    }//end method
+
+    /**
+     * Reads the header of a member and resets the inflater and CRC-32 for its data.  The bytes after the header that have already been read are handed to the inflater.
+     *
+     * @throws IOException if the header cannot be read or is not a gzip header
+     */
+    private void readHeader() throws IOException {
+        if(readShort() != GZIP_MAGIC){
+            throw new ZipException("Not in the gzip format");
+        }//end if
+        if(readByte() != 8){
+            throw new ZipException("Unsupported gzip compression method");
+        }//end if
+        int flags = readByte();
+        skipBytes(6);//modification time, extra flags and operating system
+        if((flags & FEXTRA) != 0){
+            skipBytes(readShort());
+        }//end if
+        if((flags & FNAME) != 0){
+            while(readByte() != 0){
+                //skip the original file name
+            }//end while
+        }//end if
+        if((flags & FCOMMENT) != 0){
+            while(readByte() != 0){
+                //skip the comment
+            }//end while
+        }//end if
+        if((flags & FHCRC) != 0){
+            skipBytes(2);
+        }//end if
+        inflater.reset();
+        crc.reset();
+        inflater.setInput(input, inputLength - remaining, remaining);
+    }//end method
+
+    /**
+     * Reads the trailer of a member and checks it against the bytes that were decompressed.
+     *
+     * @throws IOException if the trailer cannot be read or does not match
+     */
+    private void readTrailer() throws IOException {
+        remaining = inflater.getRemaining();
+        long expectedCrc = readInt();
+        long expectedLength = readInt();
+        if(expectedCrc != crc.getValue() || expectedLength != (inflater.getBytesWritten() & 0xffffffffL)){
+            throw new ZipException("Corrupt gzip trailer");
+        }//end if
+    }//end method
+
+    /**
+     * Starts reading the next member when there are more bytes after the trailer.  Bytes after the last member that are not a gzip header, such as padding, are ignored the same
+     * way {@link java.util.zip.GZIPInputStream} ignores them.
+     *
+     * @return true if there is another member
+     * @throws IOException if the compressed bytes cannot be read
+     */
+    private boolean nextMember() throws IOException {
+        if(remaining == 0 && fill() < 0){
+            return false;
+        }//end if
+        try{
+            readHeader();
+        }catch(ZipException | EOFException e){
+            return false;
+        }//end try...catch
+        return true;
+    }//end method
+
+    /**
+     * Reads more compressed bytes into the input buffer, replacing the bytes already used.
+     *
+     * @return the number of bytes read or -1 at the end of the compressed bytes
+     * @throws IOException if the bytes cannot be read
+     */
+    private int fill() throws IOException {
+        int n = in.read(input, 0, input.length);
+        inputLength = Math.max(n, 0);
+        remaining = inputLength;
+        if(n > 0){
+            compressedBytes += n;
+        }//end if
+        return n;
+    }//end method
+
+    /**
+     * @return the next header or trailer byte
+     * @throws IOException if there are no more bytes
+     */
+    private int readByte() throws IOException {
+        if(remaining == 0 && fill() <= 0){
+            throw new EOFException("Unexpected end of the gzip data");
+        }//end if
+        return input[inputLength - remaining--] & 0xFF;
+    }//end method
+
+    /**
+     * @return the next two header bytes as a little endian number
+     * @throws IOException if there are no more bytes
+     */
+    private int readShort() throws IOException {
+        return readByte() | (readByte() << 8);
+    }//end method
+
+    /**
+     * @return the next four trailer bytes as a little endian number
+     * @throws IOException if there are no more bytes
+     */
+    private long readInt() throws IOException {
+        return (readShort() & 0xffffL) | ((long) readShort() << 16);
+    }//end method
+
+    /**
+     * @param count the number of header bytes to skip
+     * @throws IOException if there are no more bytes
+     */
+    private void skipBytes(int count) throws IOException {
+        for(int i = 0; i < count; i++){
+            readByte();
+        }//end for
+    }//end method
+
+    /**
+     * @return an inflater from the pool, or a new one when the pool is empty
+     */
+    private static Inflater borrow() {
+        Inflater inflater = POOL.poll();
+        if(inflater == null){
+            return new Inflater(true);
+        }//end if
+        POOLED.decrementAndGet();
+        return inflater;
+    }//end method
+
+    /**
+     * Gives an inflater back to the pool, or frees its native memory when the pool is full.
+     *
+     * @param inflater the inflater
+     */
+    private static void giveBack(Inflater inflater) {
+        if(POOLED.incrementAndGet() <= MAX_POOLED_INFLATERS){
+            inflater.reset();
+            POOL.offer(inflater);
+        }else{
+            POOLED.decrementAndGet();
+            inflater.end();
+        }//end if...else
+    }//end method
+
+}//end class
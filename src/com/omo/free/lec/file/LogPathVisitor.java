@@ -6,13 +6,27 @@ import java.nio.file.FileVisitor;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
 /**
  * This class handles filtering the logs requested by user.
  *
+ * <p>The logs of several dates can be gathered in a single walk of a directory.  Each log is bucketed by the first of the dates its name contains, and the active log (a log
+ * without an underscore in its name) is bucketed under the current date when it is one of them.</p>
+ *
+ * <p>Besides walking a directory, the visitor can be handed the files of a listing that was made with its {@link #getNameGlob() name glob}.</p>
+ *
+ * <p>Rotated logs that were compressed on the share ({@code .gz} or {@code .zip} added to the name of the log) are gathered the same way as plain logs.  When both the plain log
+ * and its compressed copy are found, which happens while the log is being compressed, only the plain log is kept.</p>
+ *
  * @author Richard Salas
  */
 public class LogPathVisitor implements FileVisitor<Path>{
@@ -20,11 +34,19 @@ public class LogPathVisitor implements FileVisitor<Path>{
     private static final String MY_CLASS_NAME = "com.omo.free.lec.file.LogPathVisitor";
     private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
 
+    /** The extension of a log compressed with gzip. */
+    public static final String GZIP_EXTENSION = ".gz";
+    /** The extension of a log compressed into a zip file. */
+    public static final String ZIP_EXTENSION = ".zip";
+
     // variables used by this file visitor
     private List<Path> logFiles = new ArrayList<>();
+    private Map<String, List<Path>> logFilesByDate = new LinkedHashMap<>();
     private List<String> logPrefixes;
-    private String date;
-    private boolean currentDay;
+    private List<String> dates;
+    private String currentDate;
+    private Set<String> plainNames = new HashSet<>();
+    private Map<String, Path> compressedLogs = new HashMap<>();
 
     /**
      * Contructor used to instantiate an instance of {@code LogPathVisitor}
@@ -34,9 +56,23 @@ public class LogPathVisitor implements FileVisitor<Path>{
      * @param currentDay is the current day
      */
     public LogPathVisitor(List<String> logPrefixes, String date, boolean currentDay){
+        this(logPrefixes, Collections.singletonList(date), currentDay ? date : null);
+    }//end constructor
+
+    /**
+     * Contructor used to instantiate an instance of {@code LogPathVisitor} that gathers the logs of several dates at once.
+     *
+     * @param logPrefixes the log prefixes to search for
+     * @param dates the dates of the logs to search for, as they appear within the log names
+     * @param currentDate the date within the dates that is the current day or null if none of them is
+     */
+    public LogPathVisitor(List<String> logPrefixes, List<String> dates, String currentDate){
         this.logPrefixes = logPrefixes;
-        this.date = date;
-        this.currentDay = currentDay;
+        this.dates = dates;
+        this.currentDate = currentDate;
+        for(int i = 0, j = dates.size(); i < j; i++){
+            logFilesByDate.put(dates.get(i), new ArrayList<>());
+        }//end for
     }//end constructor
 
     /**
@@ -63,29 +99,104 @@ public class LogPathVisitor implements FileVisitor<Path>{
      */
     @Override
     public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+        accept(file);
+        return FileVisitResult.CONTINUE;
+    }//end method
+
+    /**
+     * This method will add the file to the logging paths if it meets the criteria.  It is used for the files of a directory listing that was not walked with this visitor.
+     *
+     * @param file a reference path to the file
+     */
+    public void accept(Path file) {
         boolean prefix = containsPrefix(file);
-        if(prefix && passedDatedFilter(file)){
+        String date = prefix ? datedFilter(file) : null;
+        if(date != null){
+            String name = file.getFileName().toString();
+            String extension = compressedExtension(file);
+            if(extension != null){
+                String plainName = name.substring(0, name.length() - extension.length());
+                if(plainNames.contains(plainName)){
+                    myLogger.fine("SKIPPING COMPRESSED FILE, THE PLAIN LOG IS SCANNED INSTEAD:  " + String.valueOf(file));
+                    return;
+                }//end if
+                compressedLogs.put(plainName, file);
+            }else{
+                plainNames.add(name);
+                Path compressed = compressedLogs.remove(name);
+                if(compressed != null){
+                    myLogger.fine("SKIPPING COMPRESSED FILE, THE PLAIN LOG IS SCANNED INSTEAD:  " + String.valueOf(compressed));
+                    logFiles.remove(compressed);
+                    logFilesByDate.values().forEach(logs -> logs.remove(compressed));
+                }//end if
+            }//end if...else
             logFiles.add(file);
+            logFilesByDate.get(date).add(file);
         }else{
-            //TODO put this at a level that is higher than info once we get a good test
-            myLogger.info("SKIPPING FILE:  " + String.valueOf(file));
+            myLogger.fine("SKIPPING FILE:  " + String.valueOf(file));
         }//end if
-        return FileVisitResult.CONTINUE;
+    }//end method
+
+    /**
+     * This method builds the glob that the names of the files within a directory can be listed with, so that most of the files that would be skipped are not returned by the
+     * listing at all.  The names are still checked against the criteria when they are visited.
+     *
+     * <p>The glob matches the names that start with a log prefix and contain one of the dates, or any name that starts with a log prefix when one of the dates is the current day
+     * as the active logs have no date in their name.</p>
+     *
+     * @return the glob such as {@code {SystemOut*25.10.01*,SystemErr*25.10.01*}}
+     */
+    public String getNameGlob() {
+        StringBuilder glob = new StringBuilder("{");
+        Iterator<String> prefixIt = logPrefixes.iterator();
+        while(prefixIt.hasNext()){
+            String prefix = escapeGlob(prefixIt.next());
+            if(currentDate != null){
+                glob.append(prefix).append("*,");
+            }else{
+                for(int i = 0, j = dates.size(); i < j; i++){
+                    glob.append(prefix).append('*').append(escapeGlob(dates.get(i))).append("*,");
+                }//end for
+            }//end if...else
+        }//end while
+        if(glob.length() > 1){
+            glob.setLength(glob.length() - 1);
+        }//end if
+        return glob.append('}').toString();
+    }//end method
+
+    /**
+     * @param text the text to match literally
+     * @return the text with the characters that have a meaning within a glob escaped
+     */
+    private static String escapeGlob(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for(int i = 0, j = text.length(); i < j; i++){
+            char c = text.charAt(i);
+            if("\\*?[]{},".indexOf(c) >= 0){
+                escaped.append('\\');
+            }//end if
+            escaped.append(c);
+        }//end for
+        return escaped.toString();
     }//end method
 
     /**
      * This method is used to filter the log name by date
      * @param file the path to the file
-     * @return true or false on whether or not it passes the test.
+     * @return the date the log belongs to or null if it does not pass the test.
      */
-    private boolean passedDatedFilter(Path file) {
-        boolean pass = false;
-        if(file.getFileName().toString().contains(date)){
-            pass = true;
-        }else if(currentDay && isProperLogName(file)){
-            pass = true;
+    private String datedFilter(Path file) {
+        String name = file.getFileName().toString();
+        for(int i = 0, j = dates.size(); i < j; i++){
+            if(name.contains(dates.get(i))){
+                return dates.get(i);
+            }//end if
+        }//end for
+        if(currentDate != null && isProperLogName(file)){
+            return currentDate;
         }//end if
-        return pass;
+        return null;
     }//end method
 
     /**
@@ -99,7 +210,7 @@ public class LogPathVisitor implements FileVisitor<Path>{
         while(prefixIt.hasNext()){
             String prefix = prefixIt.next();
             //could use the file last modified but no need to
-            if(file.getFileName().toString().startsWith(prefix) && !file.getFileName().toString().contains("_")){//if log file does not contain an underscore then the file should be an active log
+            if(file.getFileName().toString().startsWith(prefix) && !file.getFileName().toString().contains("_") && compressedExtension(file) == null){//if log file does not contain an underscore then the file should be an active log
                 proper = true;
                 break;
             }//end if
@@ -119,7 +230,7 @@ public class LogPathVisitor implements FileVisitor<Path>{
             //\\sdwmsfsp4136.state.mo.us\DOCApps\Prod\Private\Logs\WebSphere\DOCProdMOCISPrivV8Node4540\App_Logs\doc\apps\mocis\logs\Error.MOCIS-P4540.log.2017-11-01_1.log
             String prefix = prefixIt.next();
             if(file.getFileName().toString().startsWith(prefix)){
-                myLogger.info("FOUND PREFIX:  " + String.valueOf(file));
+                myLogger.fine("FOUND PREFIX:  " + String.valueOf(file));
                 containsPrefix = true;
                 break;
             }//end if
@@ -145,6 +256,22 @@ public class LogPathVisitor implements FileVisitor<Path>{
         return FileVisitResult.CONTINUE;
     }//end method
 
+    /**
+     * This method returns the extension of a compressed log.
+     *
+     * @param file the path to the file
+     * @return {@link #GZIP_EXTENSION}, {@link #ZIP_EXTENSION} or null if the log is not compressed
+     */
+    public static String compressedExtension(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        if(name.endsWith(GZIP_EXTENSION)){
+            return GZIP_EXTENSION;
+        }else if(name.endsWith(ZIP_EXTENSION)){
+            return ZIP_EXTENSION;
+        }//end if...else
+        return null;
+    }//end method
+
     /**
      * This method returns the logging paths
      * @return logFiles the logging paths
@@ -153,4 +280,12 @@ public class LogPathVisitor implements FileVisitor<Path>{
         return logFiles;
     }//end method
 
+    /**
+     * This method returns the logging paths of each date, in the order of the dates.
+     * @return logFilesByDate the logging paths keyed by date
+     */
+    public Map<String, List<Path>> getLoggingPathsByDate() {
+        return logFilesByDate;
+    }//end method
+
 }//end class
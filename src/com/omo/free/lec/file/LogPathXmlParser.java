@@ -1,20 +1,38 @@
 package com.omo.free.lec.file;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.CRC32;
 
-import org.jdom2.Document;
-import org.jdom2.Element;
-import org.jdom2.JDOMException;
-import org.jdom2.input.SAXBuilder;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
+import com.omo.free.lec.model.FilterRule;
 import com.omo.free.lec.model.LogPath;
+import com.omo.free.lec.model.LogPathIndex;
+import com.omo.free.lec.util.AppConstants;
 
 import gov.doc.isu.gtv.managers.PropertiesMgr;
 import gov.doc.isu.gtv.util.FileUtil;
@@ -22,8 +40,12 @@ import gov.doc.isu.gtv.util.FileUtil;
 /**
  * This class is used to parse the LogPaths.xml file located internally to this application and externally during runtime.
  *
- * <p>Internal path:  /com/omo/free/lep/resource/LogPaths.xml<br>
+ * <p>Internal path:  /com/omo/free/lec/resource/LogPaths.xml<br>
  * External path:  ./LoggedExceptionsCounterBatch/resources/LogPaths.xml
+ *
+ * <p>The external xml is only copied out of the jar when it is missing or older than the xml within the jar, so that it may be modified at will.  The log paths of every
+ * environment are kept in a {@link LogPathIndex} saved next to the external xml, which is built again only when the checksum of the xml changes.  The xml is read with a
+ * streaming parser; when the index is turned off only the log paths of the environment asked for are built.</p>
  * @author rts000is
  *
  */
@@ -32,6 +54,13 @@ public class LogPathXmlParser {
 
     private static final String MY_CLASS_NAME = "com.omo.free.lec.file.LogPathXmlParser";
     private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+    private static final String XML_FILE_NAME = "LogPaths.xml";
+    private static final String INTERNAL_XML = "/com/omo/free/lec/resource/" + XML_FILE_NAME;
+    /** The name of the file the log path index is saved in, next to the external xml. */
+    public static final String INDEX_FILE_NAME = "LogPaths.ser";
+    private static final String DEFAULT_SKETCH_TOP_K = "100";
+    private static final String DEFAULT_SKETCH_EPSILON = "0.0001";
+    private static final String DEFAULT_SKETCH_CONFIDENCE = "0.999";
 
     //TODO fix this method to be more correct. exception handling needs to be beefed up.
     /**
@@ -42,27 +71,18 @@ public class LogPathXmlParser {
      */
     public static List<LogPath> parseLogPathXml(String environment){
         myLogger.entering(MY_CLASS_NAME, "parseLogPathXml", environment);
-        //TODO add logic for checking version number here, this will allow user the permissions to modify the xml file at will
         List<LogPath> logPaths = new ArrayList<>();
-        Path xmlPath = Paths.get(PropertiesMgr.getProperties().getProperty("logPathXml"), "LogPaths.xml");
-        xmlPath.toFile().delete();
-        FileUtil.copyInternalFileToExternalDestination(LogPathXmlParser.class, PropertiesMgr.getProperties().getProperty("logPathXml"), "LogPaths.xml");
-
-        SAXBuilder sax = new SAXBuilder();
-        Document doc = null;
+        String xmlDir = PropertiesMgr.getProperties().getProperty("logPathXml");
+        Path xmlPath = Paths.get(xmlDir, XML_FILE_NAME);
+        copyXml(xmlDir, xmlPath);
         try{
-            doc = sax.build(xmlPath.toFile());
-            Element rootElement = doc.getRootElement();
-            List<Element> logPathElements = rootElement.getChildren("logpath");
-            Iterator<Element> it = logPathElements.iterator();
-            while(it.hasNext()){
-                Element logPath = it.next();
-                if(environment.equals(logPath.getChild("environment").getText())){
-                    logPaths.add(buildLogPath(logPath));
-                }//end if
-            }//end while
-        }catch(JDOMException e){
-            myLogger.log(Level.SEVERE, "JDOMException was caught while trying to load xml document. Error is: " + e.getMessage(), e);
+            if(AppConstants.LOG_PATH_INDEX){
+                logPaths = loadIndex(xmlPath).get(environment);
+            }else{
+                logPaths = readLogPaths(xmlPath, environment);
+            }//end if...else
+        }catch(XMLStreamException e){
+            myLogger.log(Level.SEVERE, "XMLStreamException was caught while trying to load xml document. Error is: " + e.getMessage(), e);
         }catch(IOException e){
             myLogger.log(Level.SEVERE, "IOException was caught while trying to load xml document. Error is: " + e.getMessage(), e);
         }// end try...catch
@@ -71,30 +91,285 @@ public class LogPathXmlParser {
     }//end method
 
     /**
-     * Helper method used to build a {@link LogPath}.
-     * @param logPath the xml element containing the LogPath data
-     * @return log the {@link LogPath} instance created using the metadata within the LogPaths.xml file
+     * Helper method used to copy the xml out of the jar when the external xml is missing or was last modified before the xml within the jar.  An external xml that is newer than
+     * the jar has been modified on purpose and is kept.
+     * @param xmlDir the directory of the external xml
+     * @param xmlPath the external xml
+     */
+    private static void copyXml(String xmlDir, Path xmlPath) {
+        myLogger.entering(MY_CLASS_NAME, "copyXml", new Object[]{xmlDir, xmlPath});
+        long internalModified = 0L;
+        URL internal = LogPathXmlParser.class.getResource(INTERNAL_XML);
+        if(internal != null){
+            try{
+                URLConnection connection = internal.openConnection();
+                connection.setUseCaches(false);
+                try{
+                    internalModified = connection.getLastModified();
+                }finally{
+                    connection.getInputStream().close();//releases the jar file opened without caching
+                }//end try...finally
+            }catch(IOException e){
+                myLogger.warning("Unable to read the last modified time of the internal " + XML_FILE_NAME + ", it is only copied when missing.  Error is: " + e.getMessage());
+            }//end try...catch
+        }//end if
+        boolean copy = true;
+        try{
+            copy = !Files.exists(xmlPath) || Files.getLastModifiedTime(xmlPath).toMillis() < internalModified;
+        }catch(IOException e){
+            myLogger.warning("Unable to read the last modified time of " + String.valueOf(xmlPath) + ", it will be copied again.  Error is: " + e.getMessage());
+        }//end try...catch
+        if(copy){
+            xmlPath.toFile().delete();
+            FileUtil.copyInternalFileToExternalDestination(LogPathXmlParser.class, xmlDir, XML_FILE_NAME);
+            myLogger.info("Copied the internal " + XML_FILE_NAME + " to " + String.valueOf(xmlPath));
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "copyXml", copy);
+    }//end method
+
+    /**
+     * Helper method used to read the {@link LogPathIndex} saved by an earlier run.  When there is no index, it cannot be read or the checksum of the xml has changed, the index is
+     * built from the xml and saved again.  The index is written under a temporary name first so that a failed write does not leave a partial file behind.
+     * @param xmlPath the external xml
+     * @return the index of the log paths within the xml
+     * @throws IOException if the xml cannot be read
+     * @throws XMLStreamException if the xml is not well formed
+     */
+    private static LogPathIndex loadIndex(Path xmlPath) throws IOException, XMLStreamException {
+        myLogger.entering(MY_CLASS_NAME, "loadIndex", xmlPath);
+        Path indexPath = xmlPath.resolveSibling(INDEX_FILE_NAME);
+        long checksum = checksum(xmlPath);
+        LogPathIndex index = null;
+        if(Files.exists(indexPath)){
+            try(InputStream in = new BufferedInputStream(Files.newInputStream(indexPath)); ObjectInputStream ois = new ObjectInputStream(in)){
+                index = (LogPathIndex) ois.readObject();
+            }catch(IOException | ClassNotFoundException | ClassCastException e){
+                myLogger.log(Level.WARNING, "Unable to read the log path index from " + String.valueOf(indexPath) + ", it will be built again.  Error is: " + e.getMessage(), e);
+            }//end try...catch
+        }//end if
+        if(index == null || index.getChecksum() != checksum){
+            index = new LogPathIndex(checksum);
+            Iterator<LogPath> it = readLogPaths(xmlPath, null).iterator();
+            while(it.hasNext()){
+                index.add(it.next());
+            }//end while
+            Path tempFile = indexPath.resolveSibling(INDEX_FILE_NAME + ".tmp");
+            try{
+                try(OutputStream out = Files.newOutputStream(tempFile); ObjectOutputStream oos = new ObjectOutputStream(out)){
+                    oos.writeObject(index);
+                }//end try
+                Files.move(tempFile, indexPath, StandardCopyOption.REPLACE_EXISTING);
+                myLogger.info("Saved the log paths of " + index.size() + " environments to " + String.valueOf(indexPath));
+            }catch(IOException e){
+                myLogger.log(Level.WARNING, "Unable to save the log path index to " + String.valueOf(indexPath) + ".  Error is: " + e.getMessage(), e);
+            }//end try...catch
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "loadIndex", index);
+        return index;
+    }//end method
+
+    /**
+     * Helper method used to compute the CRC-32 checksum of the xml.
+     * @param xmlPath the external xml
+     * @return the checksum
+     * @throws IOException if the xml cannot be read
+     */
+    private static long checksum(Path xmlPath) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(xmlPath));
+        return crc.getValue();
+    }//end method
+
+    /**
+     * Helper method used to read the {@link LogPath}'s out of the xml with a streaming parser, without building a document of the whole xml.  A logpath element of another
+     * environment is skipped as soon as its environment element has been read.
+     * @param xmlPath the external xml
+     * @param environment the environment of the log paths to read or null to read the log paths of every environment
+     * @return the log paths, in the order they are listed
+     * @throws IOException if the xml cannot be read
+     * @throws XMLStreamException if the xml is not well formed
+     */
+    private static List<LogPath> readLogPaths(Path xmlPath, String environment) throws IOException, XMLStreamException {
+        myLogger.entering(MY_CLASS_NAME, "readLogPaths", new Object[]{xmlPath, environment});
+        List<LogPath> logPaths = new ArrayList<>();
+        List<FilterRule> globalRules = new ArrayList<>();
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try(InputStream in = new BufferedInputStream(Files.newInputStream(xmlPath))){
+            XMLStreamReader reader = factory.createXMLStreamReader(in);
+            try{
+                reader.nextTag();//the logpaths element
+                while(reader.nextTag() == XMLStreamConstants.START_ELEMENT){
+                    if("logpath".equals(reader.getLocalName())){
+                        LogPath log = readLogPath(reader, environment);
+                        if(log != null){
+                            logPaths.add(log);
+                        }//end if
+                    }else if("rules".equals(reader.getLocalName())){
+                        globalRules.addAll(readRules(reader));
+                    }else{
+                        skipElement(reader);
+                    }//end if...else
+                }//end while
+            }finally{
+                reader.close();
+            }//end try...finally
+        }//end try
+
+        //THE GLOBAL RULES COME BEFORE THE RULES OF EACH LOGPATH
+        for(int i = 0, j = logPaths.size(); i < j; i++){
+            logPaths.get(i).getRules().addAll(0, globalRules);
+        }//end for
+        myLogger.exiting(MY_CLASS_NAME, "readLogPaths", logPaths);
+        return logPaths;
+    }//end method
+
+    /**
+     * Helper method used to build a logpath element into an instance of {@link LogPath}.
+     * @param reader the reader positioned at the start of the logpath element, which is left at the end of it
+     * @param environment the environment of the log paths to read or null to read every log path
+     * @return log the {@link LogPath} instance created using the metadata within the LogPaths.xml file or null if it belongs to another environment
+     * @throws XMLStreamException if the xml is not well formed
      */
-    private static LogPath buildLogPath(Element logPath) {
-        myLogger.entering(MY_CLASS_NAME, "buildLogPath", logPath);
+    private static LogPath readLogPath(XMLStreamReader reader, String environment) throws XMLStreamException {
         LogPath log = new LogPath();
-        log.setName(logPath.getChild("name").getText());
-        log.setEnvironment(logPath.getChild("environment").getText());
-        log.setType(logPath.getChild("type").getText());
-        log.setAccess(logPath.getChild("access").getText());
-
-        Iterator<Element> paths = logPath.getChild("paths").getChildren().iterator();
-        while(paths.hasNext()){
-            log.addPath(paths.next().getText());
+        Set<String> read = new HashSet<>();
+        while(reader.nextTag() == XMLStreamConstants.START_ELEMENT){
+            if(!read.add(reader.getLocalName())){//only the first element of each name is used
+                skipElement(reader);
+                continue;
+            }//end if
+            switch(reader.getLocalName()){
+                case "name":
+                    log.setName(reader.getElementText());
+                    break;
+                case "environment":
+                    log.setEnvironment(reader.getElementText());
+                    if(environment != null && !environment.equals(log.getEnvironment())){
+                        while(reader.nextTag() == XMLStreamConstants.START_ELEMENT){
+                            skipElement(reader);
+                        }//end while
+                        return null;
+                    }//end if
+                    break;
+                case "type":
+                    log.setType(reader.getElementText());
+                    break;
+                case "access":
+                    log.setAccess(reader.getElementText());
+                    break;
+                case "paths":
+                    while(reader.nextTag() == XMLStreamConstants.START_ELEMENT){
+                        log.addPath(reader.getElementText());
+                    }//end while
+                    break;
+                case "prefixes":
+                    while(reader.nextTag() == XMLStreamConstants.START_ELEMENT){
+                        log.addPrefix(reader.getElementText());
+                    }//end while
+                    break;
+                case "rules":
+                    Iterator<FilterRule> rules = readRules(reader).iterator();
+                    while(rules.hasNext()){
+                        log.addRule(rules.next());
+                    }//end while
+                    break;
+                case "sketch":
+                    buildSketch(log, reader.getAttributeValue(null, "topK"), reader.getAttributeValue(null, "epsilon"), reader.getAttributeValue(null, "confidence"));
+                    skipElement(reader);
+                    break;
+                case "charset":
+                    buildCharset(log, reader.getElementText().trim());
+                    break;
+                default:
+                    skipElement(reader);
+                    break;
+            }//end switch
         }//end while
+        return log;
+    }//end method
 
-        Iterator<Element> prefixes = logPath.getChild("prefixes").getChildren().iterator();
-        while(prefixes.hasNext()){
-            log.addPrefix(prefixes.next().getText());
+    /**
+     * Helper method used to read the settings of the approximate counting sketch of a {@link LogPath}.  A sketch with settings that are not valid is ignored so that the logpath is
+     * counted exactly.
+     * @param log the log path to set the sketch settings on
+     * @param topKValue the topK attribute or null to use the default
+     * @param epsilonValue the epsilon attribute or null to use the default
+     * @param confidenceValue the confidence attribute or null to use the default
+     */
+    private static void buildSketch(LogPath log, String topKValue, String epsilonValue, String confidenceValue) {
+        myLogger.entering(MY_CLASS_NAME, "buildSketch", new Object[]{log, topKValue, epsilonValue, confidenceValue});
+        try{
+            int topK = Integer.parseInt((topKValue == null ? DEFAULT_SKETCH_TOP_K : topKValue).trim());
+            double epsilon = Double.parseDouble((epsilonValue == null ? DEFAULT_SKETCH_EPSILON : epsilonValue).trim());
+            double confidence = Double.parseDouble((confidenceValue == null ? DEFAULT_SKETCH_CONFIDENCE : confidenceValue).trim());
+            if(topK > 0 && epsilon > 0d && epsilon < 1d && confidence > 0d && confidence < 1d){
+                log.setSketchTopK(topK);
+                log.setSketchEpsilon(epsilon);
+                log.setSketchConfidence(confidence);
+            }else{
+                myLogger.warning("Ignoring the sketch of " + log.getName() + ", topK must be positive and epsilon and confidence must be between 0 and 1.");
+            }//end if...else
+        }catch(NumberFormatException e){
+            myLogger.warning("Ignoring the sketch of " + log.getName() + ", its settings are not numbers.  Error is: " + e.getMessage());
+        }//end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "buildSketch");
+    }//end method
+
+    /**
+     * Helper method used to read the character set the logs of a {@link LogPath} are written in.  A name that is not a supported character set is ignored so that the logs are
+     * read as UTF-8.
+     * @param log the log path to set the character set on
+     * @param name the name of the character set
+     */
+    private static void buildCharset(LogPath log, String name) {
+        myLogger.entering(MY_CLASS_NAME, "buildCharset", new Object[]{log, name});
+        try{
+            log.setCharset(Charset.forName(name));
+        }catch(IllegalCharsetNameException | UnsupportedCharsetException e){
+            myLogger.warning("Ignoring the charset " + name + " of " + log.getName() + ", it is not a supported character set.  Logs are read as " + log.getCharset().name() + ".");
+        }//end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "buildCharset");
+    }//end method
+
+    /**
+     * Helper method used to build the {@link FilterRule}'s within a rules element.
+     * @param reader the reader positioned at the start of the rules element, which is left at the end of it
+     * @return the filter rules in the order they are listed
+     * @throws XMLStreamException if the xml is not well formed
+     */
+    private static List<FilterRule> readRules(XMLStreamReader reader) throws XMLStreamException {
+        myLogger.entering(MY_CLASS_NAME, "readRules");
+        List<FilterRule> filterRules = new ArrayList<>();
+        while(reader.nextTag() == XMLStreamConstants.START_ELEMENT){
+            String name = reader.getLocalName();
+            if("exclude".equals(name) || "include".equals(name)){
+                filterRules.add(new FilterRule(reader.getElementText(), "exclude".equals(name)));
+            }else{
+                myLogger.warning("Ignoring unknown filter rule element " + name);
+                skipElement(reader);
+            }//end if...else
         }//end while
+        myLogger.exiting(MY_CLASS_NAME, "readRules", filterRules);
+        return filterRules;
+    }//end method
 
-        myLogger.exiting(MY_CLASS_NAME, "buildLogPath", log);
-        return log;
+    /**
+     * Helper method used to skip an element and everything within it.
+     * @param reader the reader positioned at the start of the element, which is left at the end of it
+     * @throws XMLStreamException if the xml is not well formed
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while(depth > 0){
+            int event = reader.next();
+            if(event == XMLStreamConstants.START_ELEMENT){
+                depth++;
+            }else if(event == XMLStreamConstants.END_ELEMENT){
+                depth--;
+            }//end if...else
+        }//end while
     }//end method
 
 }//end method
@@ -0,0 +1,162 @@
+package com.omo.free.lec.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import com.omo.free.lec.model.ExceptionModel;
+import com.omo.free.lec.model.ScanCheckpoint;
+
+/**
+ * This class is used to keep the {@link ScanCheckpoint}'s of the log files scanned on the current day between runs of the batch.
+ *
+ * <p>The checkpoints are kept in memory while the batch runs and are read from and written to a single file in the checkpoint directory.  The checkpoint directory must not be the
+ * work directory as the work directory is deleted at the start of every run.  Checkpoints that have not been used for more than {@link #RETENTION_DAYS} days are dropped when the
+ * store is saved.</p>
+ *
+ * @author Richard Salas
+ */
+public class ScanCheckpointStore {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.lec.file.ScanCheckpointStore";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+
+    /** The name of the file the checkpoints are saved in. */
+    public static final String FILE_NAME = "scanCheckpoints.ser";
+    /** The largest number of bytes at the start of a log file that are hashed to identify it. */
+    public static final int FIRST_BLOCK_SIZE = 4096;
+    /** The number of days an unused checkpoint is kept. */
+    public static final int RETENTION_DAYS = 2;
+
+    private StoreFile storeFile;
+    private Map<String, ScanCheckpoint> checkpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor used to create an instance of the ScanCheckpointStore.
+     *
+     * @param checkpointDir the directory the checkpoints are saved in
+     */
+    public ScanCheckpointStore(Path checkpointDir) {
+        this.storeFile = new StoreFile(checkpointDir.resolve(FILE_NAME), "scan checkpoints");
+    }//end constructor
+
+    /**
+     * This method reads the checkpoints saved by an earlier run.  If the file cannot be read the store starts out empty so that every log is scanned from the start.
+     */
+    public void load() {
+        myLogger.entering(MY_CLASS_NAME, "load");
+        checkpoints.putAll(storeFile.<String, ScanCheckpoint> read("all logs will be scanned from the start"));
+        myLogger.exiting(MY_CLASS_NAME, "load");
+    }//end method
+
+    /**
+     * This method drops the checkpoints that have not been used recently and writes the rest to the checkpoint file.  The file is written under a temporary name first so that a
+     * failed write does not leave a partial file behind.
+     */
+    public void save() {
+        myLogger.entering(MY_CLASS_NAME, "save");
+        StoreFile.prune(checkpoints, RETENTION_DAYS, ScanCheckpoint::getCheckedAt);
+        storeFile.write(new HashMap<>(checkpoints), "");
+        myLogger.exiting(MY_CLASS_NAME, "save");
+    }//end method
+
+    /**
+     * This method returns the checkpoint of a log file as long as the opened log is still the same file that was scanned.  The log is considered a different file when it is smaller
+     * than the checkpoint offset (truncated), older than the checkpoint (replaced) or when its first block no longer hashes to the same value (rotated).  A checkpoint saved with other
+     * scan settings is thrown away as well, since the exceptions counted up to it would not be counted the same way.
+     *
+     * @param sourcePath the log file on the shared network path
+     * @param channel the opened log file, which may be a local copy of it
+     * @param lastModified the last modified time of the log in milliseconds
+     * @param settingsHash the hash of the settings the log is scanned with
+     * @return the checkpoint or null if there is none or the log is not the same file anymore
+     * @throws IOException if the log cannot be read
+     */
+    public ScanCheckpoint find(String sourcePath, FileChannel channel, long lastModified, long settingsHash) throws IOException {
+        myLogger.entering(MY_CLASS_NAME, "find", new Object[]{sourcePath, channel, lastModified, settingsHash});
+        ScanCheckpoint checkpoint = checkpoints.get(sourcePath);
+        if(checkpoint != null){
+            String reason = null;
+            if(checkpoint.getSettingsHash() != settingsHash){
+                reason = "was scanned with other settings";
+            }else if(channel.size() < checkpoint.getOffset()){
+                reason = "was truncated since it was last scanned";
+            }else if(lastModified < checkpoint.getLastModified()){
+                reason = "was replaced since it was last scanned";
+            }else if(hashFirstBlock(channel, checkpoint.getFirstBlockLength()) != checkpoint.getFirstBlockHash()){
+                reason = "was rotated since it was last scanned";
+            }//end if...else
+            if(reason != null){
+                myLogger.info("Log file " + sourcePath + " " + reason + ", scanning it from the start.");
+                checkpoints.remove(sourcePath);
+                checkpoint = null;
+            }else{
+                checkpoint.touch();
+            }//end if...else
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "find", checkpoint);
+        return checkpoint;
+    }//end method
+
+    /**
+     * This method returns the checkpoint of a log file when the size and last modified time of the log show that nothing has been written to it since it was scanned.
+     *
+     * @param sourcePath the log file on the shared network path
+     * @param size the current size of the log
+     * @param lastModified the current last modified time of the log in milliseconds
+     * @param settingsHash the hash of the settings the log is scanned with
+     * @return the checkpoint or null if there is none, the log has changed or the log was scanned with other settings
+     */
+    public ScanCheckpoint findUnchanged(String sourcePath, long size, long lastModified, long settingsHash) {
+        ScanCheckpoint checkpoint = checkpoints.get(sourcePath);
+        if(checkpoint != null && checkpoint.getSettingsHash() == settingsHash && checkpoint.getSize() == size && checkpoint.getLastModified() == lastModified && checkpoint.getOffset() == size){
+            checkpoint.touch();
+            return checkpoint;
+        }//end if
+        return null;
+    }//end method
+
+    /**
+     * This method records how far a log file has been scanned.
+     *
+     * @param sourcePath the log file on the shared network path
+     * @param channel the opened log file, which may be a local copy of it
+     * @param lastModified the last modified time of the log in milliseconds
+     * @param offset the position after the last complete line that was scanned
+     * @param settingsHash the hash of the settings the log was scanned with
+     * @param eModel the model holding the exceptions and stack traces counted from the start of the log up to the offset
+     * @throws IOException if the log cannot be read
+     */
+    public void put(String sourcePath, FileChannel channel, long lastModified, long offset, long settingsHash, ExceptionModel eModel) throws IOException {
+        int firstBlockLength = (int) Math.min(FIRST_BLOCK_SIZE, offset);
+        checkpoints.put(sourcePath, new ScanCheckpoint(sourcePath, channel.size(), lastModified, firstBlockLength, hashFirstBlock(channel, firstBlockLength), offset, settingsHash, eModel));
+    }//end method
+
+    /**
+     * This method hashes the first bytes of a log file.
+     *
+     * @param channel the opened log file
+     * @param length the number of bytes to hash
+     * @return the CRC-32 of the bytes
+     * @throws IOException if the log cannot be read
+     */
+    private static long hashFirstBlock(FileChannel channel, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while(buffer.hasRemaining()){
+            if(channel.read(buffer, buffer.position()) < 0){
+                break;
+            }//end if
+        }//end while
+        buffer.flip();
+        CRC32 crc = new CRC32();
+        crc.update(buffer);
+        return crc.getValue();
+    }//end method
+
+}//end class
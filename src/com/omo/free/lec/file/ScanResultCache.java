@@ -0,0 +1,172 @@
+package com.omo.free.lec.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import com.omo.free.lec.model.CachedScanResult;
+import com.omo.free.lec.model.ExceptionModel;
+
+/**
+ * This class is used to keep the exceptions counted in log files that were scanned from start to end, so that a log that has not changed since, such as a rotated log, is never
+ * copied or scanned twice.
+ *
+ * <p>Results are keyed by the source path, size and last modified time of the log.  When sampling is turned on the hash of a few blocks of the log (the start, the middle and the
+ * end) is also kept and checked on a hit, which catches a log that was rewritten with the same size and time stamp.  The cache holds at most the maximum number of entries and
+ * drops the least recently used entry when it is full.  It is read from and written to a single file in the cache directory.</p>
+ *
+ * @author Richard Salas
+ */
+public class ScanResultCache {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.lec.file.ScanResultCache";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+
+    /** The name of the file the results are saved in. */
+    public static final String FILE_NAME = "scanResults.ser";
+    /** The number of bytes hashed at each sampled position of a log file. */
+    public static final int SAMPLE_SIZE = 4096;
+
+    private StoreFile cacheFile;
+    private boolean sampled;
+    private LinkedHashMap<String, CachedScanResult> results;
+    private int hits;
+    private int misses;
+
+    /**
+     * Constructor used to create an instance of the ScanResultCache.
+     *
+     * @param cacheDir the directory the results are saved in
+     * @param maxEntries the largest number of results kept
+     * @param sampled true to hash sampled blocks of each log and check them on a hit
+     */
+    public ScanResultCache(Path cacheDir, final int maxEntries, boolean sampled) {
+        this.cacheFile = new StoreFile(cacheDir.resolve(FILE_NAME), "cached scan results");
+        this.sampled = sampled;
+        this.results = new LinkedHashMap<String, CachedScanResult>(16, 0.75f, true){
+            private static final long serialVersionUID = 4128036187245870453L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedScanResult> eldest) {
+                return size() > maxEntries;
+            }//end method
+        };
+    }//end constructor
+
+    /**
+     * This method reads the results saved by an earlier run.  If the file cannot be read the cache starts out empty.
+     */
+    public synchronized void load() {
+        myLogger.entering(MY_CLASS_NAME, "load");
+        results.putAll(cacheFile.<String, CachedScanResult> read("all logs will be scanned"));//read in least recently used order so the order is kept
+        myLogger.exiting(MY_CLASS_NAME, "load");
+    }//end method
+
+    /**
+     * This method writes the results to the cache file.  The file is written under a temporary name first so that a failed write does not leave a partial file behind.
+     */
+    public synchronized void save() {
+        myLogger.entering(MY_CLASS_NAME, "save");
+        cacheFile.write(new LinkedHashMap<>(results), ".  " + hits + " hits and " + misses + " misses this run.");
+        myLogger.exiting(MY_CLASS_NAME, "save");
+    }//end method
+
+    /**
+     * This method returns the cached result of a log file.  When sampling is turned on the log is opened to check the sampled blocks, which is much less than scanning it.
+     *
+     * @param sourcePath the log file on the shared network path
+     * @param size the current size of the log
+     * @param lastModified the current last modified time of the log in milliseconds
+     * @param settingsHash the hash of the settings the log is scanned with
+     * @return the cached result or null if the log has not been scanned with these settings while it had this size and time stamp
+     * @throws IOException if the sampled blocks of the log cannot be read
+     */
+    public CachedScanResult get(Path sourcePath, long size, long lastModified, long settingsHash) throws IOException {
+        CachedScanResult result = null;
+        synchronized(this){
+            result = results.get(key(sourcePath.toString(), size, lastModified));
+        }//end synchronized
+        if(result != null && result.getSettingsHash() != settingsHash){
+            myLogger.info("Cached scan result of " + String.valueOf(sourcePath) + " was counted with other settings, it will be scanned.");
+            result = null;
+        }//end if
+        if(result != null && sampled){
+            try(FileChannel channel = FileChannel.open(sourcePath)){
+                if(sampleHash(channel, size) != result.getSampleHash()){
+                    myLogger.info("Cached scan result of " + String.valueOf(sourcePath) + " does not match the log anymore, it will be scanned.");
+                    result = null;
+                }//end if
+            }//end try
+        }//end if
+        synchronized(this){
+            if(result != null){
+                hits++;
+            }else{
+                misses++;
+            }//end if...else
+        }//end synchronized
+        return result;
+    }//end method
+
+    /**
+     * This method caches the exceptions counted in a log file that was scanned from start to end.
+     *
+     * @param sourcePath the log file on the shared network path
+     * @param channel the opened log file, which may be a local copy of it
+     * @param size the size of the log when the scan started
+     * @param lastModified the last modified time of the log in milliseconds when the scan started
+     * @param settingsHash the hash of the settings the log was scanned with
+     * @param eModel the model holding the exceptions and stack traces counted in the log
+     * @throws IOException if the sampled blocks of the log cannot be read
+     */
+    public void put(String sourcePath, FileChannel channel, long size, long lastModified, long settingsHash, ExceptionModel eModel) throws IOException {
+        CachedScanResult result = new CachedScanResult(sampled ? sampleHash(channel, size) : 0L, settingsHash, eModel);
+        synchronized(this){
+            results.put(key(sourcePath, size, lastModified), result);
+        }//end synchronized
+    }//end method
+
+    /**
+     * Builds the key of a log file.
+     *
+     * @param sourcePath the log file on the shared network path
+     * @param size the size of the log
+     * @param lastModified the last modified time of the log in milliseconds
+     * @return the key
+     */
+    private static String key(String sourcePath, long size, long lastModified) {
+        return sourcePath + "|" + size + "|" + lastModified;
+    }//end method
+
+    /**
+     * This method hashes the blocks at the start, middle and end of a log file.
+     *
+     * @param channel the opened log file
+     * @param size the size of the log
+     * @return the CRC-32 of the sampled blocks
+     * @throws IOException if the log cannot be read
+     */
+    private static long sampleHash(FileChannel channel, long size) throws IOException {
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate(SAMPLE_SIZE);
+        long[] positions = {0L, Math.max(0L, size / 2 - SAMPLE_SIZE / 2), Math.max(0L, size - SAMPLE_SIZE)};
+        for(int i = 0; i < positions.length; i++){
+            buffer.clear();
+            buffer.limit((int) Math.min(SAMPLE_SIZE, size - positions[i]));
+            while(buffer.hasRemaining()){
+                if(channel.read(buffer, positions[i] + buffer.position()) < 0){
+                    break;
+                }//end if
+            }//end while
+            buffer.flip();
+            crc.update(buffer);
+        }//end for
+        return crc.getValue();
+    }//end method
+
+}//end class
@@ -0,0 +1,111 @@
+package com.omo.free.lec.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class is used to read and write the entries of a store, such as the {@link DirectoryListingStore}, the {@link ScanCheckpointStore} and the {@link ScanResultCache}, from
+ * and to a single file of serialized objects that is kept between runs of the batch.
+ *
+ * <p>The file is written under a temporary name first and then moved over the old file, so that a failed write does not leave a partial file behind.</p>
+ *
+ * @author Richard Salas
+ */
+final class StoreFile {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.lec.file.StoreFile";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+
+    private Path file;
+    private String description;
+
+    /**
+     * Constructor used to create an instance of the StoreFile.
+     *
+     * @param file the file the entries are saved in
+     * @param description what the entries are, such as {@code directory listings}, used in the log messages
+     */
+    StoreFile(Path file, String description) {
+        this.file = file;
+        this.description = description;
+    }//end constructor
+
+    /**
+     * This method reads the entries saved by an earlier run.
+     *
+     * @param fallback what happens when the file cannot be read, such as {@code all directories will be listed}, used in the log message
+     * @param <K> the type of the keys
+     * @param <V> the type of the entries
+     * @return the entries or an empty map if there is no file or it cannot be read
+     */
+    @SuppressWarnings("unchecked")
+    <K, V> Map<K, V> read(String fallback) {
+        myLogger.entering(MY_CLASS_NAME, "read", fallback);
+        Map<K, V> entries = Collections.emptyMap();
+        if(Files.exists(file)){
+            try(InputStream in = Files.newInputStream(file); ObjectInputStream ois = new ObjectInputStream(in)){
+                entries = (Map<K, V>) ois.readObject();
+                myLogger.info("Loaded " + entries.size() + " " + description + " from " + String.valueOf(file));
+            }catch(IOException | ClassNotFoundException | ClassCastException e){
+                myLogger.log(Level.WARNING, "Unable to read the " + description + " from " + String.valueOf(file) + ", " + fallback + ".  Error is: " + e.getMessage(), e);
+                entries = Collections.emptyMap();
+            }//end try...catch
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "read", entries.size());
+        return entries;
+    }//end method
+
+    /**
+     * This method writes the entries to the file.
+     *
+     * @param entries a copy of the entries that no longer changes
+     * @param summary what the store did this run, such as {@code .  5 hits and 2 misses this run.}, added to the log message or an empty string
+     */
+    void write(Map<?, ?> entries, String summary) {
+        myLogger.entering(MY_CLASS_NAME, "write", summary);
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try{
+            Files.createDirectories(file.getParent());
+            try(OutputStream out = Files.newOutputStream(tempFile); ObjectOutputStream oos = new ObjectOutputStream(out)){
+                oos.writeObject(entries);
+            }//end try
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            myLogger.info("Saved " + entries.size() + " " + description + " to " + String.valueOf(file) + summary);
+        }catch(IOException e){
+            myLogger.log(Level.SEVERE, "Unable to save the " + description + " to " + String.valueOf(file) + ".  Error is: " + e.getMessage(), e);
+        }//end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "write");
+    }//end method
+
+    /**
+     * This method drops the entries that have not been used for more than a number of days.
+     *
+     * @param entries the entries of the store
+     * @param retentionDays the number of days an unused entry is kept
+     * @param checkedAt gives the time an entry was last used in milliseconds
+     * @param <V> the type of the entries
+     */
+    static <V> void prune(Map<?, V> entries, int retentionDays, ToLongFunction<V> checkedAt) {
+        long oldest = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(retentionDays);
+        Iterator<V> it = entries.values().iterator();
+        while(it.hasNext()){
+            if(checkedAt.applyAsLong(it.next()) < oldest){
+                it.remove();
+            }//end if
+        }//end while
+    }//end method
+
+}//end class
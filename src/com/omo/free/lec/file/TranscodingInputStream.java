@@ -0,0 +1,130 @@
+package com.omo.free.lec.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class is used to read a log file written in a character set that does not write ASCII as single bytes, such as UTF-16, as a stream of UTF-8 bytes.
+ *
+ * <p>The scanner looks for exception class names, stack frames and timestamps byte by byte, which only works when the ASCII characters of the log are single bytes.  The bytes of
+ * the log are decoded a buffer at a time and encoded again as UTF-8, so the scanner can read them like any other log.  Bytes that are not valid in the character set are replaced
+ * rather than failing the scan.</p>
+ *
+ * <p>Instances are not thread safe.</p>
+ *
+ * @author Richard Salas
+ */
+public class TranscodingInputStream extends InputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private InputStream in;
+    private CharsetDecoder decoder;
+    private CharsetEncoder encoder;
+    private ByteBuffer input = ByteBuffer.allocate(BUFFER_SIZE);
+    private CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private ByteBuffer output;
+    private boolean inputEnded;
+    private boolean decoderFlushed;
+    private boolean eof;
+
+    /**
+     * Constructor used to create an instance of the TranscodingInputStream.
+     *
+     * @param in the bytes of the log
+     * @param charset the character set the log is written in
+     */
+    public TranscodingInputStream(InputStream in, Charset charset) {
+        this.in = in;
+        this.decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.encoder = StandardCharsets.UTF_8.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.output = ByteBuffer.allocate((int) Math.ceil(BUFFER_SIZE * encoder.maxBytesPerChar()));
+        this.input.flip();
+        this.output.flip();
+    }//end constructor
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+    }//end method
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if(len == 0){
+            return 0;
+        }//end if
+        while(!output.hasRemaining()){
+            if(eof){
+                return -1;
+            }//end if
+            transcode();
+        }//end while
+        int n = Math.min(len, output.remaining());
+        output.get(b, off, n);
+        return n;
+    }//end method
+
+    /**
+     * Reads the next buffer of the log, decodes it and encodes the characters as UTF-8 into the output buffer.  A character that is split over two buffers is kept until the rest of
+     * it has been read.
+     *
+     * @throws IOException if the log cannot be read
+     */
+    private void transcode() throws IOException {
+        if(!inputEnded){
+            input.compact();
+            int n = in.read(input.array(), input.arrayOffset() + input.position(), input.remaining());
+            if(n < 0){
+                inputEnded = true;
+            }else{
+                input.position(input.position() + n);
+            }//end if...else
+            input.flip();
+        }//end if
+        if(!decoderFlushed){
+            decoder.decode(input, chars, inputEnded);
+            if(inputEnded && !input.hasRemaining()){
+                decoderFlushed = decoder.flush(chars).isUnderflow();
+            }//end if
+        }//end if
+        chars.flip();
+        output.clear();
+        boolean encoded = encoder.encode(chars, output, decoderFlushed).isUnderflow();
+        if(decoderFlushed && encoded && !chars.hasRemaining()){
+            eof = encoder.flush(output).isUnderflow();
+        }//end if
+        output.flip();
+        chars.compact();
+    }//end method
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int available() {
+        return output.remaining();
+    }//end method
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }//end method
+
+}//end class
@@ -3,6 +3,7 @@ package com.omo.free.lec.main;
 import java.io.File;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -134,7 +135,7 @@ public class Application extends AbstractApplication implements IEmailable{
             parsedArgs[0] = getArguments()[0].toLowerCase().trim();
             parsedArgs[1] = validateDate(getArguments()[1].trim());
         }else{
-            throw new IllegalArgumentException("Invalid number of arguments passed into the application!  There must be 2:  &lt;ENVIRONMENT&gt; &lt;DATE&gt;");
+            throw new IllegalArgumentException("Invalid number of arguments passed into the application!  There must be 2:  &lt;ENVIRONMENT&gt; &lt;DATE or START..END&gt;");
         }//end if...else
 
         if(!parsedArgs[0].matches("(production|jccc|test)")){
@@ -146,7 +147,7 @@ public class Application extends AbstractApplication implements IEmailable{
     }//end method
 
     /**
-     * Validates the date being passed in.
+     * Validates the date being passed in, which may also be a range of dates such as {@code 2025-10-01..2025-10-07}.
      * @param date
      * @return string date
      */
@@ -158,11 +159,21 @@ public class Application extends AbstractApplication implements IEmailable{
         }else{
             try{
                 DateTimeFormatter dtf = DateTimeFormatter.ISO_LOCAL_DATE;
-                LocalDate theDate = (LocalDate) dtf.parse(getArguments()[1].trim(), LocalDate::from);
+                String[] range = getArguments()[1].trim().split("\\.\\.", -1);
+                LocalDate theDate = dtf.parse(range[0].trim(), LocalDate::from);
                 returnDate = theDate.toString();
-            }catch(Exception e){
+                if(range.length == 2){
+                    LocalDate theEndDate = dtf.parse(range[1].trim(), LocalDate::from);
+                    if(theEndDate.isBefore(theDate)){
+                        throw new IllegalArgumentException("The end date " + theEndDate + " is before the start date " + theDate);
+                    }//end if
+                    returnDate = theEndDate.isEqual(theDate) ? returnDate : returnDate + ".." + theEndDate;
+                }else if(range.length > 2){
+                    throw new IllegalArgumentException("More than two dates given:  " + date);
+                }//end if...else
+            }catch(DateTimeParseException e){
                 myLogger.log(Level.SEVERE, "Exception trying to parse date that was passed in by the user.  Error Message is: " + e.getMessage(), e);
-                throw new IllegalArgumentException("Invalid date format!  Must be in YYYY-MM-DD format");
+                throw new IllegalArgumentException("Invalid date format!  Must be in YYYY-MM-DD or YYYY-MM-DD..YYYY-MM-DD format");
             }//end try...catch
         }//end try...catch
         myLogger.exiting(MY_CLASS_NAME, "validateDate() method", returnDate);
@@ -177,8 +188,8 @@ public class Application extends AbstractApplication implements IEmailable{
         LoggedExceptionController controller = LoggedExceptionController.getInstance();
         
         ProgramDetail details = new ProgramDetail();
-        Object[][] tableData = new Object[1][4];
-        tableData[0] = new Object[]{String.valueOf(controller.getAppLogDt()), controller.getEnvironment(), controller.getTotalScannedLogs(), DateUtil.asTime(System.currentTimeMillis() - start)};
+        Object[][] tableData = new Object[1][5];
+        tableData[0] = new Object[]{controller.getAppLogRange(), controller.getEnvironment(), controller.getTotalScannedLogs(), DateUtil.asTime(System.currentTimeMillis() - start), controller.getThreadPoolSummary()};
         
         StringBuilder headerMessage = new StringBuilder();
         if(controller.getTotalScannedLogs() == 0){
@@ -189,7 +200,7 @@ public class Application extends AbstractApplication implements IEmailable{
         
         details.setEmailHeaderMessage(headerMessage.toString());
         details.setEmailTableIntroMessage("The following table provides the runtime details of the batch job.");
-        details.setEmailTable(new String[]{"Date Of Logs", "Environment", "Number Of Logs Scanned", "Process Time"}, tableData, 1);
+        details.setEmailTable(new String[]{"Date Of Logs", "Environment", "Number Of Logs Scanned", "Process Time", "Thread Pools"}, tableData, 1);
         details.setEmailFooterMessage("<p>Thank you very much and have a nice day.</p>");
         details.setEmailErrorFooterMessage("");
         emailLogger.info(details.getEmailContents());
@@ -285,9 +296,37 @@ public class Application extends AbstractApplication implements IEmailable{
         CustomProperties properties = new CustomProperties();
         properties.put("sendemail", "true", "flag to send email or not");
         properties.put("logPathXml", "./" +  getApplicationName() + "/resources");
+        properties.put("logPathIndex", "true", "flag to keep the log paths of every environment in an index next to LogPaths.xml that is only built again when the xml changes");
         properties.put("wrkDir", "./" +  getApplicationName() + "/resources/wrk");
         properties.put("spreadsheetPath", "./" +  getApplicationName() + "/resources/ExceptionTemplate.ods");
         properties.put("spreadsheetDestPath", "./" +  getApplicationName() + "/resources/results");
+        properties.put("directScan", "true", "flag to scan logs directly on the shared network path instead of copying them to the work directory first");
+        properties.put("scanSplitThresholdMB", "128", "log files larger than this many megabytes are split into line aligned ranges that are scanned in parallel");
+        properties.put("scanParallelism", String.valueOf(Runtime.getRuntime().availableProcessors()), "number of threads used for scanning log files and the ranges of large log files");
+        properties.put("logPathThreads", "5", "number of log paths (clusters or applications) processed at the same time");
+        properties.put("ioThreads", "5", "number of threads the shared network path I/O pool starts with");
+        properties.put("ioThreadsMin", "2", "smallest number of threads the shared network path I/O pool may shrink to");
+        properties.put("ioThreadsMax", "16", "largest number of threads the shared network path I/O pool may grow to");
+        properties.put("ioMaxErrorRate", "0.10", "error rate (0.0 to 1.0) of shared network path I/O above which the I/O pool shrinks");
+        properties.put("virtualThreads", "false", "flag to run shared network path discovery, reads and copies on one virtual thread per directory or file (Java 21+) instead of the I/O pool");
+        properties.put("shareMaxConcurrent", "16", "largest number of shared network path operations that may run at the same time");
+        properties.put("pipelineMaxInFlight", "64", "largest number of log files that may be fetched or waiting to be scanned at the same time, discovery waits when it is reached");
+        properties.put("fetchChunkSizeMB", "8", "number of megabytes transferred per call when a log file is copied into the work directory");
+        properties.put("retryMaxAttempts", "15", "number of attempts made at copying a locked log file");
+        properties.put("retryBaseDelayMs", "1000", "milliseconds waited before the first retry of a locked log file, doubled for each retry after it");
+        properties.put("retryMaxDelayMs", "20000", "largest number of milliseconds waited between retries of a locked log file");
+        properties.put("incrementalScan", "true", "flag to scan only the lines written since the last run when the current day's logs are scanned more than once a day");
+        properties.put("checkpointDir", "./" +  getApplicationName() + "/resources/checkpoints", "directory the scan checkpoints are kept in, this must not be the work directory");
+        properties.put("resultCache", "true", "flag to reuse the exception counts of logs that have not changed since they were last scanned instead of copying and scanning them again");
+        properties.put("resultCacheDir", "./" +  getApplicationName() + "/resources/results/cache", "directory the cached scan results are kept in, this must not be the work directory");
+        properties.put("resultCacheMaxEntries", "20000", "largest number of logs kept in the scan result cache, the least recently used logs are dropped first");
+        properties.put("resultCacheSampledHash", "false", "flag to also check a hash of the start, middle and end of a log before its cached scan result is used");
+        properties.put("listingSnapshot", "true", "flag to reuse the listing of a log directory made by an earlier run when the directory has not been modified since");
+        properties.put("listingSnapshotDir", "./" +  getApplicationName() + "/resources/listings", "directory the log directory listings are kept in, this must not be the work directory");
+        properties.put("appFramePrefixes", "gov.doc.", "comma separated package prefixes of the application classes, the first stack trace frame within them is reported as the top application frame");
+        properties.put("fingerprintFrames", "5", "number of top stack trace frames hashed into the fingerprint of a stack trace");
+        properties.put("traceSamples", "25", "number of most frequent stack trace fingerprints a sample trace is kept for per cluster or application");
+        properties.put("timelineBucketMinutes", "60", "number of minutes in each bucket of the exception timeline");
         return properties;
     }// end getAdditionalApplicationProperties
 
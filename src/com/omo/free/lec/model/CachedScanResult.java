@@ -0,0 +1,86 @@
+package com.omo.free.lec.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is used to hold the exceptions counted in a log file that was scanned from start to end, so that the log does not have to be copied or scanned again while it is
+ * unchanged.
+ *
+ * <p>The hash of the settings the log was scanned with is kept as well, since a change to the filter rules or to how traces are fingerprinted changes what is counted.</p>
+ *
+ * @author Richard Salas
+ */
+public class CachedScanResult implements Serializable {
+
+    private static final long serialVersionUID = -3307459190281665243L;
+
+    private long sampleHash;
+    private long settingsHash;
+    private HashMap<String, Integer> exceptionCounts;
+    private HashMap<String, Integer> rootCauseCounts;
+    private ArrayList<TraceSample> traceSamples;
+    private HashMap<String, int[]> timelines;
+
+    /**
+     * Constructor used to create an instance of the CachedScanResult.
+     *
+     * @param sampleHash the hash of the sampled blocks of the log or 0 if the log was not sampled
+     * @param settingsHash the hash of the settings the log was scanned with
+     * @param eModel the model holding the exceptions and stack traces counted in the log
+     */
+    public CachedScanResult(long sampleHash, long settingsHash, ExceptionModel eModel) {
+        this.sampleHash = sampleHash;
+        this.settingsHash = settingsHash;
+        this.exceptionCounts = new HashMap<>(eModel.getExceptionMap());
+        this.rootCauseCounts = new HashMap<>(eModel.getRootCauseMap());
+        this.traceSamples = new ArrayList<>(eModel.getTraceSamples());
+        this.timelines = new HashMap<>(eModel.getTimelineMap());
+    }//end constructor
+
+    /**
+     * @return the sampleHash
+     */
+    public long getSampleHash() {
+        return sampleHash;
+    }
+
+    /**
+     * @return the settingsHash
+     */
+    public long getSettingsHash() {
+        return settingsHash;
+    }
+
+    /**
+     * @return the exceptionCounts
+     */
+    public Map<String, Integer> getExceptionCounts() {
+        return exceptionCounts;
+    }
+
+    /**
+     * @return the rootCauseCounts
+     */
+    public Map<String, Integer> getRootCauseCounts() {
+        return rootCauseCounts;
+    }
+
+    /**
+     * @return the traceSamples
+     */
+    public List<TraceSample> getTraceSamples() {
+        return traceSamples;
+    }
+
+    /**
+     * @return the timelines
+     */
+    public Map<String, int[]> getTimelines() {
+        return timelines;
+    }
+
+}//end class
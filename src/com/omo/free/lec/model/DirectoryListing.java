@@ -0,0 +1,102 @@
+package com.omo.free.lec.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is used to hold the names of the files within a directory on the shared network path that matched a name glob, so that a later run does not have to list the
+ * directory again as long as its last modified time has not changed.
+ *
+ * <p>A file being written to does not change the last modified time of its directory; only adding, removing or renaming a file does.  The active logs of the current day are still
+ * listed, it is only their size and contents that are read again.</p>
+ *
+ * @author Richard Salas
+ */
+public class DirectoryListing implements Serializable {
+
+    private static final long serialVersionUID = -4190383472519376921L;
+
+    private String directory;
+    private String glob;
+    private long lastModified;
+    private long checkedAt;
+    private ArrayList<String> names;
+
+    /**
+     * Constructor used to create an instance of the DirectoryListing.
+     *
+     * @param directory the directory on the shared network path
+     * @param glob the glob the names of the files were matched against
+     * @param lastModified the last modified time of the directory in milliseconds when it was listed
+     * @param names the names of the files that matched the glob, in the order they were listed
+     */
+    public DirectoryListing(String directory, String glob, long lastModified, List<String> names) {
+        this.directory = directory;
+        this.glob = glob;
+        this.lastModified = lastModified;
+        this.names = new ArrayList<>(names);
+        this.checkedAt = System.currentTimeMillis();
+    }//end constructor
+
+    /**
+     * @return the directory
+     */
+    public String getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return the glob
+     */
+    public String getGlob() {
+        return glob;
+    }
+
+    /**
+     * @return the lastModified
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return the time in milliseconds the listing was last used or updated
+     */
+    public long getCheckedAt() {
+        return checkedAt;
+    }
+
+    /**
+     * Marks the listing as used by the current run so that it is not pruned.
+     */
+    public void touch() {
+        this.checkedAt = System.currentTimeMillis();
+    }//end method
+
+    /**
+     * @return the names
+     */
+    public List<String> getNames() {
+        return names;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("DirectoryListing [directory=");
+        builder.append(directory);
+        builder.append(", glob=");
+        builder.append(glob);
+        builder.append(", lastModified=");
+        builder.append(lastModified);
+        builder.append(", names=");
+        builder.append(names.size());
+        builder.append("]");
+        return builder.toString();
+    }//end method
+
+}//end class
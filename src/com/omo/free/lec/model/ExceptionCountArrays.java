@@ -0,0 +1,146 @@
+package com.omo.free.lec.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This class is used to keep a fixed width array of counts per exception, such as the buckets of its timeline or its count per node.
+ *
+ * <p>The first level is an array indexed by the id the {@link ExceptionNameDictionary} gives each exception class name, the second a compact int array per exception that is
+ * only created once the exception is counted.  Counting does not lock; only adding the array of an exception does.</p>
+ *
+ * @author Richard Salas
+ */
+class ExceptionCountArrays {
+
+    private int width;
+    private volatile AtomicReferenceArray<AtomicIntegerArray> arrays;
+
+    /**
+     * Constructor used to create an instance of the ExceptionCountArrays.
+     *
+     * @param width the number of counts per exception
+     * @param size the number of exception ids to make room for up front
+     */
+    ExceptionCountArrays(int width, int size) {
+        this.width = width;
+        this.arrays = new AtomicReferenceArray<>(Math.max(16, size));
+    }//end constructor
+
+    /**
+     * @return the number of counts per exception
+     */
+    int getWidth() {
+        return width;
+    }//end method
+
+    /**
+     * Adds to one count of an exception.
+     *
+     * @param id the id of the exception class name
+     * @param index the index of the count
+     * @param delta the amount to add
+     */
+    void add(int id, int index, int delta) {
+        array(id).addAndGet(index, delta);
+    }//end method
+
+    /**
+     * Adds counts of the same width to the counts of an exception.
+     *
+     * @param id the id of the exception class name
+     * @param counts the counts to add
+     */
+    void add(int id, int[] counts) {
+        AtomicIntegerArray array = array(id);
+        for(int i = 0; i < counts.length && i < width; i++){
+            if(counts[i] != 0){
+                array.addAndGet(i, counts[i]);
+            }//end if
+        }//end for
+    }//end method
+
+    /**
+     * Adds all counts of another instance of the same width.
+     *
+     * @param other the counts to add, which should no longer be changing
+     */
+    void addAll(ExceptionCountArrays other) {
+        AtomicReferenceArray<AtomicIntegerArray> otherArrays = other.arrays;
+        for(int id = 0; id < otherArrays.length(); id++){
+            AtomicIntegerArray array = otherArrays.get(id);
+            if(array != null){
+                add(id, copy(array));
+            }//end if
+        }//end for
+    }//end method
+
+    /**
+     * This method returns a copy of the counts as they are at the time of the call, keyed by exception class name.
+     *
+     * @param dictionary the dictionary the ids belong to
+     * @return the counts
+     */
+    Map<String, int[]> toMap(ExceptionNameDictionary dictionary) {
+        Map<String, int[]> map = new HashMap<>();
+        AtomicReferenceArray<AtomicIntegerArray> all = arrays;
+        for(int id = 0; id < all.length(); id++){
+            AtomicIntegerArray array = all.get(id);
+            if(array != null){
+                map.put(dictionary.name(id), copy(array));
+            }//end if
+        }//end for
+        return map;
+    }//end method
+
+    /**
+     * Returns the counts of an exception, adding them if the exception has not been counted yet.
+     *
+     * @param id the id of the exception class name
+     * @return the counts
+     */
+    private AtomicIntegerArray array(int id) {
+        AtomicReferenceArray<AtomicIntegerArray> all = arrays;
+        AtomicIntegerArray array = id < all.length() ? all.get(id) : null;
+        return array != null ? array : addArray(id);
+    }//end method
+
+    /**
+     * Adds the counts of an exception, growing the first level when the id does not fit.  The counts already added are carried over to the new first level so that a scanner
+     * still adding to the old one is not lost.
+     *
+     * @param id the id of the exception class name
+     * @return the counts
+     */
+    private synchronized AtomicIntegerArray addArray(int id) {
+        AtomicReferenceArray<AtomicIntegerArray> all = arrays;
+        if(id >= all.length()){
+            AtomicReferenceArray<AtomicIntegerArray> grown = new AtomicReferenceArray<>(Math.max(id + 1, all.length() * 2));
+            for(int i = 0; i < all.length(); i++){
+                grown.set(i, all.get(i));
+            }//end for
+            arrays = all = grown;
+        }//end if
+        AtomicIntegerArray array = all.get(id);
+        if(array == null){
+            array = new AtomicIntegerArray(width);
+            all.set(id, array);
+        }//end if
+        return array;
+    }//end method
+
+    /**
+     * @param array the counts of an exception
+     * @return a copy of the counts
+     */
+    private static int[] copy(AtomicIntegerArray array) {
+        int[] counts = new int[array.length()];
+        for(int i = 0; i < counts.length; i++){
+            counts[i] = array.get(i);
+        }//end for
+        return counts;
+    }//end method
+
+}//end class
@@ -1,30 +1,90 @@
 package com.omo.free.lec.model;
 
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * This class is used to encapsulate the exceptions found per cluster or application.
  *
+ * <p>The exception counts, total and log count are held in {@link LongAdder}'s so that any number of scanners can add exceptions to, or merge their own models into, the same model
+ * at the same time without locking and without boxing a new {@code Integer} for every exception found.  The counts are kept in an array indexed by the id the
+ * {@link ExceptionNameDictionary} gives each exception class name, so the names are only turned back into Strings when the counts are read.</p>
+ *
+ * <p>Stack traces are also counted per outer exception and root cause as {@link RootCause}'s, and per fingerprint within a {@link TraceSketch} that keeps a sample trace of the
+ * most frequent fingerprints.</p>
+ *
+ * <p>A model of a very noisy cluster can count approximately instead, within a fixed amount of memory, by counting the exceptions in {@link HeavyHitters}.  Only the most frequent
+ * exception class names are then kept, and the rest are reported together as {@link #OTHER_EXCEPTIONS}.  A model of a single log of such a cluster counts exactly by name
+ * instead, with {@link #setNameCounting(int)}, and its names are fed into the sketch of the cluster when it is merged in, so only the models of the cluster hold a sketch.</p>
+ *
+ * <p>Each exception is also counted per time of day within a timeline of buckets of {@link #getTimelineBucketMinutes()} minutes, and per node of a cluster when the logs of each
+ * node are merged in, both kept as a compact int array per exception.</p>
+ *
  * @author Richard Salas
  */
 public class ExceptionModel {
 
     private String type;
-    private int logCount;
+    private LocalDate date;
+    private List<ExceptionModel> dailyModels;
+    private LongAdder logCount;
     private List<ErrorMessage> errors;
-    private int totalExceptionCount;
+    private LongAdder totalExceptionCount;
     private String clusterOrApplicationName;
-    private Map<String, Integer> exceptionMap;
+    private ExceptionNameDictionary dictionary;
+    private volatile AtomicReferenceArray<LongAdder> exceptionCounts;
+    private ConcurrentHashMap<Long, RootCause> rootCauses;
+    private TraceSketch traceSketch;
+    private volatile HeavyHitters heavyHitters;
+    private volatile NameCounts nameCounts;
+    private int otherId = -1;
+    private int timelineBucketMinutes;
+    private ExceptionCountArrays timelines;
+    private List<String> nodes;
+    private ExceptionCountArrays nodeCounts;
+    private long[] nodeTotals;
+
+    /** The separator between the exception, root cause and top frame within the keys of {@link #getRootCauseMap()}. */
+    public static final String ROOT_CAUSE_SEPARATOR = "\t";
+
+    /** The number of minutes in a timeline bucket when none is given. */
+    public static final int DEFAULT_TIMELINE_BUCKET_MINUTES = 60;
+
+    /** The number of minutes in a day. */
+    public static final int MINUTES_PER_DAY = 1440;
+
+    /** The name the exceptions that are not among the most frequent ones are reported under when counting approximately. */
+    public static final String OTHER_EXCEPTIONS = "(other exceptions)";
+
+    /** The number of exception class names a model of a single log counts by name when counting the log of a cluster that counts approximately. */
+    public static final int DEFAULT_NAME_CAPACITY = 1024;
 
     /**
      * Construct used to create an instance of this class
      */
     public ExceptionModel(){
         this.errors = new ArrayList<>();
-        exceptionMap = new HashMap<>();
+        this.dailyModels = new ArrayList<>();
+        this.dictionary = ExceptionNameDictionary.getInstance();
+        this.exceptionCounts = new AtomicReferenceArray<>(Math.max(16, dictionary.size()));
+        this.rootCauses = new ConcurrentHashMap<>();
+        this.traceSketch = new TraceSketch(TraceSketch.DEFAULT_CAPACITY);
+        this.timelineBucketMinutes = DEFAULT_TIMELINE_BUCKET_MINUTES;
+        this.timelines = new ExceptionCountArrays(getTimelineBuckets(), dictionary.size());
+        this.nodes = Collections.emptyList();
+        this.totalExceptionCount = new LongAdder();
+        this.logCount = new LongAdder();
     }//end constructor
 
     /**
@@ -39,14 +99,14 @@ public class ExceptionModel {
     /**
      * @return the errors
      */
-    public List<ErrorMessage> getErrors() {
+    public synchronized List<ErrorMessage> getErrors() {
         return errors;
     }
 
     /**
      * @param errors the errors to set
      */
-    public void setErrors(List<ErrorMessage> errors) {
+    public synchronized void setErrors(List<ErrorMessage> errors) {
         this.errors = errors;
     }
 
@@ -54,7 +114,7 @@ public class ExceptionModel {
      * @return the totalExceptionCount
      */
     public int getTotalExceptionCount() {
-        return totalExceptionCount;
+        return totalExceptionCount.intValue();
     }
 
     /**
@@ -72,17 +132,57 @@ public class ExceptionModel {
     }
 
     /**
+     * This method returns a copy of the exception counts as they are at the time of the call.
      * @return the exceptionMap
      */
     public Map<String, Integer> getExceptionMap() {
+        Map<String, Integer> exceptionMap = new HashMap<>();
+        HeavyHitters sketch = heavyHitters;
+        NameCounts names = nameCounts;
+        if(sketch != null || names != null){
+            long kept = 0;
+            Iterator<Entry<String, Long>> it = (sketch != null ? sketch.getCounts() : names.getCounts()).entrySet().iterator();
+            while(it.hasNext()){
+                Entry<String, Long> count = it.next();
+                exceptionMap.put(count.getKey(), count.getValue().intValue());
+                kept += count.getValue();
+            }//end while
+            long other = totalExceptionCount.sum() - kept;
+            if(other > 0){
+                exceptionMap.put(OTHER_EXCEPTIONS, (int) other);
+            }//end if
+            return exceptionMap;
+        }//end if
+        AtomicReferenceArray<LongAdder> counts = exceptionCounts;
+        for(int id = 0; id < counts.length(); id++){
+            LongAdder counter = counts.get(id);
+            if(counter != null){
+                exceptionMap.put(dictionary.name(id), counter.intValue());
+            }//end if
+        }//end for
         return exceptionMap;
     }
 
     /**
+     * This method replaces the exception counts and total with the counts within the map.
      * @param exceptionMap the exceptionMap to set
      */
     public void setExceptionMap(Map<String, Integer> exceptionMap) {
-        this.exceptionMap = exceptionMap;
+        synchronized(this){
+            exceptionCounts = new AtomicReferenceArray<>(exceptionCounts.length());
+            if(heavyHitters != null){
+                heavyHitters = heavyHitters.emptyCopy();
+            }//end if
+            if(nameCounts != null){
+                nameCounts = nameCounts.emptyCopy();
+            }//end if
+        }//end synchronized
+        totalExceptionCount.reset();
+        Iterator<Entry<String, Integer>> it = exceptionMap.entrySet().iterator();
+        while(it.hasNext()){
+            Entry<String, Integer> entry = it.next();
+            addException(entry.getKey(), entry.getValue());
+        }//end while
     }
 
     /**
@@ -98,18 +198,528 @@ public class ExceptionModel {
         builder.append(", clusterOrApplicationName=");
         builder.append(clusterOrApplicationName);
         builder.append(", exceptionMap=");
-        builder.append(exceptionMap);
+        builder.append(getExceptionMap());
         builder.append("]");
         return builder.toString();
     }//end method
 
+    /**
+     * This method will add one occurrence of an exception.
+     * @param exceptionClass the exception class name
+     */
     public void addException(String exceptionClass) {
-        if(exceptionMap.containsKey(exceptionClass)){
-            exceptionMap.put(exceptionClass, exceptionMap.get(exceptionClass) + 1);
+        addException(exceptionClass, 1L);
+    }//end method
+
+    /**
+     * This method will add one occurrence of an exception.
+     * @param id the id of the exception class name within the {@link ExceptionNameDictionary}
+     */
+    public void addException(int id) {
+        HeavyHitters sketch = heavyHitters;
+        NameCounts names = nameCounts;
+        if(sketch != null){
+            String name = dictionary.name(id);
+            sketch.add(HeavyHitters.hash(name), 1L, () -> name);
+        }else if(names != null){
+            String name = dictionary.name(id);
+            names.add(HeavyHitters.hash(name), 1L, () -> name);
         }else{
-            exceptionMap.put(exceptionClass, 1);
+            counter(id).increment();
         }//end if...else
-        totalExceptionCount++;
+        totalExceptionCount.increment();
+    }//end method
+
+    /**
+     * This method will add one occurrence of the exception class name within a range of bytes.  When counting approximately or by name, the name is kept by the sketch or the
+     * table of names and never added to the {@link ExceptionNameDictionary}, so the id returned for a name that is not in the dictionary yet is that of {@link #OTHER_EXCEPTIONS}.
+     * @param buffer the bytes holding the name, which must be ASCII
+     * @param start the index of the first byte of the name
+     * @param end the index after the last byte of the name
+     * @return the id of the exception class name, or of {@link #OTHER_EXCEPTIONS} if it is not one of the most frequent exceptions or not in the dictionary
+     */
+    public int addException(ByteBuffer buffer, int start, int end) {
+        HeavyHitters sketch = heavyHitters;
+        NameCounts names = nameCounts;
+        int id;
+        if(sketch != null || names != null){
+            id = otherId;
+            long hash = HeavyHitters.hash(buffer, start, end);
+            if(sketch != null ? sketch.add(hash, 1L, () -> HeavyHitters.name(buffer, start, end)) : names.add(hash, 1L, () -> HeavyHitters.name(buffer, start, end))){
+                int found = dictionary.find(buffer, start, end);
+                id = found >= 0 ? found : otherId;
+            }//end if
+        }else{
+            id = dictionary.id(buffer, start, end);
+            counter(id).increment();
+        }//end if...else
+        totalExceptionCount.increment();
+        return id;
+    }//end method
+
+    /**
+     * This method returns the id of the exception class name within a range of bytes, such as the root cause of a stack trace, without counting it.  When counting
+     * approximately or by name, names that are not in the {@link ExceptionNameDictionary} yet are not added.
+     * @param buffer the bytes holding the name, which must be ASCII
+     * @param start the index of the first byte of the name
+     * @param end the index after the last byte of the name
+     * @return the id of the exception class name, or of {@link #OTHER_EXCEPTIONS} if it is not added
+     */
+    public int nameId(ByteBuffer buffer, int start, int end) {
+        if(heavyHitters == null && nameCounts == null){
+            return dictionary.id(buffer, start, end);
+        }//end if
+        int id = dictionary.find(buffer, start, end);
+        return id >= 0 ? id : otherId;
+    }//end method
+
+    /**
+     * This method will add a number of occurrences of an exception.
+     * @param exceptionClass the exception class name
+     * @param count the number of times the exception occurred
+     */
+    public void addException(String exceptionClass, long count) {
+        HeavyHitters sketch = heavyHitters;
+        NameCounts names = nameCounts;
+        if(sketch == null && names == null){
+            counter(dictionary.id(exceptionClass)).add(count);
+        }else if(OTHER_EXCEPTIONS.equals(exceptionClass)){
+            //the other exceptions are only part of the total
+        }else if(sketch != null){
+            sketch.add(HeavyHitters.hash(exceptionClass), count, () -> exceptionClass);
+        }else{
+            names.add(HeavyHitters.hash(exceptionClass), count, () -> exceptionClass);
+        }//end if...else
+        totalExceptionCount.add(count);
+    }//end method
+
+    /**
+     * This method switches the model to counting approximately within the memory of a {@link HeavyHitters} sketch.  It should be called before any exception is counted; any
+     * exceptions already counted exactly are moved into the sketch.
+     * @param topK the number of exception class names kept
+     * @param epsilon the largest error of a count as a fraction of the total number of exceptions
+     * @param confidence the probability that a count is within the error
+     */
+    public void setHeavyHitters(int topK, double epsilon, double confidence) {
+        approximate(new HeavyHitters(topK, epsilon, confidence));
+    }//end method
+
+    /**
+     * Moves the exact counts into the sketch and starts counting with it.
+     * @param sketch the empty sketch
+     */
+    private synchronized void approximate(HeavyHitters sketch) {
+        otherId = dictionary.id(OTHER_EXCEPTIONS);
+        AtomicReferenceArray<LongAdder> counts = exceptionCounts;
+        for(int id = 0; id < counts.length(); id++){
+            LongAdder counter = counts.get(id);
+            if(counter != null){
+                String name = dictionary.name(id);
+                sketch.add(HeavyHitters.hash(name), counter.sum(), () -> name);
+            }//end if
+        }//end for
+        if(nameCounts != null){
+            nameCounts.addTo(sketch);
+            nameCounts = null;
+        }//end if
+        exceptionCounts = new AtomicReferenceArray<>(counts.length());
+        heavyHitters = sketch;
+    }//end method
+
+    /**
+     * This method switches a model of a single log to counting exactly by exception class name, without adding the names to the {@link ExceptionNameDictionary}, so that the
+     * log can be merged into a model that counts approximately.  It takes far less memory than a sketch of its own.  The exceptions of the names found after the capacity is
+     * reached are only counted as {@link #OTHER_EXCEPTIONS}.  It should be called before any exception is counted, and does nothing when the model counts approximately.
+     * @param capacity the largest number of exception class names counted
+     */
+    public synchronized void setNameCounting(int capacity) {
+        if(heavyHitters == null){
+            otherId = dictionary.id(OTHER_EXCEPTIONS);
+            NameCounts names = new NameCounts(capacity);
+            AtomicReferenceArray<LongAdder> counts = exceptionCounts;
+            for(int id = 0; id < counts.length(); id++){
+                LongAdder counter = counts.get(id);
+                if(counter != null){
+                    String name = dictionary.name(id);
+                    names.add(HeavyHitters.hash(name), counter.sum(), () -> name);
+                }//end if
+            }//end for
+            exceptionCounts = new AtomicReferenceArray<>(counts.length());
+            nameCounts = names;
+        }//end if
+    }//end method
+
+    /**
+     * @return true if the exception counts are approximate
+     */
+    public boolean isApproximate() {
+        return heavyHitters != null;
+    }//end method
+
+    /**
+     * @return the number of exception class names kept when counting approximately, or 0 if every name is counted
+     */
+    public int getTopK() {
+        HeavyHitters sketch = heavyHitters;
+        return sketch == null ? 0 : sketch.getTopK();
+    }//end method
+
+    /**
+     * This method returns the most an approximate count is too high by, with a probability of at least {@link #getConfidence()}.
+     * @return the error bound, which is 0 when the counts are exact
+     */
+    public long getErrorBound() {
+        HeavyHitters sketch = heavyHitters;
+        return sketch == null ? 0L : sketch.getErrorBound(totalExceptionCount.sum());
+    }//end method
+
+    /**
+     * @return the probability that an approximate count is within {@link #getErrorBound()}, which is 1 when the counts are exact
+     */
+    public double getConfidence() {
+        HeavyHitters sketch = heavyHitters;
+        return sketch == null ? 1d : sketch.getConfidence();
+    }//end method
+
+    /**
+     * Returns the counter of an exception.  The counter is read without locking; only the first occurrence of an exception in this model takes the lock to add its counter.
+     * @param id the id of the exception class name
+     * @return the counter
+     */
+    private LongAdder counter(int id) {
+        AtomicReferenceArray<LongAdder> counts = exceptionCounts;
+        LongAdder counter = id < counts.length() ? counts.get(id) : null;
+        return counter != null ? counter : addCounter(id);
+    }//end method
+
+    /**
+     * Adds the counter of an exception, growing the array of counters when the id does not fit.  The counters already added are carried over to the new array so that a scanner
+     * still adding to the old array is not lost.
+     * @param id the id of the exception class name
+     * @return the counter
+     */
+    private synchronized LongAdder addCounter(int id) {
+        AtomicReferenceArray<LongAdder> counts = exceptionCounts;
+        if(id >= counts.length()){
+            AtomicReferenceArray<LongAdder> grown = new AtomicReferenceArray<>(Math.max(id + 1, Math.max(counts.length() * 2, dictionary.size())));
+            for(int i = 0; i < counts.length(); i++){
+                grown.set(i, counts.get(i));
+            }//end for
+            exceptionCounts = counts = grown;
+        }//end if
+        LongAdder counter = counts.get(id);
+        if(counter == null){
+            counter = new LongAdder();
+            counts.set(id, counter);
+        }//end if
+        return counter;
+    }//end method
+
+    /**
+     * This method will merge the exceptions, errors and log count of another model into this model.  The other model should no longer be changing.  If the other model counts
+     * approximately, this model will too.  The names counted by another model that counts by name are fed into the sketch of this model.
+     * @param other the model to merge into this model
+     */
+    public void merge(ExceptionModel other) {
+        HeavyHitters otherSketch = other.heavyHitters;
+        NameCounts otherNames = other.nameCounts;
+        if(otherSketch != null && heavyHitters == null){
+            approximate(otherSketch.emptyCopy());
+        }//end if
+        HeavyHitters sketch = heavyHitters;
+        NameCounts names = nameCounts;
+        if(otherSketch != null){
+            sketch.merge(otherSketch);
+        }//end if
+        if(otherNames != null && sketch != null){
+            otherNames.addTo(sketch);
+        }else if(otherNames != null && names != null){
+            otherNames.addTo(names);
+        }else if(otherNames != null){
+            Iterator<Entry<String, Long>> it = otherNames.getCounts().entrySet().iterator();
+            while(it.hasNext()){
+                Entry<String, Long> entry = it.next();
+                counter(dictionary.id(entry.getKey())).add(entry.getValue());
+            }//end while
+        }//end if...else
+        AtomicReferenceArray<LongAdder> counts = other.exceptionCounts;
+        for(int id = 0; id < counts.length(); id++){
+            LongAdder counter = counts.get(id);
+            if(counter != null && sketch != null){
+                String name = dictionary.name(id);
+                sketch.add(HeavyHitters.hash(name), counter.sum(), () -> name);
+            }else if(counter != null && names != null){
+                String name = dictionary.name(id);
+                names.add(HeavyHitters.hash(name), counter.sum(), () -> name);
+            }else if(counter != null){
+                counter(id).add(counter.sum());
+            }//end if...else
+        }//end for
+        Iterator<RootCause> causeIt = other.rootCauses.values().iterator();
+        while(causeIt.hasNext()){
+            RootCause cause = causeIt.next();
+            addRootCause(cause.getExceptionId(), cause.getRootCauseId(), cause.getTopFrame(), cause.getCount());
+        }//end while
+        addTraceSamples(other.getTraceSamples());
+        if(other.timelines.getWidth() == timelines.getWidth()){
+            timelines.addAll(other.timelines);
+        }else{
+            addTimelines(other.getTimelineMap());
+        }//end if...else
+        totalExceptionCount.add(other.totalExceptionCount.sum());
+        logCount.add(other.logCount.sum());
+        List<ErrorMessage> otherErrors = other.getErrors();
+        if(!otherErrors.isEmpty()){
+            synchronized(this){
+                errors.addAll(otherErrors);
+            }//end synchronized
+        }//end if
+    }//end method
+
+    /**
+     * This method will merge another model holding the exceptions of a log from one node into this model, also adding its exceptions to the counts of the node.  When this model
+     * counts approximately, the counts per node are kept with the names of the sketch, so no name is added to the {@link ExceptionNameDictionary}, and the exceptions of the names
+     * that are not kept are counted per node as {@link #OTHER_EXCEPTIONS}.
+     * @param other the model to merge into this model
+     * @param node the name of the node the log came from, which should be one of {@link #getNodes()}
+     */
+    public void merge(ExceptionModel other, String node) {
+        merge(other);
+        ExceptionCountArrays counts;
+        int index;
+        int width;
+        synchronized(this){
+            counts = nodeCounts;
+            index = nodes.indexOf(node);
+            width = nodes.size();
+            if(index >= 0){
+                nodeTotals[index] += other.totalExceptionCount.sum();
+            }//end if
+        }//end synchronized
+        if(index >= 0){
+            HeavyHitters sketch = heavyHitters;
+            Iterator<Entry<String, Integer>> it = other.getExceptionMap().entrySet().iterator();
+            while(it.hasNext()){
+                Entry<String, Integer> entry = it.next();
+                if(sketch == null){
+                    counts.add(dictionary.id(entry.getKey()), index, entry.getValue());
+                }else if(!OTHER_EXCEPTIONS.equals(entry.getKey())){
+                    sketch.addToNode(HeavyHitters.hash(entry.getKey()), index, width, entry.getValue());
+                }//end if...else
+            }//end while
+        }//end if
+    }//end method
+
+    /**
+     * This method will count one stack trace of an exception.
+     * @param exceptionId the id of the outer exception within the {@link ExceptionNameDictionary}
+     * @param rootCauseId the id of the root cause within the {@link ExceptionNameDictionary}
+     * @param topFrame the top application frame of the stack trace or null if there is none
+     */
+    public void addRootCause(int exceptionId, int rootCauseId, String topFrame) {
+        addRootCause(exceptionId, rootCauseId, topFrame, 1L);
+    }//end method
+
+    /**
+     * This method will count a number of stack traces of an exception.
+     * @param exceptionId the id of the outer exception
+     * @param rootCauseId the id of the root cause
+     * @param topFrame the top application frame of the stack traces or null if there is none
+     * @param traces the number of stack traces
+     */
+    private void addRootCause(int exceptionId, int rootCauseId, String topFrame, long traces) {
+        Long key = ((long) exceptionId << 32) | (rootCauseId & 0xFFFFFFFFL);
+        RootCause cause = rootCauses.get(key);
+        if(cause == null){
+            cause = rootCauses.computeIfAbsent(key, k -> new RootCause(exceptionId, rootCauseId));
+        }//end if
+        cause.add(topFrame, traces);
+    }//end method
+
+    /**
+     * @return the stack traces counted per outer exception and root cause
+     */
+    public Collection<RootCause> getRootCauses() {
+        return Collections.unmodifiableCollection(rootCauses.values());
+    }//end method
+
+    /**
+     * This method returns a copy of the root cause counts keyed by the exception, root cause and top frame joined by the {@link #ROOT_CAUSE_SEPARATOR}.
+     * @return the root cause counts
+     */
+    public Map<String, Integer> getRootCauseMap() {
+        Map<String, Integer> rootCauseMap = new HashMap<>();
+        Iterator<RootCause> it = rootCauses.values().iterator();
+        while(it.hasNext()){
+            RootCause cause = it.next();
+            rootCauseMap.put(cause.getException() + ROOT_CAUSE_SEPARATOR + cause.getRootCause() + ROOT_CAUSE_SEPARATOR + cause.getTopFrame(), cause.getCount());
+        }//end while
+        return rootCauseMap;
+    }//end method
+
+    /**
+     * This method adds root cause counts that were copied out of a model with {@link #getRootCauseMap()}.
+     * @param rootCauseMap the root cause counts
+     */
+    public void addRootCauses(Map<String, Integer> rootCauseMap) {
+        Iterator<Entry<String, Integer>> it = rootCauseMap.entrySet().iterator();
+        while(it.hasNext()){
+            Entry<String, Integer> entry = it.next();
+            String[] parts = entry.getKey().split(ROOT_CAUSE_SEPARATOR, 3);
+            if(parts.length == 3){
+                addRootCause(dictionary.id(parts[0]), dictionary.id(parts[1]), parts[2], entry.getValue());
+            }//end if
+        }//end while
+    }//end method
+
+    /**
+     * This method creates an empty sketch with the capacity of the sketch of this model.  A scanner counts the stack traces it finds within a sketch of its own, so the scanners of
+     * the ranges of one file do not wait on each other, and adds the fingerprints it kept with {@link #addTraceSamples(List)} once it is done.
+     * @return the empty sketch
+     */
+    public TraceSketch newTraceSketch() {
+        return new TraceSketch(traceSketch.getCapacity());
+    }//end method
+
+    /**
+     * This method adds the fingerprints kept by another sketch, such as those copied out of a model with {@link #getTraceSamples()}.
+     * @param traceSamples the fingerprints
+     */
+    public void addTraceSamples(List<TraceSample> traceSamples) {
+        for(int i = 0, j = traceSamples.size(); i < j; i++){
+            traceSketch.offer(traceSamples.get(i));
+        }//end for
+    }//end method
+
+    /**
+     * @return the most frequent stack trace fingerprints with a sample trace of each, the most frequent first
+     */
+    public List<TraceSample> getTraceSamples() {
+        return traceSketch.getSamples();
+    }//end method
+
+    /**
+     * This method sets the largest number of stack trace fingerprints kept.  It must be called before any stack trace is counted.
+     * @param capacity the largest number of fingerprints
+     */
+    public void setTraceSampleCapacity(int capacity) {
+        this.traceSketch = new TraceSketch(capacity);
+    }//end method
+
+    /**
+     * This method sets the number of minutes in a timeline bucket.  It must be called before any exception is added to the timeline.
+     * @param minutes the number of minutes, from 1 to a whole day
+     */
+    public void setTimelineBucketMinutes(int minutes) {
+        this.timelineBucketMinutes = Math.max(1, Math.min(minutes, MINUTES_PER_DAY));
+        this.timelines = new ExceptionCountArrays(getTimelineBuckets(), dictionary.size());
+    }//end method
+
+    /**
+     * @return the number of minutes in a timeline bucket
+     */
+    public int getTimelineBucketMinutes() {
+        return timelineBucketMinutes;
+    }//end method
+
+    /**
+     * @return the number of buckets in the timeline of a day
+     */
+    public int getTimelineBuckets() {
+        return (MINUTES_PER_DAY + timelineBucketMinutes - 1) / timelineBucketMinutes;
+    }//end method
+
+    /**
+     * This method will add one occurrence of an exception to its timeline.
+     * @param id the id of the exception class name within the {@link ExceptionNameDictionary}
+     * @param minuteOfDay the minute of the day the exception occurred, from 0 to 1439
+     */
+    public void addToTimeline(int id, int minuteOfDay) {
+        timelines.add(id, minuteOfDay / timelineBucketMinutes, 1);
+    }//end method
+
+    /**
+     * This method returns a copy of the timelines as they are at the time of the call, keyed by exception class name.
+     * @return the timelines
+     */
+    public Map<String, int[]> getTimelineMap() {
+        return timelines.toMap(dictionary);
+    }//end method
+
+    /**
+     * This method adds timelines that were copied out of a model with {@link #getTimelineMap()}.  A timeline with a different bucket size is moved into the buckets of this model
+     * by the start of each of its buckets.
+     * @param timelineMap the timelines
+     */
+    public void addTimelines(Map<String, int[]> timelineMap) {
+        Iterator<Entry<String, int[]>> it = timelineMap.entrySet().iterator();
+        while(it.hasNext()){
+            Entry<String, int[]> entry = it.next();
+            int id = dictionary.id(entry.getKey());
+            int[] buckets = entry.getValue();
+            if(buckets.length == timelines.getWidth()){
+                timelines.add(id, buckets);
+            }else{
+                int minutes = (MINUTES_PER_DAY + buckets.length - 1) / buckets.length;
+                for(int i = 0; i < buckets.length; i++){
+                    timelines.add(id, Math.min(i * minutes / timelineBucketMinutes, timelines.getWidth() - 1), buckets[i]);
+                }//end for
+            }//end if...else
+        }//end while
+    }//end method
+
+    /**
+     * This method sets the names of the nodes the logs of this model come from, so that the exceptions of each log merged in with {@link #merge(ExceptionModel, String)} are
+     * also counted per node.
+     * @param nodes the names of the nodes
+     */
+    public synchronized void setNodes(List<String> nodes) {
+        this.nodes = new ArrayList<>(nodes);
+        this.nodeCounts = new ExceptionCountArrays(nodes.size(), dictionary.size());
+        this.nodeTotals = new long[nodes.size()];
+    }//end method
+
+    /**
+     * @return the names of the nodes the exceptions are counted per
+     */
+    public synchronized List<String> getNodes() {
+        return Collections.unmodifiableList(nodes);
+    }//end method
+
+    /**
+     * This method returns a copy of the counts per node as they are at the time of the call, keyed by exception class name.  The counts of each exception are in the order of
+     * {@link #getNodes()}.  When counting approximately, only the names kept by the sketch are listed and the rest are counted as {@link #OTHER_EXCEPTIONS}.
+     * @return the counts per node
+     */
+    public synchronized Map<String, int[]> getNodeCountMap() {
+        HeavyHitters sketch = heavyHitters;
+        if(nodeCounts == null){
+            return Collections.<String, int[]>emptyMap();
+        }else if(sketch == null){
+            return nodeCounts.toMap(dictionary);
+        }//end if...else
+        Map<String, int[]> nodeCountMap = new HashMap<>();
+        long[] other = nodeTotals.clone();
+        Iterator<Entry<String, long[]>> it = sketch.getNodeCounts().entrySet().iterator();
+        while(it.hasNext()){
+            Entry<String, long[]> entry = it.next();
+            int[] counts = new int[other.length];
+            for(int i = 0; i < counts.length; i++){
+                counts[i] = (int) entry.getValue()[i];
+                other[i] -= entry.getValue()[i];
+            }//end for
+            nodeCountMap.put(entry.getKey(), counts);
+        }//end while
+        int[] otherCounts = new int[other.length];
+        boolean anyOther = false;
+        for(int i = 0; i < other.length; i++){
+            otherCounts[i] = (int) Math.max(0L, other[i]);
+            anyOther |= otherCounts[i] > 0;
+        }//end for
+        if(anyOther){
+            nodeCountMap.put(OTHER_EXCEPTIONS, otherCounts);
+        }//end if
+        return nodeCountMap;
     }//end method
 
     /**
@@ -126,15 +736,47 @@ public class ExceptionModel {
         this.type = type;
     }//end method
 
+    /**
+     * @return the date of the logs of this model or null if the model holds the logs of several dates
+     */
+    public LocalDate getDate() {
+        return date;
+    }//end method
+
+    /**
+     * @param date the date to set
+     */
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }//end method
+
+    /**
+     * This method adds the model holding the logs of one of the dates of this model.
+     * @param dailyModel the model of a single date
+     */
+    public synchronized void addDailyModel(ExceptionModel dailyModel) {
+        dailyModels.add(dailyModel);
+    }//end method
+
+    /**
+     * @return the models of each date, in the order of the dates
+     */
+    public synchronized List<ExceptionModel> getDailyModels() {
+        return new ArrayList<>(dailyModels);
+    }//end method
+
     /**
      * @return the logCount
      */
     public int getLogCount() {
-        return logCount;
+        return logCount.intValue();
     }//end method
 
+    /**
+     * This method will add one to the number of logs scanned.
+     */
     public void incrementLogCount(){
-        this.logCount++;
+        this.logCount.increment();
     }//end method
 
 }//end class
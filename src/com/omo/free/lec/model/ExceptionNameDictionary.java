@@ -0,0 +1,206 @@
+package com.omo.free.lec.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class is used to give every exception class name found a small int id that is shared by all {@link ExceptionModel}'s.
+ *
+ * <p>The scanners look names up by the raw bytes of the log, so a name that has been seen before is counted by its id without building a String.  A name is only decoded into a
+ * String the first time it is seen, and the report turns the ids back into names when it is written.  Looking up a known name does not lock; adding a new name does, which only
+ * happens a few hundred times per run.</p>
+ *
+ * @author Richard Salas
+ */
+public class ExceptionNameDictionary {
+
+    private static final ExceptionNameDictionary INSTANCE = new ExceptionNameDictionary();
+
+    private ConcurrentHashMap<NameKey, Integer> ids = new ConcurrentHashMap<>();
+    private CopyOnWriteArrayList<String> names = new CopyOnWriteArrayList<>();
+    private ThreadLocal<NameKey> probes = ThreadLocal.withInitial(NameKey::new);
+
+    /**
+     * Constructor used to create an instance of the ExceptionNameDictionary.
+     */
+    ExceptionNameDictionary() {
+    }//end constructor
+
+    /**
+     * @return the dictionary shared by all exception models
+     */
+    public static ExceptionNameDictionary getInstance() {
+        return INSTANCE;
+    }//end method
+
+    /**
+     * This method returns the id of the exception class name within a range of bytes, adding the name if it has not been seen before.
+     *
+     * @param buffer the bytes holding the name, which must be ASCII
+     * @param start the index of the first byte of the name
+     * @param end the index after the last byte of the name
+     * @return the id of the name
+     */
+    public int id(ByteBuffer buffer, int start, int end) {
+        NameKey probe = probes.get();
+        probe.wrap(buffer, start, end);
+        try{
+            Integer id = ids.get(probe);
+            return id != null ? id : add(probe);
+        }finally{
+            probe.wrap(null, 0, 0);//do not hold on to the mapped log
+        }//end try...finally
+    }//end method
+
+    /**
+     * This method returns the id of the exception class name within a range of bytes without adding the name.
+     *
+     * @param buffer the bytes holding the name, which must be ASCII
+     * @param start the index of the first byte of the name
+     * @param end the index after the last byte of the name
+     * @return the id of the name or -1 if it has not been added
+     */
+    public int find(ByteBuffer buffer, int start, int end) {
+        NameKey probe = probes.get();
+        probe.wrap(buffer, start, end);
+        try{
+            Integer id = ids.get(probe);
+            return id != null ? id : -1;
+        }finally{
+            probe.wrap(null, 0, 0);//do not hold on to the mapped log
+        }//end try...finally
+    }//end method
+
+    /**
+     * This method returns the id of an exception class name, adding the name if it has not been seen before.
+     *
+     * @param name the exception class name
+     * @return the id of the name
+     */
+    public int id(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.US_ASCII);
+        return id(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }//end method
+
+    /**
+     * This method returns the exception class name of an id.
+     *
+     * @param id the id of the name
+     * @return the name
+     */
+    public String name(int id) {
+        return names.get(id);
+    }//end method
+
+    /**
+     * @return the number of names in the dictionary, which is one more than the largest id
+     */
+    public int size() {
+        return names.size();
+    }//end method
+
+    /**
+     * Adds the name held by the probe key, unless another thread added it first.
+     *
+     * @param probe the probe key wrapping the bytes of the name
+     * @return the id of the name
+     */
+    private synchronized int add(NameKey probe) {
+        Integer id = ids.get(probe);
+        if(id == null){
+            NameKey key = probe.copy();
+            id = names.size();
+            names.add(new String(key.bytes, StandardCharsets.US_ASCII));
+            ids.put(key, id);
+        }//end if
+        return id;
+    }//end method
+
+    /**
+     * Key of the dictionary.  The keys kept in the dictionary own a copy of the bytes of the name, while the probe key of each thread wraps the bytes of the log being scanned so
+     * that a lookup does not copy anything.
+     */
+    private static final class NameKey {
+
+        private byte[] bytes;
+        private ByteBuffer buffer;
+        private int start;
+        private int length;
+        private int hash;
+
+        /**
+         * Points the key at a range of bytes.
+         *
+         * @param buffer the bytes holding the name
+         * @param start the index of the first byte of the name
+         * @param end the index after the last byte of the name
+         */
+        void wrap(ByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.length = end - start;
+            int h = 0;
+            for(int i = start; i < end; i++){
+                h = 31 * h + buffer.get(i);
+            }//end for
+            this.hash = h;
+        }//end method
+
+        /**
+         * @return a key that owns a copy of the bytes this key points at
+         */
+        NameKey copy() {
+            NameKey key = new NameKey();
+            key.bytes = new byte[length];
+            for(int i = 0; i < length; i++){
+                key.bytes[i] = byteAt(i);
+            }//end for
+            key.buffer = ByteBuffer.wrap(key.bytes);
+            key.length = length;
+            key.hash = hash;
+            return key;
+        }//end method
+
+        /**
+         * @param i the index within the name
+         * @return the byte of the name at the index
+         */
+        private byte byteAt(int i) {
+            return buffer.get(start + i);
+        }//end method
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return hash;
+        }//end method
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if(this == obj){
+                return true;
+            }//end if
+            if(!(obj instanceof NameKey)){
+                return false;
+            }//end if
+            NameKey other = (NameKey) obj;
+            if(hash != other.hash || length != other.length){
+                return false;
+            }//end if
+            for(int i = 0; i < length; i++){
+                if(byteAt(i) != other.byteAt(i)){
+                    return false;
+                }//end if
+            }//end for
+            return true;
+        }//end method
+    }//end class
+
+}//end class
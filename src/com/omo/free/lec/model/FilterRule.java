@@ -0,0 +1,61 @@
+package com.omo.free.lec.model;
+
+import java.io.Serializable;
+
+/**
+ * This class models an include or exclude element within the rules of the LogPaths.xml file.  Rules listed directly under the logpaths element apply to every logpath, while rules
+ * listed within a logpath apply to that logpath only.
+ *
+ * <pre>
+ *  &lt;rules&gt;
+ *      &lt;exclude&gt;Saving message key '.errors&lt;/exclude&gt;
+ *      &lt;include&gt;gov.doc&lt;/include&gt;
+ *  &lt;/rules&gt;
+ * </pre>
+ *
+ * <p>A line holding an exception is not counted when it contains the text of any exclude rule.  When there are include rules the line is only counted when it contains the text of
+ * at least one of them.</p>
+ *
+ * @author Richard Salas
+ */
+public class FilterRule implements Serializable {
+
+    private static final long serialVersionUID = -2873090846205417739L;
+
+    private String text;
+    private boolean exclude;
+
+    /**
+     * Constructor used to create an instance of the FilterRule.
+     *
+     * @param text the text a line must contain for the rule to match
+     * @param exclude true for an exclude rule or false for an include rule
+     */
+    public FilterRule(String text, boolean exclude) {
+        this.text = text;
+        this.exclude = exclude;
+    }//end constructor
+
+    /**
+     * @return the text
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return true for an exclude rule or false for an include rule
+     */
+    public boolean isExclude() {
+        return exclude;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return (exclude ? "exclude '" : "include '") + text + "'";
+    }//end method
+
+}//end class
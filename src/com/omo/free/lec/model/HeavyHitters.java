@@ -0,0 +1,341 @@
+package com.omo.free.lec.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * This class is used to count the exceptions of a very noisy cluster within a fixed amount of memory, keeping only the most frequent exception class names.
+ *
+ * <p>Every exception is counted in a Count-Min Sketch: a table of {@code depth} rows of {@code width} counters where each row adds the exception to the counter its own hash of the
+ * name picks.  The estimate of a name is the smallest of its counters, which is never too low and, with a probability of at least the confidence, is too high by no more than
+ * epsilon times the number of exceptions counted.  The width is {@code e / epsilon} and the depth is {@code ln(1 / (1 - confidence))}, so the memory used depends only on the
+ * error bound and not on how many different names the logs hold.</p>
+ *
+ * <p>The top K names are kept in a min heap ordered by their estimate.  The estimates in the heap are refreshed lazily: they only grow, so the smallest one is re-read from the
+ * sketch before a new name is allowed to replace it.  The heap holds the names it keeps itself, so counting never adds a name to the {@link ExceptionNameDictionary}, which
+ * cannot forget a name again; a name pushed out of the top K is dropped along with its place in the heap.  The counts per node of a kept name are held with it as well, and
+ * are dropped with it.</p>
+ *
+ * @author Richard Salas
+ */
+public class HeavyHitters {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private int topK;
+    private double epsilon;
+    private double confidence;
+    private int depth;
+    private int width;
+    private AtomicLongArray counters;
+    private ConcurrentHashMap<Long, Candidate> kept;
+    private PriorityQueue<Candidate> heap;
+    private volatile long threshold;
+
+    /**
+     * Constructor used to create an instance of the HeavyHitters.
+     *
+     * @param topK the number of exception class names kept
+     * @param epsilon the largest error of an estimate as a fraction of the number of exceptions counted
+     * @param confidence the probability that an estimate is within the error
+     */
+    public HeavyHitters(int topK, double epsilon, double confidence) {
+        this.topK = Math.max(topK, 1);
+        this.epsilon = epsilon;
+        this.confidence = confidence;
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        this.depth = Math.max(1, (int) Math.ceil(Math.log(1d / (1d - confidence))));
+        this.counters = new AtomicLongArray(depth * width);
+        this.kept = new ConcurrentHashMap<>();
+        this.heap = new PriorityQueue<>(this.topK, (a, b) -> Long.compare(a.estimate, b.estimate));
+    }//end constructor
+
+    /**
+     * @return an empty sketch with the same settings as this sketch
+     */
+    public HeavyHitters emptyCopy() {
+        return new HeavyHitters(topK, epsilon, confidence);
+    }//end method
+
+    /**
+     * This method returns the 64-bit FNV-1a hash of an exception class name.
+     *
+     * @param buffer the bytes holding the name
+     * @param start the index of the first byte of the name
+     * @param end the index after the last byte of the name
+     * @return the hash
+     */
+    public static long hash(ByteBuffer buffer, int start, int end) {
+        long hash = FNV_OFFSET_BASIS;
+        for(int i = start; i < end; i++){
+            hash = (hash ^ (buffer.get(i) & 0xFF)) * FNV_PRIME;
+        }//end for
+        return hash;
+    }//end method
+
+    /**
+     * This method decodes an exception class name.
+     *
+     * @param buffer the bytes holding the name, which must be ASCII
+     * @param start the index of the first byte of the name
+     * @param end the index after the last byte of the name
+     * @return the name
+     */
+    public static String name(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for(int i = start; i < end; i++){
+            bytes[i - start] = buffer.get(i);
+        }//end for
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }//end method
+
+    /**
+     * This method returns the 64-bit FNV-1a hash of an exception class name.
+     *
+     * @param name the exception class name
+     * @return the hash
+     */
+    public static long hash(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.US_ASCII);
+        return hash(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }//end method
+
+    /**
+     * This method counts occurrences of an exception and keeps it when it is one of the top K.
+     *
+     * @param hash the hash of the exception class name
+     * @param count the number of occurrences
+     * @param name supplies the exception class name, which is only asked for when the name is added to the top K
+     * @return true if the name is one of the top K
+     */
+    public boolean add(long hash, long count, Supplier<String> name) {
+        long estimate = increment(hash, count);
+        if(kept.containsKey(hash)){
+            return true;
+        }//end if
+        if(estimate <= threshold){
+            return false;//cannot beat the smallest kept estimate, which only grows
+        }//end if
+        return admit(hash, estimate, name);
+    }//end method
+
+    /**
+     * Adds the occurrences to the counter picked by each row and returns the new estimate.  The row hashes are derived from two halves of the mixed hash.
+     *
+     * @param hash the hash of the exception class name
+     * @param count the number of occurrences
+     * @return the estimate of the name
+     */
+    private long increment(long hash, long count) {
+        long mixed = mix(hash);
+        int h1 = (int) mixed;
+        int h2 = (int) (mixed >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for(int row = 0; row < depth; row++){
+            int column = ((h1 + row * h2) & Integer.MAX_VALUE) % width;
+            estimate = Math.min(estimate, counters.addAndGet(row * width + column, count));
+        }//end for
+        return estimate;
+    }//end method
+
+    /**
+     * @param hash the hash of the exception class name
+     * @return the estimate of the name
+     */
+    private long estimate(long hash) {
+        long mixed = mix(hash);
+        int h1 = (int) mixed;
+        int h2 = (int) (mixed >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for(int row = 0; row < depth; row++){
+            int column = ((h1 + row * h2) & Integer.MAX_VALUE) % width;
+            estimate = Math.min(estimate, counters.get(row * width + column));
+        }//end for
+        return estimate;
+    }//end method
+
+    /**
+     * Adds a name to the top K, replacing the name with the smallest estimate when the heap is full and the new estimate is larger.
+     *
+     * @param hash the hash of the exception class name
+     * @param estimate the estimate of the name
+     * @param name supplies the exception class name
+     * @return true if the name was kept
+     */
+    private synchronized boolean admit(long hash, long estimate, Supplier<String> name) {
+        if(kept.containsKey(hash)){
+            return true;
+        }//end if
+        if(heap.size() >= topK){
+            Candidate smallest = heap.peek();
+            long current = estimate(smallest.hash);
+            while(current > smallest.estimate){//refresh the stale estimates at the top of the heap
+                heap.poll();
+                smallest.estimate = current;
+                heap.add(smallest);
+                smallest = heap.peek();
+                current = estimate(smallest.hash);
+            }//end while
+            if(estimate <= smallest.estimate){
+                threshold = smallest.estimate;
+                return false;
+            }//end if
+            heap.poll();
+            kept.remove(smallest.hash);
+        }//end if
+        Candidate candidate = new Candidate(hash, name.get(), estimate);
+        heap.add(candidate);
+        kept.put(hash, candidate);
+        if(heap.size() >= topK){
+            threshold = heap.peek().estimate;
+        }//end if
+        return true;
+    }//end method
+
+    /**
+     * This method adds the counts of another sketch with the same settings, and offers the names kept by the other sketch to this one.
+     *
+     * @param other the sketch to merge into this sketch, which should no longer be changing
+     */
+    public void merge(HeavyHitters other) {
+        if(other.depth == depth && other.width == width){
+            for(int i = 0, j = counters.length(); i < j; i++){
+                long count = other.counters.get(i);
+                if(count != 0){
+                    counters.addAndGet(i, count);
+                }//end if
+            }//end for
+            Iterator<Candidate> it = other.kept.values().iterator();
+            while(it.hasNext()){
+                Candidate candidate = it.next();
+                if(!kept.containsKey(candidate.hash)){
+                    admit(candidate.hash, estimate(candidate.hash), () -> candidate.name);
+                }//end if
+            }//end while
+        }else{
+            Iterator<Candidate> it = other.kept.values().iterator();
+            while(it.hasNext()){
+                Candidate candidate = it.next();
+                add(candidate.hash, other.estimate(candidate.hash), () -> candidate.name);
+            }//end while
+        }//end if...else
+    }//end method
+
+    /**
+     * @return the current estimates of the names kept, keyed by name
+     */
+    public synchronized Map<String, Long> getCounts() {
+        Map<String, Long> counts = new HashMap<>(heap.size() * 2);
+        Iterator<Candidate> it = heap.iterator();
+        while(it.hasNext()){
+            Candidate candidate = it.next();
+            counts.put(candidate.name, estimate(candidate.hash));
+        }//end while
+        return counts;
+    }//end method
+
+    /**
+     * This method adds to the count of a name within the logs of one node, if the name is one of the top K.
+     *
+     * @param hash the hash of the exception class name
+     * @param node the index of the node
+     * @param nodes the number of nodes
+     * @param count the number of occurrences within the logs of the node
+     */
+    public synchronized void addToNode(long hash, int node, int nodes, long count) {
+        Candidate candidate = kept.get(hash);
+        if(candidate != null){
+            if(candidate.nodeCounts == null){
+                candidate.nodeCounts = new long[nodes];
+            }//end if
+            candidate.nodeCounts[node] += count;
+        }//end if
+    }//end method
+
+    /**
+     * @return the counts per node of the names kept that were counted per node, keyed by name
+     */
+    public synchronized Map<String, long[]> getNodeCounts() {
+        Map<String, long[]> counts = new HashMap<>(heap.size() * 2);
+        Iterator<Candidate> it = heap.iterator();
+        while(it.hasNext()){
+            Candidate candidate = it.next();
+            if(candidate.nodeCounts != null){
+                counts.put(candidate.name, candidate.nodeCounts.clone());
+            }//end if
+        }//end while
+        return counts;
+    }//end method
+
+    /**
+     * This method returns the most any estimate is too high by, with a probability of at least the confidence.
+     *
+     * @param total the number of exceptions counted
+     * @return the error bound
+     */
+    public long getErrorBound(long total) {
+        return (long) Math.ceil(epsilon * total);
+    }//end method
+
+    /**
+     * @return the number of exception class names kept
+     */
+    public int getTopK() {
+        return topK;
+    }//end method
+
+    /**
+     * @return the probability that an estimate is within the error bound
+     */
+    public double getConfidence() {
+        return confidence;
+    }//end method
+
+    /**
+     * Spreads the bits of the hash so that both halves can be used as row hashes.
+     *
+     * @param hash the hash
+     * @return the mixed hash
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }//end method
+
+    /**
+     * A name kept within the top K.
+     */
+    private static class Candidate {
+
+        private long hash;
+        private String name;
+        private long estimate;
+        private long[] nodeCounts;
+
+        /**
+         * Constructor used to create an instance of the Candidate.
+         *
+         * @param hash the hash of the exception class name
+         * @param name the exception class name
+         * @param estimate the estimate of the name when it was last read
+         */
+        Candidate(long hash, String name, long estimate) {
+            this.hash = hash;
+            this.name = name;
+            this.estimate = estimate;
+        }//end constructor
+    }//end class
+
+}//end class
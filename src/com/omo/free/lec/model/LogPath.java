@@ -3,7 +3,11 @@
  */
 package com.omo.free.lec.model;
 
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -21,12 +25,33 @@ import com.omo.free.lec.file.FilePath;
  *      &lt;paths&gt;
  *          &lt;path&gt;\App_Logs\doc\apps\PuppiesForParolePublic\logs&lt;/path&gt;
  *      &lt;/paths&gt;
+ *      &lt;rules&gt;
+ *          &lt;exclude&gt;Saving message key '.errors&lt;/exclude&gt;
+ *      &lt;/rules&gt;
+ *      &lt;sketch topK="100" epsilon="0.0001" confidence="0.999"/&gt;
+ *      &lt;charset&gt;UTF-8&lt;/charset&gt;
  *  &lt;/logpath&gt;
  * </pre>
- * 
+ *
+ * <p>The optional sketch element makes the exceptions of a very noisy logpath be counted approximately, keeping only the topK most frequent exception class names.</p>
+ *
+ * <p>The optional charset element names the encoding the logs are written in, UTF-8 when it is not given.  Logs in an encoding that writes ASCII characters as single ASCII bytes
+ * (UTF-8, ISO-8859-1, windows-1252 and the like) are scanned as raw bytes without decoding them.  Logs in any other encoding, such as UTF-16, are transcoded to UTF-8 as they are
+ * scanned.</p>
+ *
  * @author Richard Salas
  */
-public class LogPath {
+public class LogPath implements Serializable {
+
+    private static final long serialVersionUID = 6308714729417463215L;
+    private static final String ASCII_PROBE;
+    static{
+        StringBuilder sb = new StringBuilder("\t\r\n");
+        for(char c = ' '; c < 127; c++){
+            sb.append(c);
+        }//end for
+        ASCII_PROBE = sb.toString();
+    }
 
     private String name;//COMMONPRIV CLUSTER, ARB, etc.
     private String environment;//production
@@ -34,6 +59,13 @@ public class LogPath {
     private FilePath access;//private, public
     private List<String> logPrefixes;
     private List<String> paths;
+    private List<FilterRule> rules;
+    private int sketchTopK;//0 counts every exception exactly
+    private double sketchEpsilon;
+    private double sketchConfidence;
+    private String charsetName = StandardCharsets.UTF_8.name();
+    private transient Charset charset = StandardCharsets.UTF_8;
+    private boolean asciiCompatible = true;
 
     /**
      * Constructor used to create an instance of the LogPath class.
@@ -41,6 +73,7 @@ public class LogPath {
     public LogPath(){
         this.paths = new ArrayList<>();
         this.logPrefixes = new ArrayList<>();
+        this.rules = new ArrayList<>();
     }//end method
 
     /**
@@ -117,6 +150,96 @@ public class LogPath {
         this.logPrefixes.add(prefix);
     }//end method
 
+    /**
+     * Adds a rule to the list of filter rules
+     * @param rule the rule to add
+     */
+    public void addRule(FilterRule rule) {
+        this.rules.add(rule);
+    }//end method
+
+    /**
+     * @return the filter rules, global rules first
+     */
+    public List<FilterRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * @return the charset the logs are written in
+     */
+    public Charset getCharset() {
+        if(charset == null){//not kept when the log path is serialized
+            charset = Charset.forName(charsetName);
+        }//end if
+        return charset;
+    }
+
+    /**
+     * @param charset the charset the logs are written in
+     */
+    public void setCharset(Charset charset) {
+        this.charset = charset;
+        this.charsetName = charset.name();
+        this.asciiCompatible = charset.canEncode() && Arrays.equals(ASCII_PROBE.getBytes(charset), ASCII_PROBE.getBytes(StandardCharsets.US_ASCII));
+    }//end method
+
+    /**
+     * @return true if the charset writes every ASCII character as the same single byte, so the logs can be scanned without decoding them
+     */
+    public boolean isAsciiCompatible() {
+        return asciiCompatible;
+    }
+
+    /**
+     * @return true if the exceptions are counted approximately within a sketch
+     */
+    public boolean isApproximate() {
+        return sketchTopK > 0;
+    }
+
+    /**
+     * @return the number of exception class names kept when counting approximately, 0 if every exception is counted exactly
+     */
+    public int getSketchTopK() {
+        return sketchTopK;
+    }
+
+    /**
+     * @param sketchTopK the sketchTopK to set
+     */
+    public void setSketchTopK(int sketchTopK) {
+        this.sketchTopK = sketchTopK;
+    }
+
+    /**
+     * @return the largest error of an approximate count as a fraction of the total number of exceptions
+     */
+    public double getSketchEpsilon() {
+        return sketchEpsilon;
+    }
+
+    /**
+     * @param sketchEpsilon the sketchEpsilon to set
+     */
+    public void setSketchEpsilon(double sketchEpsilon) {
+        this.sketchEpsilon = sketchEpsilon;
+    }
+
+    /**
+     * @return the probability that an approximate count is within the error
+     */
+    public double getSketchConfidence() {
+        return sketchConfidence;
+    }
+
+    /**
+     * @param sketchConfidence the sketchConfidence to set
+     */
+    public void setSketchConfidence(double sketchConfidence) {
+        this.sketchConfidence = sketchConfidence;
+    }
+
     /**
      * @return the access
      */
@@ -214,6 +337,10 @@ public class LogPath {
         builder.append(logPrefixes);
         builder.append(", paths=");
         builder.append(paths);
+        builder.append(", rules=");
+        builder.append(rules);
+        builder.append(", sketchTopK=");
+        builder.append(sketchTopK);
         builder.append("]");
         return builder.toString();
     }//end method
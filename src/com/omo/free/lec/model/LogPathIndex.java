@@ -0,0 +1,65 @@
+package com.omo.free.lec.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * This class is used to hold every {@link LogPath} of the LogPaths.xml file keyed by its environment, so that a later run can look up the log paths of an environment without
+ * parsing the xml again.
+ *
+ * <p>The index keeps the checksum of the xml it was built from.  An index whose checksum no longer matches the xml is thrown away and built again.</p>
+ *
+ * @author Richard Salas
+ */
+public class LogPathIndex implements Serializable {
+
+    private static final long serialVersionUID = 3571964370718935840L;
+
+    private long checksum;
+    private HashMap<String, ArrayList<LogPath>> logPaths;
+
+    /**
+     * Constructor used to create an instance of the LogPathIndex.
+     *
+     * @param checksum the checksum of the xml the index is built from
+     */
+    public LogPathIndex(long checksum) {
+        this.checksum = checksum;
+        this.logPaths = new HashMap<>();
+    }//end constructor
+
+    /**
+     * @return the checksum of the xml the index was built from
+     */
+    public long getChecksum() {
+        return checksum;
+    }//end method
+
+    /**
+     * Adds a log path to the log paths of its environment.
+     *
+     * @param logPath the log path to add
+     */
+    public void add(LogPath logPath) {
+        logPaths.computeIfAbsent(logPath.getEnvironment(), environment -> new ArrayList<>()).add(logPath);
+    }//end method
+
+    /**
+     * @param environment the environment
+     * @return the log paths of the environment, in the order they are listed within the xml
+     */
+    public List<LogPath> get(String environment) {
+        List<LogPath> found = logPaths.get(environment);
+        return found == null ? new ArrayList<>() : new ArrayList<>(found);
+    }//end method
+
+    /**
+     * @return the number of environments
+     */
+    public int size() {
+        return logPaths.size();
+    }//end method
+
+}//end class
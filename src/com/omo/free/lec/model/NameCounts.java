@@ -0,0 +1,123 @@
+package com.omo.free.lec.model;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * This class is used to count the exceptions of a single log exactly by exception class name, up to a fixed number of names, without adding the names to the
+ * {@link ExceptionNameDictionary}.
+ *
+ * <p>A log of a cluster that counts approximately is counted here instead of in a {@link HeavyHitters} sketch of its own, so that only the sketch of the cluster takes the memory
+ * of a sketch, however many logs are scanned at once.  The names are fed into the sketch of the cluster when the log is merged into it.  The names found after the table is full
+ * are not counted by name.</p>
+ *
+ * @author Richard Salas
+ */
+class NameCounts {
+
+    private int capacity;
+    private ConcurrentHashMap<Long, NameCount> counts;
+
+    /**
+     * Constructor used to create an instance of the NameCounts.
+     *
+     * @param capacity the largest number of names counted
+     */
+    NameCounts(int capacity) {
+        this.capacity = Math.max(capacity, 1);
+        this.counts = new ConcurrentHashMap<>();
+    }//end constructor
+
+    /**
+     * @return an empty table with the same capacity as this table
+     */
+    NameCounts emptyCopy() {
+        return new NameCounts(capacity);
+    }//end method
+
+    /**
+     * This method counts occurrences of an exception when its name is counted or there is still room for it.
+     *
+     * @param hash the hash of the exception class name, see {@link HeavyHitters#hash(String)}
+     * @param count the number of occurrences
+     * @param name supplies the exception class name, which is only asked for when the name is added
+     * @return true if the name is counted
+     */
+    boolean add(long hash, long count, Supplier<String> name) {
+        NameCount nameCount = counts.get(hash);
+        if(nameCount == null){
+            if(counts.size() >= capacity){
+                return false;
+            }//end if
+            nameCount = counts.computeIfAbsent(hash, k -> new NameCount(hash, name.get()));
+        }//end if
+        nameCount.count.add(count);
+        return true;
+    }//end method
+
+    /**
+     * This method adds the counts of this table to a sketch.
+     *
+     * @param sketch the sketch
+     */
+    void addTo(HeavyHitters sketch) {
+        Iterator<NameCount> it = counts.values().iterator();
+        while(it.hasNext()){
+            NameCount nameCount = it.next();
+            sketch.add(nameCount.hash, nameCount.count.sum(), () -> nameCount.name);
+        }//end while
+    }//end method
+
+    /**
+     * This method adds the counts of this table to another table.
+     *
+     * @param other the table
+     */
+    void addTo(NameCounts other) {
+        Iterator<NameCount> it = counts.values().iterator();
+        while(it.hasNext()){
+            NameCount nameCount = it.next();
+            other.add(nameCount.hash, nameCount.count.sum(), () -> nameCount.name);
+        }//end while
+    }//end method
+
+    /**
+     * @return a copy of the counts as they are at the time of the call, keyed by name
+     */
+    Map<String, Long> getCounts() {
+        Map<String, Long> copy = new HashMap<>(counts.size() * 2);
+        Iterator<NameCount> it = counts.values().iterator();
+        while(it.hasNext()){
+            NameCount nameCount = it.next();
+            copy.put(nameCount.name, nameCount.count.sum());
+        }//end while
+        return copy;
+    }//end method
+
+    /**
+     * The count of one name.
+     */
+    private static class NameCount {
+
+        private long hash;
+        private String name;
+        private LongAdder count;
+
+        /**
+         * Constructor used to create an instance of the NameCount.
+         *
+         * @param hash the hash of the exception class name
+         * @param name the exception class name
+         */
+        NameCount(long hash, String name) {
+            this.hash = hash;
+            this.name = name;
+            this.count = new LongAdder();
+        }//end constructor
+    }//end class
+
+}//end class
@@ -0,0 +1,105 @@
+package com.omo.free.lec.model;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is used to count the stack traces of an exception that share the same root cause.
+ *
+ * <p>The root cause is the exception of the last {@code Caused by:} line of the stack trace, or the exception itself when the trace has no cause.  The top application frame of
+ * the first trace counted is kept as an example of where the exception was thrown.</p>
+ *
+ * @author Richard Salas
+ */
+public class RootCause {
+
+    private int exceptionId;
+    private int rootCauseId;
+    private volatile String topFrame;
+    private LongAdder count;
+
+    /**
+     * Constructor used to create an instance of the RootCause.
+     *
+     * @param exceptionId the id of the outer exception within the {@link ExceptionNameDictionary}
+     * @param rootCauseId the id of the root cause within the {@link ExceptionNameDictionary}
+     */
+    RootCause(int exceptionId, int rootCauseId) {
+        this.exceptionId = exceptionId;
+        this.rootCauseId = rootCauseId;
+        this.count = new LongAdder();
+    }//end constructor
+
+    /**
+     * Adds stack traces to the count, keeping the top frame if there is none yet.
+     *
+     * @param frame the top application frame of the stack traces or null if there is none
+     * @param traces the number of stack traces
+     */
+    void add(String frame, long traces) {
+        if(topFrame == null && frame != null && !frame.isEmpty()){
+            topFrame = frame;
+        }//end if
+        count.add(traces);
+    }//end method
+
+    /**
+     * @return the id of the outer exception
+     */
+    int getExceptionId() {
+        return exceptionId;
+    }
+
+    /**
+     * @return the id of the root cause
+     */
+    int getRootCauseId() {
+        return rootCauseId;
+    }
+
+    /**
+     * @return the exception class name of the outer exception
+     */
+    public String getException() {
+        return ExceptionNameDictionary.getInstance().name(exceptionId);
+    }
+
+    /**
+     * @return the exception class name of the root cause
+     */
+    public String getRootCause() {
+        return ExceptionNameDictionary.getInstance().name(rootCauseId);
+    }
+
+    /**
+     * @return the top application frame or an empty String if none was found
+     */
+    public String getTopFrame() {
+        return topFrame == null ? "" : topFrame;
+    }
+
+    /**
+     * @return the number of stack traces
+     */
+    public int getCount() {
+        return count.intValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("RootCause [exception=");
+        builder.append(getException());
+        builder.append(", rootCause=");
+        builder.append(getRootCause());
+        builder.append(", topFrame=");
+        builder.append(topFrame);
+        builder.append(", count=");
+        builder.append(count);
+        builder.append("]");
+        return builder.toString();
+    }//end method
+
+}//end class
@@ -0,0 +1,172 @@
+package com.omo.free.lec.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is used to hold how far a log file has been scanned and the exceptions counted up to that point, so that a later run on the same day only has to scan the lines that
+ * were written since.
+ *
+ * <p>The size, last modified time and the hash of the first block of the log are kept to tell whether the log on the shared network path is still the same file.  A log that has been
+ * rotated or truncated since it was scanned will not match and is scanned again from the start.  So will a log that was scanned with other filter rules or trace settings, which are
+ * kept as a hash.</p>
+ *
+ * @author Richard Salas
+ */
+public class ScanCheckpoint implements Serializable {
+
+    private static final long serialVersionUID = 6212937104846021784L;
+
+    private String sourcePath;
+    private long size;
+    private long lastModified;
+    private int firstBlockLength;
+    private long firstBlockHash;
+    private long offset;
+    private long settingsHash;
+    private long checkedAt;
+    private HashMap<String, Integer> exceptionCounts;
+    private HashMap<String, Integer> rootCauseCounts;
+    private ArrayList<TraceSample> traceSamples;
+    private HashMap<String, int[]> timelines;
+
+    /**
+     * Constructor used to create an instance of the ScanCheckpoint.
+     *
+     * @param sourcePath the log file on the shared network path
+     * @param size the size of the log when it was scanned
+     * @param lastModified the last modified time of the log in milliseconds when it was scanned
+     * @param firstBlockLength the number of bytes at the start of the log that were hashed
+     * @param firstBlockHash the hash of the first block of the log
+     * @param offset the position after the last complete line that was scanned
+     * @param settingsHash the hash of the settings the log was scanned with
+     * @param eModel the model holding the exceptions and stack traces counted from the start of the log up to the offset
+     */
+    public ScanCheckpoint(String sourcePath, long size, long lastModified, int firstBlockLength, long firstBlockHash, long offset, long settingsHash, ExceptionModel eModel) {
+        this.sourcePath = sourcePath;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.firstBlockLength = firstBlockLength;
+        this.firstBlockHash = firstBlockHash;
+        this.offset = offset;
+        this.settingsHash = settingsHash;
+        this.exceptionCounts = new HashMap<>(eModel.getExceptionMap());
+        this.rootCauseCounts = new HashMap<>(eModel.getRootCauseMap());
+        this.traceSamples = new ArrayList<>(eModel.getTraceSamples());
+        this.timelines = new HashMap<>(eModel.getTimelineMap());
+        this.checkedAt = System.currentTimeMillis();
+    }//end constructor
+
+    /**
+     * @return the sourcePath
+     */
+    public String getSourcePath() {
+        return sourcePath;
+    }
+
+    /**
+     * @return the size
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the lastModified
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return the firstBlockLength
+     */
+    public int getFirstBlockLength() {
+        return firstBlockLength;
+    }
+
+    /**
+     * @return the firstBlockHash
+     */
+    public long getFirstBlockHash() {
+        return firstBlockHash;
+    }
+
+    /**
+     * @return the offset
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the settingsHash
+     */
+    public long getSettingsHash() {
+        return settingsHash;
+    }
+
+    /**
+     * @return the time in milliseconds the checkpoint was last used or updated
+     */
+    public long getCheckedAt() {
+        return checkedAt;
+    }
+
+    /**
+     * Marks the checkpoint as used by the current run so that it is not pruned.
+     */
+    public void touch() {
+        this.checkedAt = System.currentTimeMillis();
+    }//end method
+
+    /**
+     * @return the exceptionCounts
+     */
+    public Map<String, Integer> getExceptionCounts() {
+        return exceptionCounts;
+    }
+
+    /**
+     * @return the rootCauseCounts
+     */
+    public Map<String, Integer> getRootCauseCounts() {
+        return rootCauseCounts;
+    }
+
+    /**
+     * @return the traceSamples
+     */
+    public List<TraceSample> getTraceSamples() {
+        return traceSamples;
+    }
+
+    /**
+     * @return the timelines
+     */
+    public Map<String, int[]> getTimelines() {
+        return timelines;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("ScanCheckpoint [sourcePath=");
+        builder.append(sourcePath);
+        builder.append(", size=");
+        builder.append(size);
+        builder.append(", lastModified=");
+        builder.append(lastModified);
+        builder.append(", offset=");
+        builder.append(offset);
+        builder.append("]");
+        return builder.toString();
+    }//end method
+
+}//end class
@@ -0,0 +1,93 @@
+package com.omo.free.lec.model;
+
+import java.io.Serializable;
+
+/**
+ * This class is used to hold the count and a sample stack trace of one stack trace fingerprint kept by a {@link TraceSketch}.
+ *
+ * <p>A fingerprint is a hash of the exception class name and the top frames of its stack trace, so the stack traces that are thrown from the same place share a fingerprint.  The
+ * count may be too high by at most the error, which is the count of the fingerprint this one replaced when the sketch was full.</p>
+ *
+ * @author Richard Salas
+ */
+public class TraceSample implements Serializable {
+
+    private static final long serialVersionUID = 4476329610520488311L;
+
+    private long fingerprint;
+    private String exception;
+    private long count;
+    private long error;
+    private String sample;
+
+    /**
+     * Constructor used to create an instance of the TraceSample.
+     *
+     * @param fingerprint the hash of the exception class name and the top frames of the stack trace
+     * @param exception the exception class name
+     * @param count the number of stack traces with the fingerprint
+     * @param error the largest amount the count may be too high by
+     * @param sample the text of one of the stack traces
+     */
+    public TraceSample(long fingerprint, String exception, long count, long error, String sample) {
+        this.fingerprint = fingerprint;
+        this.exception = exception;
+        this.count = count;
+        this.error = error;
+        this.sample = sample;
+    }//end constructor
+
+    /**
+     * @return the fingerprint
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return the exception
+     */
+    public String getException() {
+        return exception;
+    }
+
+    /**
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the error
+     */
+    public long getError() {
+        return error;
+    }
+
+    /**
+     * @return the sample
+     */
+    public String getSample() {
+        return sample;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("TraceSample [fingerprint=");
+        builder.append(Long.toHexString(fingerprint));
+        builder.append(", exception=");
+        builder.append(exception);
+        builder.append(", count=");
+        builder.append(count);
+        builder.append(", error=");
+        builder.append(error);
+        builder.append("]");
+        return builder.toString();
+    }//end method
+
+}//end class
@@ -0,0 +1,141 @@
+package com.omo.free.lec.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * This class is used to keep the counts and one sample stack trace of the most frequent stack trace fingerprints within a bounded amount of memory.
+ *
+ * <p>It is a Space-Saving sketch: at most the capacity number of fingerprints are counted.  When a fingerprint that is not counted yet is offered to a full sketch, the fingerprint
+ * with the smallest count is dropped and the new fingerprint takes over its count plus one.  Any fingerprint that occurs more often than the total number of stack traces divided by
+ * the capacity is guaranteed to be kept, and no count is ever too low.  The sample text is only built when a fingerprint is added to the sketch.</p>
+ *
+ * <p>Every scanner counts into a sketch of its own, which is merged into the sketch of the model with {@link #offer(TraceSample)} once the scanner is done, the same way the
+ * sketches of file models are merged.  The lock is therefore only contended while sketches are being merged, not for every stack trace.</p>
+ *
+ * @author Richard Salas
+ */
+public class TraceSketch {
+
+    /** The number of fingerprints kept when no capacity is given. */
+    public static final int DEFAULT_CAPACITY = 25;
+
+    private int capacity;
+    private HashMap<Long, Counter> counters;
+
+    /**
+     * Constructor used to create an instance of the TraceSketch.
+     *
+     * @param capacity the largest number of fingerprints kept
+     */
+    public TraceSketch(int capacity) {
+        this.capacity = Math.max(capacity, 1);
+        this.counters = new HashMap<>();
+    }//end constructor
+
+    /**
+     * This method counts stack traces with a fingerprint.
+     *
+     * @param fingerprint the hash of the exception class name and the top frames of the stack trace
+     * @param exception the exception class name
+     * @param traces the number of stack traces
+     * @param sample supplies the text of the stack trace, which is only asked for when the fingerprint is added
+     */
+    public synchronized void offer(long fingerprint, String exception, long traces, Supplier<String> sample) {
+        offer(fingerprint, exception, traces, 0L, sample);
+    }//end method
+
+    /**
+     * This method counts the stack traces of a fingerprint that was kept by another sketch.
+     *
+     * @param traceSample the fingerprint kept by the other sketch
+     */
+    public synchronized void offer(TraceSample traceSample) {
+        offer(traceSample.getFingerprint(), traceSample.getException(), traceSample.getCount(), traceSample.getError(), traceSample::getSample);
+    }//end method
+
+    /**
+     * Counts stack traces with a fingerprint, replacing the fingerprint with the smallest count when the sketch is full.
+     *
+     * @param fingerprint the hash of the exception class name and the top frames of the stack trace
+     * @param exception the exception class name
+     * @param traces the number of stack traces
+     * @param error the largest amount the number of stack traces may be too high by
+     * @param sample supplies the text of the stack trace
+     */
+    private void offer(long fingerprint, String exception, long traces, long error, Supplier<String> sample) {
+        Counter counter = counters.get(fingerprint);
+        if(counter != null){
+            counter.count += traces;
+            counter.error += error;
+        }else if(counters.size() < capacity){
+            counters.put(fingerprint, new Counter(fingerprint, exception, traces, error, sample.get()));
+        }else{
+            Counter smallest = null;
+            Iterator<Counter> it = counters.values().iterator();
+            while(it.hasNext()){
+                Counter next = it.next();
+                if(smallest == null || next.count < smallest.count){
+                    smallest = next;
+                }//end if
+            }//end while
+            counters.remove(smallest.fingerprint);
+            counters.put(fingerprint, new Counter(fingerprint, exception, smallest.count + traces, smallest.count + error, sample.get()));
+        }//end if...else
+    }//end method
+
+    /**
+     * @return the fingerprints kept, the most frequent first
+     */
+    public synchronized List<TraceSample> getSamples() {
+        List<TraceSample> samples = new ArrayList<>();
+        Iterator<Counter> it = counters.values().iterator();
+        while(it.hasNext()){
+            Counter counter = it.next();
+            samples.add(new TraceSample(counter.fingerprint, counter.exception, counter.count, counter.error, counter.sample));
+        }//end while
+        samples.sort(Comparator.comparingLong(TraceSample::getCount).reversed());
+        return samples;
+    }//end method
+
+    /**
+     * @return the largest number of fingerprints kept
+     */
+    public int getCapacity() {
+        return capacity;
+    }//end method
+
+    /**
+     * Count of a single fingerprint.
+     */
+    private static class Counter {
+
+        private long fingerprint;
+        private String exception;
+        private long count;
+        private long error;
+        private String sample;
+
+        /**
+         * Constructor used to create an instance of the Counter.
+         *
+         * @param fingerprint the hash of the exception class name and the top frames of the stack trace
+         * @param exception the exception class name
+         * @param count the number of stack traces
+         * @param error the largest amount the count may be too high by
+         * @param sample the text of one of the stack traces
+         */
+        Counter(long fingerprint, String exception, long count, long error, String sample) {
+            this.fingerprint = fingerprint;
+            this.exception = exception;
+            this.count = count;
+            this.error = error;
+            this.sample = sample;
+        }//end constructor
+    }//end class
+
+}//end class
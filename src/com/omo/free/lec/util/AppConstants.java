@@ -1,5 +1,8 @@
 package com.omo.free.lec.util;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import gov.doc.isu.gtv.managers.PropertiesMgr;
 
 /**
@@ -9,8 +12,69 @@ import gov.doc.isu.gtv.managers.PropertiesMgr;
 public class AppConstants {
 
     public static String WORK_DIR;
+    public static boolean DIRECT_SCAN;
+    public static long SCAN_SPLIT_THRESHOLD;
+    public static int SCAN_PARALLELISM;
+    public static int LOG_PATH_THREADS;
+    public static int IO_THREADS;
+    public static int IO_THREADS_MIN;
+    public static int IO_THREADS_MAX;
+    public static double IO_MAX_ERROR_RATE;
+    public static boolean VIRTUAL_THREADS;
+    public static int SHARE_MAX_CONCURRENT;
+    public static int PIPELINE_MAX_IN_FLIGHT;
+    public static int FETCH_CHUNK_SIZE;
+    public static int RETRY_MAX_ATTEMPTS;
+    public static long RETRY_BASE_DELAY;
+    public static long RETRY_MAX_DELAY;
+    public static boolean INCREMENTAL_SCAN;
+    public static String CHECKPOINT_DIR;
+    public static boolean RESULT_CACHE;
+    public static String RESULT_CACHE_DIR;
+    public static int RESULT_CACHE_MAX_ENTRIES;
+    public static boolean RESULT_CACHE_SAMPLED_HASH;
+    public static boolean LISTING_SNAPSHOT;
+    public static String LISTING_SNAPSHOT_DIR;
+    public static boolean LOG_PATH_INDEX;
+    public static List<String> APP_FRAME_PREFIXES;
+    public static int FINGERPRINT_FRAMES;
+    public static int TRACE_SAMPLES;
+    public static int TIMELINE_BUCKET_MINUTES;
 
     static{
         WORK_DIR = PropertiesMgr.getProperties().getProperty("wrkDir");
+        DIRECT_SCAN = Boolean.valueOf(PropertiesMgr.getProperties().getProperty("directScan", "true"));
+        SCAN_SPLIT_THRESHOLD = Long.parseLong(PropertiesMgr.getProperties().getProperty("scanSplitThresholdMB", "128")) * 1024L * 1024L;
+        SCAN_PARALLELISM = Integer.parseInt(PropertiesMgr.getProperties().getProperty("scanParallelism", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        LOG_PATH_THREADS = Integer.parseInt(PropertiesMgr.getProperties().getProperty("logPathThreads", "5"));
+        IO_THREADS = Integer.parseInt(PropertiesMgr.getProperties().getProperty("ioThreads", "5"));
+        IO_THREADS_MIN = Integer.parseInt(PropertiesMgr.getProperties().getProperty("ioThreadsMin", "2"));
+        IO_THREADS_MAX = Integer.parseInt(PropertiesMgr.getProperties().getProperty("ioThreadsMax", "16"));
+        IO_MAX_ERROR_RATE = Double.parseDouble(PropertiesMgr.getProperties().getProperty("ioMaxErrorRate", "0.10"));
+        VIRTUAL_THREADS = Boolean.valueOf(PropertiesMgr.getProperties().getProperty("virtualThreads", "false"));
+        SHARE_MAX_CONCURRENT = Integer.parseInt(PropertiesMgr.getProperties().getProperty("shareMaxConcurrent", "16"));
+        PIPELINE_MAX_IN_FLIGHT = Integer.parseInt(PropertiesMgr.getProperties().getProperty("pipelineMaxInFlight", "64"));
+        FETCH_CHUNK_SIZE = Integer.parseInt(PropertiesMgr.getProperties().getProperty("fetchChunkSizeMB", "8")) * 1024 * 1024;
+        RETRY_MAX_ATTEMPTS = Integer.parseInt(PropertiesMgr.getProperties().getProperty("retryMaxAttempts", "15"));
+        RETRY_BASE_DELAY = Long.parseLong(PropertiesMgr.getProperties().getProperty("retryBaseDelayMs", "1000"));
+        RETRY_MAX_DELAY = Long.parseLong(PropertiesMgr.getProperties().getProperty("retryMaxDelayMs", "20000"));
+        INCREMENTAL_SCAN = Boolean.valueOf(PropertiesMgr.getProperties().getProperty("incrementalScan", "true"));
+        CHECKPOINT_DIR = PropertiesMgr.getProperties().getProperty("checkpointDir");
+        RESULT_CACHE = Boolean.valueOf(PropertiesMgr.getProperties().getProperty("resultCache", "true"));
+        RESULT_CACHE_DIR = PropertiesMgr.getProperties().getProperty("resultCacheDir");
+        RESULT_CACHE_MAX_ENTRIES = Integer.parseInt(PropertiesMgr.getProperties().getProperty("resultCacheMaxEntries", "20000"));
+        RESULT_CACHE_SAMPLED_HASH = Boolean.valueOf(PropertiesMgr.getProperties().getProperty("resultCacheSampledHash", "false"));
+        LISTING_SNAPSHOT = Boolean.valueOf(PropertiesMgr.getProperties().getProperty("listingSnapshot", "true"));
+        LISTING_SNAPSHOT_DIR = PropertiesMgr.getProperties().getProperty("listingSnapshotDir");
+        LOG_PATH_INDEX = Boolean.valueOf(PropertiesMgr.getProperties().getProperty("logPathIndex", "true"));
+        APP_FRAME_PREFIXES = new ArrayList<>();
+        for(String prefix : PropertiesMgr.getProperties().getProperty("appFramePrefixes", "gov.doc.").split(",")){
+            if(!prefix.trim().isEmpty()){
+                APP_FRAME_PREFIXES.add(prefix.trim());
+            }//end if
+        }//end for
+        FINGERPRINT_FRAMES = Integer.parseInt(PropertiesMgr.getProperties().getProperty("fingerprintFrames", "5"));
+        TRACE_SAMPLES = Integer.parseInt(PropertiesMgr.getProperties().getProperty("traceSamples", "25"));
+        TIMELINE_BUCKET_MINUTES = Integer.parseInt(PropertiesMgr.getProperties().getProperty("timelineBucketMinutes", "60"));
     }
 }
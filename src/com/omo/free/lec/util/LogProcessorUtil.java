@@ -2,7 +2,10 @@ package com.omo.free.lec.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -37,4 +40,39 @@ public class LogProcessorUtil {
         }//end try...catch
         myLogger.exiting(MY_CLASS_NAME, "deleteDirectory");
     }// end deleteFile
+
+    /**
+     * This method will copy a file with {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)} in chunks of a fixed size, which lets the operating
+     * system move the bytes without copying them through the Java heap.
+     *
+     * <p>A copy that failed part way can be resumed by passing the number of bytes already written to the target as the offset.  The target is cut back to the offset and the
+     * copy continues from there.  The source is copied up to the size it had when it was opened.</p>
+     *
+     * @param source the file to copy
+     * @param target the file to copy to
+     * @param offset the number of bytes already copied to the target, or 0 to copy the whole file
+     * @param chunkSize the largest number of bytes transferred per call
+     * @return the number of bytes transferred by this call
+     * @throws IOException if the file cannot be read or written, in which case the target holds the bytes copied so far
+     */
+    public static long copyFile(Path source, Path target, long offset, int chunkSize) throws IOException {
+        myLogger.entering(MY_CLASS_NAME, "copyFile", new Object[]{source, target, offset, chunkSize});
+        long transferred = 0;
+        try(FileChannel in = FileChannel.open(source, StandardOpenOption.READ); FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)){
+            long size = in.size();
+            long position = offset > 0 && offset <= size && offset <= out.size() ? offset : 0;
+            out.truncate(position);
+            out.position(position);
+            while(position < size){
+                long count = in.transferTo(position, Math.min(chunkSize, size - position), out);
+                if(count <= 0){
+                    break;//the source was truncated while it was being copied
+                }//end if
+                position += count;
+                transferred += count;
+            }//end while
+        }//end try
+        myLogger.exiting(MY_CLASS_NAME, "copyFile", transferred);
+        return transferred;
+    }//end method
 }
@@ -0,0 +1,952 @@
+package com.omo.free.lec.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+
+/**
+ * This class is used to write a spreadsheet (ods) based on a template without loading the document into memory.
+ *
+ * <p>New sheets are streamed one row at a time into a temporary file as they are added.  When the spreadsheet is saved the template's {@code content.xml} is streamed through with StAX,
+ * the cells set on the template's own sheets are filled in on the way through, and the new sheets are copied in after the template's sheets.  Every other entry of the template
+ * (styles.xml, settings.xml, pictures, etc.) is copied into the new spreadsheet unchanged, so the styles defined within the template can be used by name.  Only one row of the
+ * template is held in memory at a time.</p>
+ *
+ * <p><b>Example Usage:</b>
+ *  <pre>
+ *      OdsStreamWriter writer = new OdsStreamWriter(template, destination);
+ *      writer.startSheet("MySheet", 5d, 207d);
+ *      writer.startRow();
+ *      writer.addEmptyCells(1);
+ *      writer.addStringCell("Title", "My Title");
+ *      writer.endRow();
+ *      writer.endSheet();
+ *      writer.setCell("CoverPage", 4, 2, "2017-11-17");
+ *      writer.save();
+ *      writer.close();
+ *  </pre>
+ *
+ * @author Richard Salas
+ */
+public class OdsStreamWriter {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.lec.util.OdsStreamWriter";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+
+    private static final String OFFICE_NS = "urn:oasis:names:tc:opendocument:xmlns:office:1.0";
+    private static final String STYLE_NS = "urn:oasis:names:tc:opendocument:xmlns:style:1.0";
+    private static final String TABLE_NS = "urn:oasis:names:tc:opendocument:xmlns:table:1.0";
+    private static final String TEXT_NS = "urn:oasis:names:tc:opendocument:xmlns:text:1.0";
+    private static final String FO_NS = "urn:oasis:names:tc:opendocument:xmlns:xsl-fo-compatible:1.0";
+    private static final String DC_NS = "http://purl.org/dc/elements/1.1/";
+
+    private static final QName TABLE = new QName(TABLE_NS, "table", "table");
+    private static final QName TABLE_NAME = new QName(TABLE_NS, "name", "table");
+    private static final QName TABLE_ROW = new QName(TABLE_NS, "table-row", "table");
+    private static final QName TABLE_CELL = new QName(TABLE_NS, "table-cell", "table");
+    private static final QName ROWS_REPEATED = new QName(TABLE_NS, "number-rows-repeated", "table");
+    private static final QName COLUMNS_REPEATED = new QName(TABLE_NS, "number-columns-repeated", "table");
+    private static final QName DATABASE_RANGES = new QName(TABLE_NS, "database-ranges", "table");
+    private static final QName SPREADSHEET = new QName(OFFICE_NS, "spreadsheet", "office");
+    private static final QName AUTOMATIC_STYLES = new QName(OFFICE_NS, "automatic-styles", "office");
+
+    private File template;
+    private File destination;
+    private File sheetsFile;
+    private OutputStream sheetsOut;
+    private XMLStreamWriter sheets;
+    private XMLEventFactory events = XMLEventFactory.newInstance();
+    private String currentSheet;
+    private Map<String, TreeMap<Integer, TreeMap<Integer, Object>>> templateCells = new HashMap<>();
+    private Map<String, String> columnStyles = new LinkedHashMap<>();
+    private Map<String, String[]> cellStyles = new LinkedHashMap<>();
+    private List<String[]> autoFilters = new ArrayList<>();
+
+    /**
+     * Constructor used to create an instance of the OdsStreamWriter.
+     *
+     * @param template the spreadsheet template
+     * @param destination the spreadsheet to write
+     * @throws IOException if the temporary file for the new sheets cannot be created
+     */
+    public OdsStreamWriter(File template, File destination) throws IOException {
+        myLogger.entering(MY_CLASS_NAME, "OdsStreamWriter", new Object[]{template, destination});
+        this.template = template;
+        this.destination = destination;
+        this.sheetsFile = File.createTempFile("sheets", ".xml", destination.getAbsoluteFile().getParentFile());
+        this.sheetsOut = new BufferedOutputStream(Files.newOutputStream(sheetsFile.toPath()));
+        try{
+            this.sheets = XMLOutputFactory.newInstance().createXMLStreamWriter(sheetsOut, "UTF-8");
+        }catch(XMLStreamException e){
+            close();
+            throw new IOException("Unable to create the writer for the new sheets.  Error is: " + e.getMessage(), e);
+        }//end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "OdsStreamWriter");
+    }//end constructor
+
+    /**
+     * This method starts a new sheet.  Each column is given a style with its width.
+     *
+     * @param sheetName the name of the sheet
+     * @param columnWidths the widths of the columns in millimeters
+     * @throws XMLStreamException if the sheet cannot be written
+     */
+    public void startSheet(String sheetName, double... columnWidths) throws XMLStreamException {
+        myLogger.entering(MY_CLASS_NAME, "startSheet", new Object[]{sheetName, columnWidths});
+        currentSheet = sheetName;
+        sheets.writeStartElement("table", "table", TABLE_NS);
+        sheets.writeAttribute("table", TABLE_NS, "name", sheetName);
+        sheets.writeAttribute("table", TABLE_NS, "style-name", "ta1");
+        sheets.writeAttribute("table", TABLE_NS, "print", "false");
+        for(int i = 0; i < columnWidths.length; i++){
+            sheets.writeEmptyElement("table", "table-column", TABLE_NS);
+            sheets.writeAttribute("table", TABLE_NS, "style-name", columnStyle(columnWidths[i]));
+            sheets.writeAttribute("table", TABLE_NS, "default-cell-style-name", "Default");
+        }//end for
+        myLogger.exiting(MY_CLASS_NAME, "startSheet");
+    }//end method
+
+    /**
+     * This method ends the current sheet.
+     *
+     * @throws XMLStreamException if the sheet cannot be written
+     */
+    public void endSheet() throws XMLStreamException {
+        sheets.writeEndElement();
+        currentSheet = null;
+    }//end method
+
+    /**
+     * This method starts a new row within the current sheet.
+     *
+     * @throws XMLStreamException if the row cannot be written
+     */
+    public void startRow() throws XMLStreamException {
+        sheets.writeStartElement("table", "table-row", TABLE_NS);
+        sheets.writeAttribute("table", TABLE_NS, "style-name", "ro1");
+    }//end method
+
+    /**
+     * This method ends the current row.
+     *
+     * @throws XMLStreamException if the row cannot be written
+     */
+    public void endRow() throws XMLStreamException {
+        sheets.writeEndElement();
+    }//end method
+
+    /**
+     * This method adds empty rows to the current sheet.
+     *
+     * @param count the number of empty rows
+     * @throws XMLStreamException if the rows cannot be written
+     */
+    public void addEmptyRows(int count) throws XMLStreamException {
+        sheets.writeStartElement("table", "table-row", TABLE_NS);
+        sheets.writeAttribute("table", TABLE_NS, "style-name", "ro1");
+        if(count > 1){
+            sheets.writeAttribute("table", TABLE_NS, "number-rows-repeated", String.valueOf(count));
+        }//end if
+        sheets.writeEmptyElement("table", "table-cell", TABLE_NS);
+        sheets.writeEndElement();
+    }//end method
+
+    /**
+     * This method adds empty cells to the current row.
+     *
+     * @param count the number of empty cells
+     * @throws XMLStreamException if the cells cannot be written
+     */
+    public void addEmptyCells(int count) throws XMLStreamException {
+        sheets.writeEmptyElement("table", "table-cell", TABLE_NS);
+        if(count > 1){
+            sheets.writeAttribute("table", TABLE_NS, "number-columns-repeated", String.valueOf(count));
+        }//end if
+    }//end method
+
+    /**
+     * This method adds an empty cell with a style to the current row.
+     *
+     * @param styleName the name of the cell style or null for the column's default style
+     * @throws XMLStreamException if the cell cannot be written
+     */
+    public void addStyledCell(String styleName) throws XMLStreamException {
+        sheets.writeEmptyElement("table", "table-cell", TABLE_NS);
+        writeStyle(styleName);
+    }//end method
+
+    /**
+     * This method adds a text cell to the current row.
+     *
+     * @param styleName the name of the cell style or null for the column's default style
+     * @param value the text of the cell
+     * @throws XMLStreamException if the cell cannot be written
+     */
+    public void addStringCell(String styleName, String value) throws XMLStreamException {
+        addStringCell(styleName, value, null);
+    }//end method
+
+    /**
+     * This method adds a text cell with a pop out comment/pop out note to the current row.
+     *
+     * @param styleName the name of the cell style or null for the column's default style
+     * @param value the text of the cell
+     * @param note the text of the note or null for no note
+     * @throws XMLStreamException if the cell cannot be written
+     */
+    public void addStringCell(String styleName, String value, String note) throws XMLStreamException {
+        sheets.writeStartElement("table", "table-cell", TABLE_NS);
+        writeStyle(styleName);
+        sheets.writeAttribute("office", OFFICE_NS, "value-type", "string");
+        if(note != null){
+            writeNote(note);
+        }//end if
+        writeParagraph(value);
+        sheets.writeEndElement();
+    }//end method
+
+    /**
+     * This method adds a number cell to the current row.
+     *
+     * @param styleName the name of the cell style or null for the column's default style
+     * @param value the number
+     * @throws XMLStreamException if the cell cannot be written
+     */
+    public void addFloatCell(String styleName, double value) throws XMLStreamException {
+        sheets.writeStartElement("table", "table-cell", TABLE_NS);
+        writeStyle(styleName);
+        sheets.writeAttribute("office", OFFICE_NS, "value-type", "float");
+        sheets.writeAttribute("office", OFFICE_NS, "value", formatNumber(value));
+        writeParagraph(formatNumber(value));
+        sheets.writeEndElement();
+    }//end method
+
+    /**
+     * This method adds a formula cell that results in text to the current row.  The formula is recalculated when the spreadsheet is opened.
+     *
+     * @param styleName the name of the cell style or null for the column's default style
+     * @param formula the OpenFormula formula such as {@code of:="Total: "&SUM([.C6:.C9])}
+     * @throws XMLStreamException if the cell cannot be written
+     */
+    public void addFormulaCell(String styleName, String formula) throws XMLStreamException {
+        sheets.writeEmptyElement("table", "table-cell", TABLE_NS);
+        writeStyle(styleName);
+        sheets.writeAttribute("table", TABLE_NS, "formula", formula);
+        sheets.writeAttribute("office", OFFICE_NS, "value-type", "string");
+    }//end method
+
+    /**
+     * This method will add an auto filter to a range of the current sheet.
+     *
+     * @param cellAddressFrom cell address from such as C5
+     * @param cellAddressTo cell address to such as I5
+     */
+    public void addAutoFilter(String cellAddressFrom, String cellAddressTo) {
+        String quotedName = "'" + currentSheet.replace("'", "''") + "'.";
+        autoFilters.add(new String[]{"__Anonymous_Sheet_DB__" + currentSheet, quotedName + cellAddressFrom + ":" + quotedName + cellAddressTo});
+    }//end method
+
+    /**
+     * This method returns the name of a cell style that is based on another cell style but with its own horizontal alignment.  The style is added to the spreadsheet the first time
+     * it is asked for.
+     *
+     * @param parentStyleName the name of the cell style to base the style on
+     * @param alignment the horizontal alignment, which is left, center or right
+     * @return the name of the cell style
+     */
+    public String alignedStyle(String parentStyleName, String alignment) {
+        String key = parentStyleName + "|" + alignment;
+        String[] style = cellStyles.get(key);
+        if(style == null){
+            String textAlign = "left".equals(alignment) ? "start" : "right".equals(alignment) ? "end" : alignment;
+            style = new String[]{"lecce" + (cellStyles.size() + 1), parentStyleName, textAlign};
+            cellStyles.put(key, style);
+        }//end if
+        return style[0];
+    }//end method
+
+    /**
+     * This method sets the text of a cell within one of the template's sheets.  The cell keeps its style from the template.
+     *
+     * @param tableName the name of the template's sheet
+     * @param row the row index of the cell
+     * @param col the column index of the cell
+     * @param value the text of the cell
+     */
+    public void setCell(String tableName, int row, int col, String value) {
+        putTemplateCell(tableName, row, col, value);
+    }//end method
+
+    /**
+     * This method sets the number of a cell within one of the template's sheets.  The cell keeps its style from the template.
+     *
+     * @param tableName the name of the template's sheet
+     * @param row the row index of the cell
+     * @param col the column index of the cell
+     * @param value the number
+     */
+    public void setCell(String tableName, int row, int col, double value) {
+        putTemplateCell(tableName, row, col, Double.valueOf(value));
+    }//end method
+
+    /**
+     * Holds the value of a template cell until the spreadsheet is saved.
+     *
+     * @param tableName the name of the template's sheet
+     * @param row the row index of the cell
+     * @param col the column index of the cell
+     * @param value the String or Double value
+     */
+    private void putTemplateCell(String tableName, int row, int col, Object value) {
+        TreeMap<Integer, TreeMap<Integer, Object>> rows = templateCells.get(tableName);
+        if(rows == null){
+            rows = new TreeMap<>();
+            templateCells.put(tableName, rows);
+        }//end if
+        TreeMap<Integer, Object> cells = rows.get(row);
+        if(cells == null){
+            cells = new TreeMap<>();
+            rows.put(row, cells);
+        }//end if
+        cells.put(col, value);
+    }//end method
+
+    /**
+     * This method writes the spreadsheet to the destination file.
+     *
+     * @throws IOException if the template cannot be read or the spreadsheet cannot be written
+     * @throws XMLStreamException if the template's content cannot be parsed
+     */
+    public void save() throws IOException, XMLStreamException {
+        myLogger.entering(MY_CLASS_NAME, "save");
+        sheets.flush();
+        sheets.close();
+        sheetsOut.close();
+
+        try(ZipFile zip = new ZipFile(template); ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(destination.toPath())))){
+            ZipEntry mimetype = zip.getEntry("mimetype");
+            if(mimetype != null){//must be the first entry and must not be compressed
+                byte[] bytes = readAll(zip, mimetype);
+                CRC32 crc = new CRC32();
+                crc.update(bytes);
+                ZipEntry entry = new ZipEntry("mimetype");
+                entry.setMethod(ZipEntry.STORED);
+                entry.setSize(bytes.length);
+                entry.setCompressedSize(bytes.length);
+                entry.setCrc(crc.getValue());
+                out.putNextEntry(entry);
+                out.write(bytes);
+                out.closeEntry();
+            }//end if
+
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while(entries.hasMoreElements()){
+                ZipEntry entry = entries.nextElement();
+                if("mimetype".equals(entry.getName())){
+                    continue;
+                }//end if
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                try(InputStream in = zip.getInputStream(entry)){
+                    if("content.xml".equals(entry.getName())){
+                        writeContent(in, out);
+                    }else{
+                        copy(in, out);
+                    }//end if...else
+                }//end try
+                out.closeEntry();
+            }//end while
+        }//end try
+        myLogger.exiting(MY_CLASS_NAME, "save");
+    }//end method
+
+    /**
+     * This method deletes the temporary file holding the new sheets.
+     */
+    public void close() {
+        try{
+            if(sheets != null){
+                sheets.close();
+            }//end if
+        }catch(XMLStreamException e){
+            myLogger.log(Level.FINE, "Unable to close the writer for the new sheets.  Error is: " + e.getMessage(), e);
+        }//end try...catch
+        try{
+            sheetsOut.close();
+            Files.deleteIfExists(sheetsFile.toPath());
+        }catch(IOException e){
+            myLogger.log(Level.WARNING, "Unable to delete the temporary file " + String.valueOf(sheetsFile) + ".  Error is: " + e.getMessage(), e);
+        }//end try...catch
+    }//end method
+
+    /**
+     * This method streams the template's content through to the new spreadsheet, filling in the template cells, adding the automatic styles and auto filters and copying the new
+     * sheets in after the template's sheets.
+     *
+     * @param in the template's content.xml
+     * @param zipOut the new spreadsheet
+     * @throws IOException if the new sheets cannot be copied
+     * @throws XMLStreamException if the content cannot be parsed or written
+     */
+    private void writeContent(InputStream in, OutputStream zipOut) throws IOException, XMLStreamException {
+        OutputStream out = new FilterOutputStream(zipOut){//the zip entry is closed by the caller
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                this.out.write(b, off, len);
+            }//end method
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }//end method
+        };
+        XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        XMLEventReader reader = inputFactory.createXMLEventReader(in, "UTF-8");
+        XMLEventWriter writer = XMLOutputFactory.newInstance().createXMLEventWriter(out, "UTF-8");
+        boolean sheetsCopied = false;
+        boolean tableSeen = false;
+        int depth = 0;
+        int spreadsheetDepth = -1;
+        while(reader.hasNext()){
+            XMLEvent event = reader.nextEvent();
+            if(event.isStartElement()){
+                StartElement start = event.asStartElement();
+                if(TABLE.equals(start.getName())){
+                    tableSeen = true;
+                }else if(tableSeen && depth == spreadsheetDepth + 1 && !sheetsCopied){
+                    copySheets(writer, out);//the new sheets must come before the elements that follow the tables
+                    sheetsCopied = true;
+                }//end if
+                if(TABLE.equals(start.getName()) && templateCells.containsKey(attribute(start, TABLE_NAME))){
+                    writeTemplateTable(reader, writer, start, templateCells.get(attribute(start, TABLE_NAME)));
+                    continue;
+                }//end if
+                if(SPREADSHEET.equals(start.getName())){
+                    spreadsheetDepth = depth;
+                }//end if
+                depth++;
+            }else if(event.isEndElement()){
+                depth--;
+                if(AUTOMATIC_STYLES.equals(event.asEndElement().getName())){
+                    writeAutomaticStyles(writer);
+                }else if(DATABASE_RANGES.equals(event.asEndElement().getName())){
+                    writeAutoFilters(writer);
+                    autoFilters.clear();
+                }else if(SPREADSHEET.equals(event.asEndElement().getName())){
+                    if(!sheetsCopied){
+                        copySheets(writer, out);
+                        sheetsCopied = true;
+                    }//end if
+                    if(!autoFilters.isEmpty()){
+                        writer.add(events.createStartElement(DATABASE_RANGES, null, null));
+                        writeAutoFilters(writer);
+                        writer.add(events.createEndElement(DATABASE_RANGES, null));
+                    }//end if
+                }//end if...else
+            }//end if...else
+            writer.add(event);
+        }//end while
+        writer.flush();
+        writer.close();
+        reader.close();
+    }//end method
+
+    /**
+     * This method copies the new sheets into the content.
+     *
+     * @param writer the content writer
+     * @param out the stream the content writer writes to
+     * @throws IOException if the sheets cannot be copied
+     * @throws XMLStreamException if the content writer cannot be flushed
+     */
+    private void copySheets(XMLEventWriter writer, OutputStream out) throws IOException, XMLStreamException {
+        writer.flush();
+        try(InputStream in = Files.newInputStream(sheetsFile.toPath())){
+            copy(in, out);
+        }//end try
+        out.flush();
+    }//end method
+
+    /**
+     * This method streams one of the template's sheets through, one row at a time, filling in the cells that were set.  Rows and cells that repeat are split around the cells that
+     * were set, and rows past the end of the sheet are added when needed.
+     *
+     * @param reader the content reader, positioned after the start of the sheet
+     * @param writer the content writer
+     * @param start the start of the sheet
+     * @param cells the cells that were set, by row and column index
+     * @throws XMLStreamException if the content cannot be read or written
+     */
+    private void writeTemplateTable(XMLEventReader reader, XMLEventWriter writer, StartElement start, TreeMap<Integer, TreeMap<Integer, Object>> cells) throws XMLStreamException {
+        writer.add(start);
+        int row = 0;
+        int depth = 1;
+        while(reader.hasNext()){
+            XMLEvent event = reader.nextEvent();
+            if(event.isStartElement() && TABLE_ROW.equals(event.asStartElement().getName())){
+                List<XMLEvent> rowEvents = readElement(reader, event.asStartElement());
+                StartElement rowStart = rowEvents.get(0).asStartElement();
+                int repeated = repeated(rowStart, ROWS_REPEATED);
+                SortedMap<Integer, TreeMap<Integer, Object>> setRows = cells.subMap(row, row + repeated);
+                int next = row;
+                for(Entry<Integer, TreeMap<Integer, Object>> setRow : setRows.entrySet()){
+                    if(setRow.getKey() > next){
+                        writeRepeated(writer, rowEvents, ROWS_REPEATED, setRow.getKey() - next);
+                    }//end if
+                    writeRow(writer, rowEvents, setRow.getValue());
+                    next = setRow.getKey() + 1;
+                }//end for
+                if(row + repeated > next){
+                    writeRepeated(writer, rowEvents, ROWS_REPEATED, row + repeated - next);
+                }//end if
+                row += repeated;
+                continue;
+            }else if(event.isStartElement()){
+                depth++;
+            }else if(event.isEndElement()){
+                depth--;
+                if(depth == 0){//rows past the end of the template's sheet
+                    for(Entry<Integer, TreeMap<Integer, Object>> setRow : cells.tailMap(row).entrySet()){
+                        if(setRow.getKey() > row){
+                            writer.add(events.createStartElement(TABLE_ROW, repeatedAttribute(ROWS_REPEATED, setRow.getKey() - row), null));
+                            writer.add(events.createStartElement(TABLE_CELL, null, null));
+                            writer.add(events.createEndElement(TABLE_CELL, null));
+                            writer.add(events.createEndElement(TABLE_ROW, null));
+                        }//end if
+                        writer.add(events.createStartElement(TABLE_ROW, null, null));
+                        writeCells(writer, 0, setRow.getValue());
+                        writer.add(events.createEndElement(TABLE_ROW, null));
+                        row = setRow.getKey() + 1;
+                    }//end for
+                    writer.add(event);
+                    return;
+                }//end if
+            }//end if...else
+            writer.add(event);
+        }//end while
+    }//end method
+
+    /**
+     * This method writes a row of a template's sheet with some of its cells set.
+     *
+     * @param writer the content writer
+     * @param rowEvents the events of the row
+     * @param setCells the cells that were set, by column index
+     * @throws XMLStreamException if the row cannot be written
+     */
+    private void writeRow(XMLEventWriter writer, List<XMLEvent> rowEvents, TreeMap<Integer, Object> setCells) throws XMLStreamException {
+        writer.add(withoutAttribute(rowEvents.get(0).asStartElement(), ROWS_REPEATED));
+        int col = 0;
+        int i = 1;
+        int last = rowEvents.size() - 1;
+        while(i < last){
+            XMLEvent event = rowEvents.get(i);
+            if(!event.isStartElement()){
+                writer.add(event);
+                i++;
+                continue;
+            }//end if
+            List<XMLEvent> cellEvents = new ArrayList<>();
+            int depth = 0;
+            do{
+                XMLEvent cellEvent = rowEvents.get(i++);
+                depth += cellEvent.isStartElement() ? 1 : cellEvent.isEndElement() ? -1 : 0;
+                cellEvents.add(cellEvent);
+            }while(depth > 0);
+
+            StartElement cellStart = cellEvents.get(0).asStartElement();
+            int repeated = repeated(cellStart, COLUMNS_REPEATED);
+            int next = col;
+            for(Entry<Integer, Object> setCell : setCells.subMap(col, col + repeated).entrySet()){
+                if(setCell.getKey() > next){
+                    writeRepeated(writer, cellEvents, COLUMNS_REPEATED, setCell.getKey() - next);
+                }//end if
+                writeCell(writer, cellStart, setCell.getValue());
+                next = setCell.getKey() + 1;
+            }//end for
+            if(col + repeated > next){
+                writeRepeated(writer, cellEvents, COLUMNS_REPEATED, col + repeated - next);
+            }//end if
+            col += repeated;
+        }//end while
+        writeCells(writer, col, setCells.tailMap(col));//cells past the end of the row
+        writer.add(rowEvents.get(last));
+    }//end method
+
+    /**
+     * This method writes set cells that are not within the template, with empty cells between them.
+     *
+     * @param writer the content writer
+     * @param col the column index of the first cell to write
+     * @param setCells the cells that were set, by column index
+     * @throws XMLStreamException if the cells cannot be written
+     */
+    private void writeCells(XMLEventWriter writer, int col, SortedMap<Integer, Object> setCells) throws XMLStreamException {
+        for(Entry<Integer, Object> setCell : setCells.entrySet()){
+            if(setCell.getKey() > col){
+                writer.add(events.createStartElement(TABLE_CELL, repeatedAttribute(COLUMNS_REPEATED, setCell.getKey() - col), null));
+                writer.add(events.createEndElement(TABLE_CELL, null));
+            }//end if
+            writeCell(writer, null, setCell.getValue());
+            col = setCell.getKey() + 1;
+        }//end for
+    }//end method
+
+    /**
+     * This method writes a cell with a value, keeping the style of the template's cell.
+     *
+     * @param writer the content writer
+     * @param templateCell the start of the template's cell or null if there is none
+     * @param value the String or Double value of the cell
+     * @throws XMLStreamException if the cell cannot be written
+     */
+    private void writeCell(XMLEventWriter writer, StartElement templateCell, Object value) throws XMLStreamException {
+        List<Attribute> attributes = new ArrayList<>();
+        if(templateCell != null){
+            Iterator<?> it = templateCell.getAttributes();
+            while(it.hasNext()){
+                Attribute attribute = (Attribute) it.next();
+                if(!OFFICE_NS.equals(attribute.getName().getNamespaceURI()) && !COLUMNS_REPEATED.equals(attribute.getName()) && !"formula".equals(attribute.getName().getLocalPart())
+                        && !"value-type".equals(attribute.getName().getLocalPart())){
+                    attributes.add(attribute);
+                }//end if
+            }//end while
+        }//end if
+        String text = null;
+        if(value instanceof Double){
+            text = formatNumber((Double) value);
+            attributes.add(events.createAttribute("office", OFFICE_NS, "value-type", "float"));
+            attributes.add(events.createAttribute("office", OFFICE_NS, "value", text));
+        }else{
+            text = String.valueOf(value);
+            attributes.add(events.createAttribute("office", OFFICE_NS, "value-type", "string"));
+        }//end if...else
+        writer.add(events.createStartElement(TABLE_CELL, attributes.iterator(), null));
+        writer.add(events.createStartElement("text", TEXT_NS, "p"));
+        writer.add(events.createCharacters(text));
+        writer.add(events.createEndElement("text", TEXT_NS, "p"));
+        writer.add(events.createEndElement(TABLE_CELL, null));
+    }//end method
+
+    /**
+     * This method writes a row or cell of the template with a new repeat count.
+     *
+     * @param writer the content writer
+     * @param elementEvents the events of the row or cell
+     * @param repeatedName the name of the repeat attribute
+     * @param count the number of times the row or cell repeats
+     * @throws XMLStreamException if the row or cell cannot be written
+     */
+    private void writeRepeated(XMLEventWriter writer, List<XMLEvent> elementEvents, QName repeatedName, int count) throws XMLStreamException {
+        StartElement start = withoutAttribute(elementEvents.get(0).asStartElement(), repeatedName);
+        if(count > 1){
+            List<Attribute> attributes = attributes(start);
+            attributes.add(events.createAttribute(repeatedName, String.valueOf(count)));
+            start = events.createStartElement(start.getName(), attributes.iterator(), start.getNamespaces());
+        }//end if
+        writer.add(start);
+        for(int i = 1; i < elementEvents.size(); i++){
+            writer.add(elementEvents.get(i));
+        }//end for
+    }//end method
+
+    /**
+     * This method writes the column and cell styles used by the new sheets.
+     *
+     * @param writer the content writer
+     * @throws XMLStreamException if the styles cannot be written
+     */
+    private void writeAutomaticStyles(XMLEventWriter writer) throws XMLStreamException {
+        for(Entry<String, String> columnStyle : columnStyles.entrySet()){
+            List<Attribute> attributes = new ArrayList<>();
+            attributes.add(events.createAttribute("style", STYLE_NS, "name", columnStyle.getValue()));
+            attributes.add(events.createAttribute("style", STYLE_NS, "family", "table-column"));
+            writer.add(events.createStartElement("style", STYLE_NS, "style", attributes.iterator(), null));
+            attributes.clear();
+            attributes.add(events.createAttribute("fo", FO_NS, "break-before", "auto"));
+            attributes.add(events.createAttribute("style", STYLE_NS, "column-width", columnStyle.getKey()));
+            writer.add(events.createStartElement("style", STYLE_NS, "table-column-properties", attributes.iterator(), null));
+            writer.add(events.createEndElement("style", STYLE_NS, "table-column-properties"));
+            writer.add(events.createEndElement("style", STYLE_NS, "style"));
+        }//end for
+        for(String[] cellStyle : cellStyles.values()){
+            List<Attribute> attributes = new ArrayList<>();
+            attributes.add(events.createAttribute("style", STYLE_NS, "name", cellStyle[0]));
+            attributes.add(events.createAttribute("style", STYLE_NS, "family", "table-cell"));
+            attributes.add(events.createAttribute("style", STYLE_NS, "parent-style-name", cellStyle[1]));
+            writer.add(events.createStartElement("style", STYLE_NS, "style", attributes.iterator(), null));
+            attributes.clear();
+            attributes.add(events.createAttribute("style", STYLE_NS, "text-align-source", "fix"));
+            attributes.add(events.createAttribute("style", STYLE_NS, "repeat-content", "false"));
+            writer.add(events.createStartElement("style", STYLE_NS, "table-cell-properties", attributes.iterator(), null));
+            writer.add(events.createEndElement("style", STYLE_NS, "table-cell-properties"));
+            attributes.clear();
+            attributes.add(events.createAttribute("fo", FO_NS, "text-align", cellStyle[2]));
+            attributes.add(events.createAttribute("fo", FO_NS, "margin-left", "0in"));
+            writer.add(events.createStartElement("style", STYLE_NS, "paragraph-properties", attributes.iterator(), null));
+            writer.add(events.createEndElement("style", STYLE_NS, "paragraph-properties"));
+            writer.add(events.createEndElement("style", STYLE_NS, "style"));
+        }//end for
+    }//end method
+
+    /**
+     * This method writes the auto filters of the new sheets.
+     *
+     * @param writer the content writer
+     * @throws XMLStreamException if the auto filters cannot be written
+     */
+    private void writeAutoFilters(XMLEventWriter writer) throws XMLStreamException {
+        QName databaseRange = new QName(TABLE_NS, "database-range", "table");
+        for(String[] autoFilter : autoFilters){
+            List<Attribute> attributes = new ArrayList<>();
+            attributes.add(events.createAttribute("table", TABLE_NS, "name", autoFilter[0]));
+            attributes.add(events.createAttribute("table", TABLE_NS, "target-range-address", autoFilter[1]));
+            attributes.add(events.createAttribute("table", TABLE_NS, "display-filter-buttons", "true"));
+            writer.add(events.createStartElement(databaseRange, attributes.iterator(), null));
+            writer.add(events.createEndElement(databaseRange, null));
+        }//end for
+    }//end method
+
+    /**
+     * This method returns the name of the column style with the width, adding the style the first time the width is used.
+     *
+     * @param width the width of the column in millimeters
+     * @return the name of the column style
+     */
+    private String columnStyle(double width) {
+        String columnWidth = formatNumber(width) + "mm";
+        String styleName = columnStyles.get(columnWidth);
+        if(styleName == null){
+            styleName = "lecco" + (columnStyles.size() + 1);
+            columnStyles.put(columnWidth, styleName);
+        }//end if
+        return styleName;
+    }//end method
+
+    /**
+     * Writes the style attribute of a new cell.
+     *
+     * @param styleName the name of the cell style or null for none
+     * @throws XMLStreamException if the attribute cannot be written
+     */
+    private void writeStyle(String styleName) throws XMLStreamException {
+        if(styleName != null){
+            sheets.writeAttribute("table", TABLE_NS, "style-name", styleName);
+        }//end if
+    }//end method
+
+    /**
+     * Writes the paragraphs holding the text of a new cell, one paragraph per line of the text.  Tabs are written as tab elements so that they are not collapsed into spaces.
+     *
+     * @param text the text
+     * @throws XMLStreamException if the paragraph cannot be written
+     */
+    private void writeParagraph(String text) throws XMLStreamException {
+        int lineStart = 0;
+        do{
+            int lineEnd = text.indexOf('\n', lineStart);
+            lineEnd = lineEnd < 0 ? text.length() : lineEnd;
+            sheets.writeStartElement("text", "p", TEXT_NS);
+            int start = lineStart;
+            for(int tab = text.indexOf('\t', start); tab >= 0 && tab < lineEnd; tab = text.indexOf('\t', start)){
+                sheets.writeCharacters(text.substring(start, tab));
+                sheets.writeEmptyElement("text", "tab", TEXT_NS);
+                start = tab + 1;
+            }//end for
+            sheets.writeCharacters(text.substring(start, lineEnd));
+            sheets.writeEndElement();
+            lineStart = lineEnd + 1;
+        }while(lineStart <= text.length());
+    }//end method
+
+    /**
+     * Writes a pop out comment/pop out note within a new cell.
+     *
+     * @param note the text of the note
+     * @throws XMLStreamException if the note cannot be written
+     */
+    private void writeNote(String note) throws XMLStreamException {
+        sheets.writeStartElement("office", "annotation", OFFICE_NS);
+        sheets.writeStartElement("dc", "creator", DC_NS);
+        sheets.writeCharacters(System.getProperty("user.name"));
+        sheets.writeEndElement();
+        sheets.writeStartElement("dc", "date", DC_NS);
+        sheets.writeCharacters(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss").format(new Date()));
+        sheets.writeEndElement();
+        writeParagraph(note);
+        sheets.writeEndElement();
+    }//end method
+
+    /**
+     * Reads the rest of an element into a list of events.
+     *
+     * @param reader the content reader, positioned after the start of the element
+     * @param start the start of the element
+     * @return the events of the element from its start to its end
+     * @throws XMLStreamException if the content cannot be read
+     */
+    private static List<XMLEvent> readElement(XMLEventReader reader, StartElement start) throws XMLStreamException {
+        List<XMLEvent> elementEvents = new ArrayList<>();
+        elementEvents.add(start);
+        int depth = 1;
+        while(depth > 0){
+            XMLEvent event = reader.nextEvent();
+            depth += event.isStartElement() ? 1 : event.isEndElement() ? -1 : 0;
+            elementEvents.add(event);
+        }//end while
+        return elementEvents;
+    }//end method
+
+    /**
+     * Returns the value of an attribute or null if there is none.
+     *
+     * @param start the start of the element
+     * @param name the name of the attribute
+     * @return the value
+     */
+    private static String attribute(StartElement start, QName name) {
+        Attribute attribute = start.getAttributeByName(name);
+        return attribute == null ? null : attribute.getValue();
+    }//end method
+
+    /**
+     * Returns the number of times a row or cell repeats.
+     *
+     * @param start the start of the row or cell
+     * @param repeatedName the name of the repeat attribute
+     * @return the number of times the row or cell repeats
+     */
+    private static int repeated(StartElement start, QName repeatedName) {
+        String repeated = attribute(start, repeatedName);
+        return repeated == null ? 1 : Integer.parseInt(repeated);
+    }//end method
+
+    /**
+     * Returns the attributes of an element.
+     *
+     * @param start the start of the element
+     * @return the attributes
+     */
+    private static List<Attribute> attributes(StartElement start) {
+        List<Attribute> attributes = new ArrayList<>();
+        Iterator<?> it = start.getAttributes();
+        while(it.hasNext()){
+            attributes.add((Attribute) it.next());
+        }//end while
+        return attributes;
+    }//end method
+
+    /**
+     * Returns a copy of the start of an element without an attribute.
+     *
+     * @param start the start of the element
+     * @param name the name of the attribute to leave out
+     * @return the start of the element
+     */
+    private StartElement withoutAttribute(StartElement start, QName name) {
+        if(start.getAttributeByName(name) == null){
+            return start;
+        }//end if
+        List<Attribute> attributes = attributes(start);
+        Iterator<Attribute> it = attributes.iterator();
+        while(it.hasNext()){
+            if(name.equals(it.next().getName())){
+                it.remove();
+            }//end if
+        }//end while
+        return events.createStartElement(start.getName(), attributes.iterator(), start.getNamespaces());
+    }//end method
+
+    /**
+     * Returns the repeat attribute of a row or cell as an iterator for creating an element.
+     *
+     * @param repeatedName the name of the repeat attribute
+     * @param count the number of times the row or cell repeats
+     * @return the attributes
+     */
+    private Iterator<Attribute> repeatedAttribute(QName repeatedName, int count) {
+        List<Attribute> attributes = new ArrayList<>();
+        if(count > 1){
+            attributes.add(events.createAttribute(repeatedName, String.valueOf(count)));
+        }//end if
+        return attributes.iterator();
+    }//end method
+
+    /**
+     * Formats a number without a fraction when it is a whole number.
+     *
+     * @param value the number
+     * @return the formatted number
+     */
+    private static String formatNumber(double value) {
+        return value == Math.rint(value) && !Double.isInfinite(value) ? String.valueOf((long) value) : String.valueOf(value);
+    }//end method
+
+    /**
+     * Reads all of the bytes of a zip entry.
+     *
+     * @param zip the zip file
+     * @param entry the entry
+     * @return the bytes
+     * @throws IOException if the entry cannot be read
+     */
+    private static byte[] readAll(ZipFile zip, ZipEntry entry) throws IOException {
+        try(InputStream in = zip.getInputStream(entry)){
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            copy(in, bytes);
+            return bytes.toByteArray();
+        }//end try
+    }//end method
+
+    /**
+     * Copies a stream.
+     *
+     * @param in the stream to read
+     * @param out the stream to write
+     * @throws IOException if the stream cannot be copied
+     */
+    private static void copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        int read = in.read(buffer);
+        while(read > 0){
+            out.write(buffer, 0, read);
+            read = in.read(buffer);
+        }//end while
+    }//end method
+
+}//end class